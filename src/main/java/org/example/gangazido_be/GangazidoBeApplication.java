@@ -2,8 +2,10 @@ package org.example.gangazido_be;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class GangazidoBeApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(GangazidoBeApplication.class, args);
@@ -0,0 +1,47 @@
+package org.example.gangazido_be.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.github.bucket4j.Bucket;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * RateLimitBucketStore: 정책 하나의 클라이언트(IP)별 버킷 저장소
+ * - 마지막 사용 후 한 주기(period)가 지나면 버킷이 가득 찬 상태이므로 제거 (새로 만들어도 같은 상태)
+ * - 최대 maxEntries개까지만 보관, 넘으면 W-TinyLFU로 한 번만 쓰인 키부터 제거
+ *   (위조된 X-Forwarded-For 값으로 키를 계속 만들어도 힙이 늘지 않고, 자주 요청하는 클라이언트의 버킷은 유지)
+ * - 보관 수/제거 수는 cache_size, cache_evictions_total{cache="rate_limit.<정책>"}로 노출
+ */
+public class RateLimitBucketStore {
+	private final RateLimitPolicy policy;
+	private final Cache<String, Bucket> buckets;
+
+	public RateLimitBucketStore(RateLimitPolicy policy, long maxEntries, MeterRegistry meterRegistry) {
+		this(policy, maxEntries, meterRegistry, Ticker.systemTicker());
+	}
+
+	RateLimitBucketStore(RateLimitPolicy policy, long maxEntries, MeterRegistry meterRegistry, Ticker ticker) {
+		this.policy = policy;
+		this.buckets = Caffeine.newBuilder()
+			.maximumSize(maxEntries)
+			.expireAfterAccess(policy.getPeriod())
+			.ticker(ticker)
+			.scheduler(Scheduler.systemScheduler()) // 요청이 없어도 만료된 버킷 정리
+			.recordStats()
+			.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rate_limit." + policy.getKey());
+	}
+
+	public Bucket getBucket(String clientKey) {
+		return buckets.get(clientKey, key -> policy.newBucket());
+	}
+
+	long size() {
+		buckets.cleanUp();
+		return buckets.estimatedSize();
+	}
+}
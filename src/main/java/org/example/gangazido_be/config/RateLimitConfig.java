@@ -1,112 +1,100 @@
 package org.example.gangazido_be.config;
 
-import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Refill;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.RedisTemplate;
 
 import java.time.Duration;
+import java.util.EnumMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Configuration
 public class RateLimitConfig {
-
-	// IP별 버킷을 저장하는 맵
-	private final Map<String, Bucket> loginBuckets = new ConcurrentHashMap<>();
-	private final Map<String, Bucket> signupBuckets = new ConcurrentHashMap<>();
-	private final Map<String, Bucket> duplicateCheckBuckets = new ConcurrentHashMap<>();
-	private final Map<String, Bucket> imageUploadBuckets = new ConcurrentHashMap<>();
-	private final Map<String, Bucket> markerBuckets = new ConcurrentHashMap<>();
-	private final Map<String, Bucket> emailAuthBuckets = new ConcurrentHashMap<>(); // ✅ 이메일 인증 추가
-	private final Map<String, Bucket> chatBuckets = new ConcurrentHashMap<>();
-
-	public Bucket getChatBucket(String ipAddress) {
-		return chatBuckets.computeIfAbsent(ipAddress, ip -> createChatRateLimit());
+	private static final String USER_KEY_PREFIX = "user:";
+
+	// 정책별 클라이언트(IP 또는 사용자) 버킷 저장소 (정책마다 최대 max-entries개, 사용하지 않아 가득 찬 버킷은 자동 제거)
+	// Redis를 쓰지 않거나 Redis 장애 시 사용
+	private final Map<RateLimitPolicy, RateLimitBucketStore> stores = new EnumMap<>(RateLimitPolicy.class);
+	private final Map<RateLimitPolicy, PolicyMetrics> metrics = new EnumMap<>(RateLimitPolicy.class);
+	private final RedisRateLimiter redisRateLimiter; // 서버 간 공유 버킷 (rate-limit.redis.enabled=false면 null)
+
+	public RateLimitConfig(@Value("${rate-limit.max-entries:100000}") long maxEntries, MeterRegistry meterRegistry,
+		RedisTemplate<String, String> redisTemplate,
+		@Value("${rate-limit.redis.enabled:true}") boolean redisEnabled,
+		@Value("${rate-limit.redis.lease-fraction:0.1}") double leaseFraction,
+		@Value("${rate-limit.redis.near-cache-ttl-ms:1000}") long nearCacheTtlMs,
+		@Value("${rate-limit.redis.retry-after-failure-ms:5000}") long retryAfterFailureMs) {
+		for (RateLimitPolicy policy : RateLimitPolicy.values()) {
+			stores.put(policy, new RateLimitBucketStore(policy, maxEntries, meterRegistry));
+			metrics.put(policy, new PolicyMetrics(policy, meterRegistry));
+		}
+		this.redisRateLimiter = redisEnabled ? new RedisRateLimiter(redisTemplate, leaseFraction,
+			Duration.ofMillis(nearCacheTtlMs), retryAfterFailureMs, maxEntries, meterRegistry) : null;
 	}
 
-	// 로그인 버킷 가져오기 (1분당 100회 요청 제한)
-	public Bucket getLoginBucket(String ipAddress) {
-		return loginBuckets.computeIfAbsent(ipAddress, ip -> createLoginRateLimit());
+	/**
+	 * ✅ 로그인 사용자는 사용자 ID, 그 외에는 IP 기준으로 요청 1회를 허용할지 판단
+	 * - 사용자 기준 정책(userPolicy)이 없는 API는 로그인 여부와 관계없이 IP 기준
+	 * @param userId 세션의 사용자 ID (로그인하지 않았으면 null)
+	 * @return 허용 여부, 남은 토큰 수, 거절 시 다음 리필까지 남은 시간 (응답 헤더에 사용)
+	 */
+	public ConsumptionProbe tryConsumeAndReturnRemaining(RateLimitPolicy policy, Integer userId, String ipAddress) {
+		RateLimitPolicy userPolicy = policy.userPolicy();
+		if (userId != null && userPolicy != null) {
+			return tryConsumeAndReturnRemaining(userPolicy, USER_KEY_PREFIX + userId);
+		}
+		return tryConsumeAndReturnRemaining(policy, ipAddress);
 	}
 
-	// 회원가입 버킷 가져오기 (1시간당 50회 요청 제한)
-	public Bucket getSignupBucket(String ipAddress) {
-		return signupBuckets.computeIfAbsent(ipAddress, ip -> createSignupRateLimit());
+	public boolean tryConsume(RateLimitPolicy policy, Integer userId, String ipAddress) {
+		return tryConsumeAndReturnRemaining(policy, userId, ipAddress).isConsumed();
 	}
 
-	// 중복 확인 버킷 가져오기 (1분당 300회 요청 제한)
-	public Bucket getDuplicateCheckBucket(String ipAddress) {
-		return duplicateCheckBuckets.computeIfAbsent(ipAddress, ip -> createDuplicateCheckRateLimit());
+	/**
+	 * ✅ 정책에 따라 클라이언트의 요청 1회를 허용할지 판단
+	 * - Redis 버킷 우선, Redis를 사용할 수 없으면 이 서버의 로컬 버킷으로 판단
+	 * - 허용/거절 수와 남은 토큰 비율을 정책별 메트릭으로 기록
+	 */
+	public ConsumptionProbe tryConsumeAndReturnRemaining(RateLimitPolicy policy, String clientKey) {
+		ConsumptionProbe probe = redisRateLimiter != null ? redisRateLimiter.tryConsume(policy, clientKey) : null;
+		if (probe == null) {
+			probe = getBucket(policy, clientKey).tryConsumeAndReturnRemaining(1);
+		}
+		metrics.get(policy).record(probe);
+		return probe;
 	}
 
-	// 이미지 업로드 버킷 가져오기 (1시간당 200회 요청 제한)
-	public Bucket getImageUploadBucket(String ipAddress) {
-		return imageUploadBuckets.computeIfAbsent(ipAddress, ip -> createImageUploadRateLimit());
+	// 이 서버의 로컬 버킷
+	public Bucket getBucket(RateLimitPolicy policy, String clientKey) {
+		return stores.get(policy).getBucket(clientKey);
 	}
 
-	// 마커 등록 요청용 버킷 가져오기
-	public Bucket getMarkerBucket(String ipAddress) {
-		return markerBuckets.computeIfAbsent(ipAddress, ip -> createMarkerRateLimit());
+	private static final class PolicyMetrics {
+		private final double capacity;
+		private final Counter allowed;
+		private final Counter rejected;
+		private final DistributionSummary headroom;
+
+		private PolicyMetrics(RateLimitPolicy policy, MeterRegistry meterRegistry) {
+			this.capacity = policy.getCapacity();
+			this.allowed = Counter.builder("rate_limit.requests").tag("policy", policy.getKey())
+				.tag("result", "allowed").description("요청 제한 판단 결과").register(meterRegistry);
+			this.rejected = Counter.builder("rate_limit.requests").tag("policy", policy.getKey())
+				.tag("result", "rejected").description("요청 제한 판단 결과").register(meterRegistry);
+			this.headroom = DistributionSummary.builder("rate_limit.headroom").tag("policy", policy.getKey())
+				.description("판단 후 남은 토큰 비율 (0이면 제한에 도달, 1이면 가득 참)")
+				.register(meterRegistry);
+		}
+
+		private void record(ConsumptionProbe probe) {
+			(probe.isConsumed() ? allowed : rejected).increment();
+			headroom.record(probe.getRemainingTokens() / capacity);
+		}
 	}
-
-	// 이메일 인증 요청 제한 (10분에 5회 제한)
-	public Bucket getEmailAuthBucket(String ipAddress) {
-		return emailAuthBuckets.computeIfAbsent(ipAddress, ip -> createEmailAuthRateLimit());
-	}
-
-
-	// 로그인 요청 제한 (1분당 30회)
-	private Bucket createLoginRateLimit() {
-		Bandwidth limit = Bandwidth.classic(30, Refill.intervally(30, Duration.ofMinutes(1)));
-		return Bucket.builder()
-			.addLimit(limit)
-			.build();
-	}
-
-	// 회원가입 요청 제한 (1시간당 10회)
-	private Bucket createSignupRateLimit() {
-		Bandwidth limit = Bandwidth.classic(10, Refill.intervally(10, Duration.ofHours(1)));
-		return Bucket.builder()
-			.addLimit(limit)
-			.build();
-	}
-
-	// 중복 확인 요청 제한 (1분당 100회)
-	private Bucket createDuplicateCheckRateLimit() {
-		Bandwidth limit = Bandwidth.classic(100, Refill.intervally(100, Duration.ofMinutes(1)));
-		return Bucket.builder()
-			.addLimit(limit)
-			.build();
-	}
-
-	// 이미지 업로드 요청 제한 (1시간당 40회)
-	private Bucket createImageUploadRateLimit() {
-		Bandwidth limit = Bandwidth.classic(30, Refill.intervally(30, Duration.ofHours(1)));
-		return Bucket.builder()
-			.addLimit(limit)
-			.build();
-	}
-
-	// 마커 등록 요청 제한 (1분당 15회)
-	private Bucket createMarkerRateLimit() {
-		Bandwidth limit = Bandwidth.classic(15, Refill.intervally(15, Duration.ofMinutes(1)));
-		return Bucket.builder()
-			.addLimit(limit)
-			.build();
-	}
-
-	// 이메일 인증 요청 제한 설정 (예: 10분에 5번)
-	private Bucket createEmailAuthRateLimit() {
-		Bandwidth limit = Bandwidth.classic(5, Refill.intervally(5, Duration.ofMinutes(10)));
-		return Bucket.builder().addLimit(limit).build();
-	}
-
-	private Bucket createChatRateLimit() {
-		Bandwidth limit = Bandwidth.classic(5, Refill.intervally(20, Duration.ofMinutes(1))); // 예: 1분에 5번
-		return Bucket.builder()
-			.addLimit(limit)
-			.build();
-	}
-
 }
@@ -0,0 +1,74 @@
+package org.example.gangazido_be.config;
+
+import java.time.Duration;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Refill;
+
+/**
+ * RateLimitPolicy: API별 요청 제한 (capacity개까지 요청 가능, period마다 refillTokens개씩 한 번에 다시 채움)
+ * - 기본 정책은 IP 기준, userPolicy()가 있는 정책은 로그인 사용자에게 사용자 ID 기준 정책을 대신 적용
+ *   (통신사 NAT 뒤의 사용자들이 한 버킷을 나눠 쓰지 않고, 한 계정이 IP를 바꿔 가며 제한을 피하지 못함)
+ * - 사용자 기준 정책은 IP 정책보다 높은 한도를 가짐 (익명 요청은 기존 IP 한도 그대로)
+ */
+public enum RateLimitPolicy {
+	LOGIN("login", 30, 30, Duration.ofMinutes(1)), // 로그인 요청 제한 (1분당 30회)
+	SIGNUP("signup", 10, 10, Duration.ofHours(1)), // 회원가입 요청 제한 (1시간당 10회)
+	DUPLICATE_CHECK("duplicate_check", 100, 100, Duration.ofMinutes(1)), // 중복 확인 요청 제한 (1분당 100회)
+	IMAGE_UPLOAD("image_upload", 30, 30, Duration.ofHours(1)), // 이미지 업로드 요청 제한 (1시간당 30회)
+	MARKER("marker", 15, 15, Duration.ofMinutes(1)), // 마커 등록 요청 제한 (1분당 15회)
+	EMAIL_AUTH("email_auth", 5, 5, Duration.ofMinutes(10)), // 이메일 인증 요청 제한 (10분에 5회)
+	CHAT("chat", 5, 20, Duration.ofMinutes(1)), // 대화 요청 제한 (최대 5회, 1분마다 다시 채움)
+	WEATHER_BATCH("weather_batch", 10, 10, Duration.ofMinutes(1)), // 날씨 배치 조회 제한 (1분당 10회, 요청당 최대 20곳)
+
+	// 로그인 사용자 기준 정책 (계정 하나에만 묶이므로 익명 IP 버킷보다 넉넉하게)
+	IMAGE_UPLOAD_USER("image_upload_user", 60, 60, Duration.ofHours(1)), // 사용자당 1시간에 60회
+	MARKER_USER("marker_user", 30, 30, Duration.ofMinutes(1)), // 사용자당 1분에 30회
+	CHAT_USER("chat_user", 10, 30, Duration.ofMinutes(1)); // 사용자당 최대 10회, 1분마다 30회까지 다시 채움
+
+	private final String key; // 메트릭 태그 등에 쓰는 이름
+	private final long capacity;
+	private final long refillTokens;
+	private final Duration period;
+
+	RateLimitPolicy(String key, long capacity, long refillTokens, Duration period) {
+		this.key = key;
+		this.capacity = capacity;
+		this.refillTokens = refillTokens;
+		this.period = period;
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	public long getCapacity() {
+		return capacity;
+	}
+
+	public long getRefillTokens() {
+		return refillTokens;
+	}
+
+	// 사용하지 않는 버킷이 가득 찰 때까지 걸리는 최대 시간 (intervally 리필이므로 한 주기)
+	public Duration getPeriod() {
+		return period;
+	}
+
+	// 로그인 사용자에게 대신 적용할 정책 (없으면 로그인 여부와 관계없이 IP 기준)
+	public RateLimitPolicy userPolicy() {
+		return switch (this) {
+			case IMAGE_UPLOAD -> IMAGE_UPLOAD_USER;
+			case MARKER -> MARKER_USER;
+			case CHAT -> CHAT_USER;
+			default -> null;
+		};
+	}
+
+	public Bucket newBucket() {
+		return Bucket.builder()
+			.addLimit(Bandwidth.classic(capacity, Refill.intervally(refillTokens, period)))
+			.build();
+	}
+}
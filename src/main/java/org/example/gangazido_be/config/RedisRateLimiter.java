@@ -0,0 +1,140 @@
+package org.example.gangazido_be.config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.github.bucket4j.ConsumptionProbe;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * RedisRateLimiter: 모든 서버가 Redis의 같은 버킷을 쓰는 요청 제한 (서버 수만큼 제한이 느슨해지지 않고, 배포해도 초기화되지 않음)
+ * - 버킷 계산은 Lua 스크립트(scripts/rate_limit.lua)로 Redis 안에서 원자적으로 처리
+ * - 버킷이 절반 이상 남아 있으면(확실히 허용되는 요청) 토큰을 몇 개 미리 빌려와 로컬 near-cache에서 사용 → Redis 왕복 생략
+ * - Redis 호출이 실패하면 null을 반환하고 retry-after-failure-ms 동안 Redis를 건너뜀 (호출한 쪽에서 로컬 버킷 사용)
+ */
+public class RedisRateLimiter {
+	private static final String KEY_PREFIX = "rate_limit:";
+
+	private final RedisTemplate<String, String> redisTemplate;
+	private final RedisScript<List> script;
+	private final double leaseFraction; // 한 번에 빌려올 수 있는 토큰 수 (capacity 대비 비율)
+	private final long retryAfterFailureMs;
+	private final Cache<String, Lease> nearCache; // 버킷 키 → 빌려온 토큰 (near-cache-ttl-ms 안에 쓰지 않으면 버림)
+	private volatile long skipRedisUntil;
+
+	private final Counter redisCounter;
+	private final Counter nearCacheCounter;
+	private final Counter fallbackCounter;
+
+	public RedisRateLimiter(RedisTemplate<String, String> redisTemplate, double leaseFraction,
+		Duration nearCacheTtl, long retryAfterFailureMs, long maxEntries, MeterRegistry meterRegistry) {
+		this.redisTemplate = redisTemplate;
+		this.script = new DefaultRedisScript<>(readScript(), List.class);
+		this.leaseFraction = leaseFraction;
+		this.retryAfterFailureMs = retryAfterFailureMs;
+		this.nearCache = Caffeine.newBuilder()
+			.maximumSize(maxEntries)
+			.expireAfterWrite(nearCacheTtl)
+			.build();
+		this.redisCounter = decisionCounter(meterRegistry, "redis");
+		this.nearCacheCounter = decisionCounter(meterRegistry, "near_cache");
+		this.fallbackCounter = decisionCounter(meterRegistry, "local_fallback");
+	}
+
+	private static Counter decisionCounter(MeterRegistry meterRegistry, String source) {
+		return Counter.builder("rate_limit.redis.decisions")
+			.description("Redis 요청 제한 판단 위치 (redis: Redis 호출, near_cache: 빌려온 토큰 사용, local_fallback: Redis 장애로 로컬 버킷 사용)")
+			.tag("source", source)
+			.register(meterRegistry);
+	}
+
+	private static String readScript() {
+		try {
+			return new ClassPathResource("scripts/rate_limit.lua").getContentAsString(StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			throw new IllegalStateException("scripts/rate_limit.lua를 읽을 수 없습니다.", e);
+		}
+	}
+
+	/**
+	 * ✅ 토큰 1개 소비
+	 * - 빌려온 토큰을 쓴 경우 남은 토큰 수는 빌려올 때의 Redis 잔량 + 남은 대여분
+	 * @return 허용 여부와 남은 토큰 수, 거절 시 다음 리필까지 남은 시간 (Redis를 사용할 수 없으면 null)
+	 */
+	public ConsumptionProbe tryConsume(RateLimitPolicy policy, String clientKey) {
+		String key = KEY_PREFIX + policy.getKey() + ":" + clientKey;
+		Lease lease = nearCache.getIfPresent(key);
+		if (lease != null) {
+			long left = lease.tryTake();
+			if (left >= 0) {
+				nearCacheCounter.increment();
+				return ConsumptionProbe.consumed(lease.redisTokens + left, 0);
+			}
+		}
+		if (System.currentTimeMillis() < skipRedisUntil) {
+			fallbackCounter.increment();
+			return null;
+		}
+
+		List<?> result;
+		try {
+			result = redisTemplate.execute(script, List.of(key), String.valueOf(policy.getCapacity()),
+				String.valueOf(policy.getRefillTokens()), String.valueOf(policy.getPeriod().toMillis()),
+				String.valueOf(maxLease(policy)));
+		} catch (Exception e) {
+			skipRedisUntil = System.currentTimeMillis() + retryAfterFailureMs;
+			System.err.println("[WARN] Redis 요청 제한 실패, " + retryAfterFailureMs + "ms 동안 로컬 버킷 사용: " + e.getMessage());
+			fallbackCounter.increment();
+			return null;
+		}
+		redisCounter.increment();
+
+		long granted = numberAt(result, 0);
+		long tokens = numberAt(result, 1);
+		if (granted <= 0) {
+			long nanosToRefill = TimeUnit.MILLISECONDS.toNanos(Math.max(0, numberAt(result, 2)));
+			return ConsumptionProbe.rejected(tokens, nanosToRefill, nanosToRefill);
+		}
+		if (granted > 1) {
+			nearCache.put(key, new Lease(granted - 1, tokens));
+		}
+		return ConsumptionProbe.consumed(tokens + granted - 1, 0);
+	}
+
+	private static long numberAt(List<?> result, int index) {
+		return result == null || result.size() <= index ? 0 : ((Number)result.get(index)).longValue();
+	}
+
+	private long maxLease(RateLimitPolicy policy) {
+		return Math.max(1, (long)(policy.getCapacity() * leaseFraction));
+	}
+
+	private static final class Lease {
+		private final AtomicLong remaining;
+		private final long redisTokens; // 빌려올 때 Redis 버킷에 남아 있던 토큰 수
+
+		private Lease(long tokens, long redisTokens) {
+			this.remaining = new AtomicLong(tokens);
+			this.redisTokens = redisTokens;
+		}
+
+		// 하나 가져간 뒤 남은 대여분 (없으면 -1)
+		private long tryTake() {
+			return remaining.getAndUpdate(tokens -> tokens > 0 ? tokens - 1 : 0) - 1;
+		}
+	}
+}
@@ -18,15 +18,7 @@ public class WebMvcConfig implements WebMvcConfigurer {
 
 	@Override
 	public void addInterceptors(InterceptorRegistry registry) {
-		// 인터셉터 등록 및 적용할 경로 지정
-		registry.addInterceptor(rateLimitInterceptor)
-			.addPathPatterns("/v1/users/login",
-				"/v1/users/signup",
-				"/v1/users/check-email",
-				"/v1/users/check-nickname",
-				"/v1/users/signup/profile-image-upload-url",
-				"/v1/users/profile-image-upload-url",
-				"/v1/users/profile-image-update",
-				"/v1/markers");
+		// 인터셉터 등록 (제한 대상은 컨트롤러 메서드의 @RateLimited로 선언)
+		registry.addInterceptor(rateLimitInterceptor);
 	}
 }
@@ -0,0 +1,83 @@
+package org.example.gangazido_be.gpt.config;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// UpstreamClientConfig: OpenAI / OpenWeather 호출용 RestTemplate(타임아웃)과 서킷 브레이커 설정
+@Configuration
+public class UpstreamClientConfig {
+	public static final String OPENAI = "openai";
+	public static final String OPENWEATHER = "openweather";
+
+	@Value("${upstream.openai.connect-timeout:3s}")
+	private Duration openAiConnectTimeout;
+
+	@Value("${upstream.openai.read-timeout:30s}")
+	private Duration openAiReadTimeout; // 스트리밍에서는 토큰 사이 대기 시간 기준
+
+	@Value("${upstream.weather.connect-timeout:2s}")
+	private Duration weatherConnectTimeout;
+
+	@Value("${upstream.weather.read-timeout:5s}")
+	private Duration weatherReadTimeout;
+
+	@Bean
+	public RestTemplate openAiRestTemplate(RestTemplateBuilder builder) {
+		return builder
+			.setConnectTimeout(openAiConnectTimeout)
+			.setReadTimeout(openAiReadTimeout)
+			.build();
+	}
+
+	@Bean
+	public RestTemplate weatherRestTemplate(RestTemplateBuilder builder) {
+		return builder
+			.setConnectTimeout(weatherConnectTimeout)
+			.setReadTimeout(weatherReadTimeout)
+			.build();
+	}
+
+	// 서킷 브레이커 상태/호출 결과를 Prometheus(resilience4j_circuitbreaker_*)로 노출
+	@Bean
+	public CircuitBreakerRegistry circuitBreakerRegistry(MeterRegistry meterRegistry) {
+		CircuitBreakerRegistry registry = CircuitBreakerRegistry.ofDefaults();
+		TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+		return registry;
+	}
+
+	@Bean
+	public CircuitBreaker openAiCircuitBreaker(CircuitBreakerRegistry registry) {
+		return registry.circuitBreaker(OPENAI, createConfig(Duration.ofSeconds(20)));
+	}
+
+	@Bean
+	public CircuitBreaker weatherCircuitBreaker(CircuitBreakerRegistry registry) {
+		return registry.circuitBreaker(OPENWEATHER, createConfig(Duration.ofSeconds(3)));
+	}
+
+	// 최근 20회 중 50% 이상 실패(또는 느린 호출)면 30초 동안 차단, 이후 3회 시험 호출(half-open)로 복구 여부 판단
+	private CircuitBreakerConfig createConfig(Duration slowCallThreshold) {
+		return CircuitBreakerConfig.custom()
+			.slidingWindowSize(20)
+			.minimumNumberOfCalls(10)
+			.failureRateThreshold(50)
+			.slowCallDurationThreshold(slowCallThreshold)
+			.slowCallRateThreshold(80)
+			.waitDurationInOpenState(Duration.ofSeconds(30))
+			.permittedNumberOfCallsInHalfOpenState(3)
+			.ignoreExceptions(UncheckedIOException.class) // 클라이언트 연결 종료는 외부 API 장애가 아님
+			.build();
+	}
+}
@@ -0,0 +1,33 @@
+package org.example.gangazido_be.gpt.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+// WeatherBatchConfig: /api/weather/batch에서 캐시에 없는 위치의 OpenWeather 호출을 동시에 처리하는 스레드 풀 설정
+// 모든 배치 요청이 이 풀을 공유하므로 OpenWeather 동시 호출 수는 parallelism을 넘지 않음
+// 대기열이 가득 차면 요청 스레드에서 대신 호출하지 않고 거절 (TaskRejectedException → 503 weather_server_busy)
+@Configuration
+public class WeatherBatchConfig {
+
+	@Value("${weather.batch.parallelism:4}")
+	private int parallelism; // 동시에 OpenWeather를 호출할 최대 위치 수
+
+	@Value("${weather.batch.queue-capacity:100}")
+	private int queueCapacity; // 대기열 크기 (초과 시 거절)
+
+	@Bean(name = "weatherBatchExecutor")
+	public ThreadPoolTaskExecutor weatherBatchExecutor() {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(parallelism);
+		executor.setMaxPoolSize(parallelism);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("weather-batch-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+		executor.initialize();
+		return executor;
+	}
+}
@@ -1,21 +1,82 @@
 package org.example.gangazido_be.gpt.controller;
 
+import java.util.Map;
+
+import org.example.gangazido_be.config.RateLimitPolicy;
+import org.example.gangazido_be.gpt.dto.WeatherBatchRequest;
+import org.example.gangazido_be.gpt.exception.UpstreamUnavailableException;
+import org.example.gangazido_be.gpt.service.WeatherBatchService;
 import org.example.gangazido_be.gpt.service.WeatherService;
+import org.example.gangazido_be.interceptor.RateLimited;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController //레스트 컨트롤러
 @RequestMapping("/api")  // 모든 엔드포인트가 "/api" 하위에서 실행됨
 public class WeatherController { //  WeatherService 객체 (의존성 주입)
 	private final WeatherService weatherService;
+	private final WeatherBatchService weatherBatchService;
+	private final int maxBatchLocations; // 배치 요청 한 번에 조회할 수 있는 최대 위치 수
+
 	//  생성자를 통해 WeatherService 주입 (Spring이 자동으로 주입)
-	public WeatherController(WeatherService weatherService) {
+	public WeatherController(WeatherService weatherService, WeatherBatchService weatherBatchService,
+		@Value("${weather.batch.max-locations:20}") int maxBatchLocations) {
 		this.weatherService = weatherService;
+		this.weatherBatchService = weatherBatchService;
+		this.maxBatchLocations = maxBatchLocations;
 	}
 
 	//  날씨 및 대기질 정보 가져오기 (위도, 경도 기반)
+	//  응답은 기존과 같은 들여쓰기 JSON 문자열 { weather: { condition, temperature }, air_quality: { pm10, pm2_5 } }
+	//  실패해도 기존 클라이언트 호환을 위해 200과 오류 문구를 그대로 반환 (범위를 벗어난 좌표만 400)
 	@GetMapping("/weather") //  HTTP GET 요청을 "/api/weather"로 매핑
-	public String getWeather(@RequestParam double lat, @RequestParam double lon) {
+	public ResponseEntity<String> getWeather(@RequestParam double lat, @RequestParam double lon) {
+		if (!WeatherService.isValidCoordinate(lat, lon)) {
+			return ResponseEntity.badRequest().body(" 위도/경도 값이 올바르지 않습니다.");
+		}
+		return ResponseEntity.ok(fetchWeatherText(lat, lon));
+	}
+
+	private String fetchWeatherText(double lat, double lon) {
+		if (!weatherService.hasApiKey()) {
+			return " API 키가 설정되지 않았습니다. 환경 변수를 확인하세요.";
+		}
 		//  위도(lat), 경도(lon)를 받아서 WeatherService의 getWeather() 호출
-		return weatherService.getWeather(lat, lon); // OpenWeather API 사용
+		try {
+			return new JSONObject(weatherService.getWeather(lat, lon).toResponse()).toString(2); // OpenWeather API 사용
+		} catch (UpstreamUnavailableException e) {
+			return " 날씨 서버 장애로 요청을 보내지 않았습니다.";
+		} catch (Exception e) {
+			return " 데이터 요청 중 오류 발생: " + e.getMessage();
+		}
+	}
+
+	//  여러 위치의 날씨를 한 번에 조회 (사용자 위치 + 저장한 장소 등)
+	//  응답: { results: [ { lat, lon, weather, air_quality } 또는 { lat, lon, message } ] } (요청 순서 유지)
+	//  요청 하나가 최대 maxBatchLocations곳의 OpenWeather 호출로 이어지므로 IP별 요청 제한 적용
+	//  범위를 벗어난 좌표(NaN 포함)가 하나라도 있으면 캐시 셀/OpenWeather 호출을 만들기 전에 400
+	@PostMapping("/weather/batch")
+	@RateLimited(value = RateLimitPolicy.WEATHER_BATCH, message = "too_many_requests")
+	public ResponseEntity<?> getWeatherBatch(@RequestBody WeatherBatchRequest request) {
+		if (request == null || request.locations() == null || request.locations().isEmpty() ||
+			request.locations().size() > maxBatchLocations) {
+			return ResponseEntity.badRequest().body(Map.of("message", "invalid_locations"));
+		}
+		for (WeatherBatchRequest.Location location : request.locations()) {
+			if (location == null || !WeatherService.isValidCoordinate(location.lat(), location.lon())) {
+				return ResponseEntity.badRequest().body(Map.of("message", "invalid_locations"));
+			}
+		}
+		try {
+			return ResponseEntity.ok(weatherBatchService.getWeather(request.locations()));
+		} catch (TaskRejectedException e) {
+			// 배치 조회 대기열이 가득 차면 요청 스레드에서 대신 호출하지 않고 바로 503
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.body(Map.of("message", "weather_server_busy"));
+		}
 	}
 }
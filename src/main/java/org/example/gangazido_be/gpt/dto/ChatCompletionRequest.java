@@ -0,0 +1,28 @@
+package org.example.gangazido_be.gpt.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// ChatCompletionRequest: OpenAI chat completions 요청 본문 (stream이 false면 stream 관련 필드, max_tokens가 없으면 max_tokens는 보내지 않음)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ChatCompletionRequest(String model, List<Message> messages, double temperature,
+	@JsonProperty("max_tokens") Integer maxTokens, Boolean stream,
+	@JsonProperty("stream_options") StreamOptions streamOptions) {
+
+	// 호출 종류별 모델/파라미터(route)로 요청 생성
+	public static ChatCompletionRequest of(GptRoute route, String prompt, boolean stream) {
+		List<Message> messages = List.of(new Message("system", route.systemPrompt()), new Message("user", prompt));
+		return stream ?
+			new ChatCompletionRequest(route.model(), messages, route.temperature(), route.maxTokens(), true,
+				new StreamOptions(true)) :
+			new ChatCompletionRequest(route.model(), messages, route.temperature(), route.maxTokens(), null, null);
+	}
+
+	public record Message(String role, String content) {
+	}
+
+	public record StreamOptions(@JsonProperty("include_usage") boolean includeUsage) {
+	}
+}
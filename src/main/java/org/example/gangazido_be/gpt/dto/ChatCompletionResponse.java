@@ -0,0 +1,42 @@
+package org.example.gangazido_be.gpt.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// ChatCompletionResponse: OpenAI chat completions 응답 중 사용하는 필드만 매핑 (스트리밍 청크도 같은 형식, message 대신 delta)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ChatCompletionResponse(List<Choice> choices, Usage usage) {
+
+	// 첫 번째 choice의 message.content (스트리밍 청크면 delta.content), 없으면 null
+	public String firstContent() {
+		if (choices == null || choices.isEmpty()) {
+			return null;
+		}
+		Choice choice = choices.get(0);
+		Message message = choice.message() != null ? choice.message() : choice.delta();
+		return message == null ? null : message.content();
+	}
+
+	public int promptTokens() {
+		return usage == null ? 0 : usage.promptTokens();
+	}
+
+	public int completionTokens() {
+		return usage == null ? 0 : usage.completionTokens();
+	}
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record Choice(Message message, Message delta) {
+	}
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record Message(String role, String content) {
+	}
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record Usage(@JsonProperty("prompt_tokens") int promptTokens,
+		@JsonProperty("completion_tokens") int completionTokens) {
+	}
+}
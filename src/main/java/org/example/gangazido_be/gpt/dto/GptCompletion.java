@@ -0,0 +1,5 @@
+package org.example.gangazido_be.gpt.dto;
+
+// GptCompletion: GPT 응답 텍스트와 OpenAI usage 필드의 토큰 사용량
+public record GptCompletion(String content, int promptTokens, int completionTokens) {
+}
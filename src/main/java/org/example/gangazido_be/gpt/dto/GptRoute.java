@@ -0,0 +1,5 @@
+package org.example.gangazido_be.gpt.dto;
+
+// GptRoute: GPT 호출 종류(의도 판단, intent별 답변 등)마다 사용할 모델과 생성 파라미터 (maxTokens가 null이면 제한 없음)
+public record GptRoute(String name, String model, double temperature, Integer maxTokens, String systemPrompt) {
+}
@@ -0,0 +1,46 @@
+package org.example.gangazido_be.gpt.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// OpenWeatherResponse: OpenWeather 날씨(/weather)와 대기질(/air_pollution) 응답 중 사용하는 필드만 매핑
+public final class OpenWeatherResponse {
+	private OpenWeatherResponse() {
+	}
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record Current(List<Condition> weather, Main main) {
+		public String condition() {
+			return weather == null || weather.isEmpty() ? null : weather.get(0).main();
+		}
+
+		public double temperature() {
+			return main == null ? 0.0 : main.temp();
+		}
+	}
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record Condition(String main) {
+	}
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record Main(double temp) {
+	}
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record AirPollution(List<AirPollutionEntry> list) {
+		public Components components() {
+			return list == null || list.isEmpty() ? null : list.get(0).components();
+		}
+	}
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record AirPollutionEntry(Components components) {
+	}
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record Components(Double pm10, @JsonProperty("pm2_5") Double pm25) {
+	}
+}
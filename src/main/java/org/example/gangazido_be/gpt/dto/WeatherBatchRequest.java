@@ -0,0 +1,10 @@
+package org.example.gangazido_be.gpt.dto;
+
+import java.util.List;
+
+// WeatherBatchRequest: POST /api/weather/batch 요청 본문 { "locations": [ { "lat": 37.5, "lon": 127.0 }, ... ] }
+public record WeatherBatchRequest(List<Location> locations) {
+
+	public record Location(double lat, double lon) {
+	}
+}
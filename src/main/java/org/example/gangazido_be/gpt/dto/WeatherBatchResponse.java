@@ -0,0 +1,31 @@
+package org.example.gangazido_be.gpt.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// WeatherBatchResponse: 요청한 순서대로 위치별 날씨 (가져오지 못한 위치는 weather/air_quality 대신 message)
+public record WeatherBatchResponse(List<Result> results) {
+
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	public record Result(double lat, double lon, Weather weather, @JsonProperty("air_quality") AirQuality airQuality,
+		String message) {
+
+		public static Result of(WeatherBatchRequest.Location location, WeatherSnapshot snapshot) {
+			return new Result(location.lat(), location.lon(),
+				new Weather(snapshot.condition(), snapshot.temperature()),
+				new AirQuality(snapshot.pm10(), snapshot.pm25()), null);
+		}
+
+		public static Result failed(WeatherBatchRequest.Location location, String message) {
+			return new Result(location.lat(), location.lon(), null, null, message);
+		}
+	}
+
+	public record Weather(String condition, double temperature) {
+	}
+
+	public record AirQuality(double pm10, @JsonProperty("pm2_5") double pm25) {
+	}
+}
@@ -0,0 +1,24 @@
+package org.example.gangazido_be.gpt.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// WeatherSnapshot: 한 위치의 날씨 상태(OpenWeather main 값, 예: Clear), 기온(°C), 미세먼지 수치 (값이 없으면 -1)
+public record WeatherSnapshot(String condition, double temperature, double pm10, double pm25) {
+
+	// ✅ /api/weather 응답 형식 { weather: { condition, temperature }, air_quality: { pm10, pm2_5 } }
+	public Map<String, Object> toResponse() {
+		Map<String, Object> weather = new LinkedHashMap<>();
+		weather.put("condition", condition);
+		weather.put("temperature", temperature);
+
+		Map<String, Object> airQuality = new LinkedHashMap<>();
+		airQuality.put("pm10", pm10);
+		airQuality.put("pm2_5", pm25);
+
+		Map<String, Object> response = new LinkedHashMap<>();
+		response.put("weather", weather);
+		response.put("air_quality", airQuality);
+		return response;
+	}
+}
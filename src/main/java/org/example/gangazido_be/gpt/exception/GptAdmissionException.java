@@ -0,0 +1,14 @@
+package org.example.gangazido_be.gpt.exception;
+
+import lombok.Getter;
+
+// GptAdmissionException: OpenAI 호출 한도(RPM/TPM)에 막혀 대기열에 들어가지 못했거나 대기 시간 안에 차례가 오지 않을 때 발생
+@Getter
+public class GptAdmissionException extends RuntimeException {
+	private final String reason; // queue_full, queue_timeout, interrupted
+
+	public GptAdmissionException(String reason) {
+		super("OpenAI 호출 대기열에서 거절됨: " + reason);
+		this.reason = reason;
+	}
+}
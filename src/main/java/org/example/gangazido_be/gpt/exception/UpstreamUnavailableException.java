@@ -0,0 +1,14 @@
+package org.example.gangazido_be.gpt.exception;
+
+import lombok.Getter;
+
+// UpstreamUnavailableException: 서킷 브레이커가 열려 외부 API(OpenAI, OpenWeather)를 호출하지 않고 바로 실패할 때 발생
+@Getter
+public class UpstreamUnavailableException extends RuntimeException {
+	private final String upstream; // 호출하지 못한 외부 API 이름 (openai, openweather)
+
+	public UpstreamUnavailableException(String upstream, Throwable cause) {
+		super(upstream + " 서킷 브레이커가 열려 있어 요청을 보내지 않았습니다.", cause);
+		this.upstream = upstream;
+	}
+}
@@ -0,0 +1,200 @@
+// GptAdmissionController: 모든 사용자가 공유하는 OpenAI 한도(RPM/TPM) 안에서만 GPT를 호출하도록 우선순위 대기열로 조절하는 컴포넌트
+package org.example.gangazido_be.gpt.service;
+
+import org.example.gangazido_be.gpt.exception.GptAdmissionException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class GptAdmissionController {
+	private static final int EXPECTED_COMPLETION_TOKENS = 300; // max_tokens가 없을 때 답변 토큰 수 추정치 (요청 전에는 알 수 없음)
+
+	private final boolean enabled;
+	private final Bucket requestBucket; // 분당 요청 수 (RPM)
+	private final Bucket tokenBucket; // 분당 토큰 수 (TPM)
+	private final long tokensPerMinute;
+	private final int queueCapacity; // 대기열 최대 길이 (넘으면 우선순위가 가장 낮은 요청부터 거절)
+	private final long maxWaitNanos; // 대기열에서 기다릴 수 있는 최대 시간
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition changed = lock.newCondition();
+	private final PriorityQueue<Ticket> waiting = new PriorityQueue<>(
+		Comparator.comparingInt((Ticket ticket) -> ticket.priority.ordinal()).thenComparingLong(ticket -> ticket.seq));
+	private long nextSeq;
+
+	private final MeterRegistry meterRegistry;
+
+	public GptAdmissionController(@Value("${openai.admission.enabled:true}") boolean enabled,
+		@Value("${openai.admission.requests-per-minute:500}") long requestsPerMinute,
+		@Value("${openai.admission.tokens-per-minute:200000}") long tokensPerMinute,
+		@Value("${openai.admission.queue-capacity:100}") int queueCapacity,
+		@Value("${openai.admission.max-wait-ms:5000}") long maxWaitMs, MeterRegistry meterRegistry) {
+		this.enabled = enabled;
+		this.requestBucket = Bucket.builder()
+			.addLimit(Bandwidth.classic(requestsPerMinute, Refill.greedy(requestsPerMinute, Duration.ofMinutes(1))))
+			.build();
+		this.tokenBucket = Bucket.builder()
+			.addLimit(Bandwidth.classic(tokensPerMinute, Refill.greedy(tokensPerMinute, Duration.ofMinutes(1))))
+			.build();
+		this.tokensPerMinute = tokensPerMinute;
+		this.queueCapacity = queueCapacity;
+		this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+		this.meterRegistry = meterRegistry;
+		Gauge.builder("gpt.admission.queue.depth", this, GptAdmissionController::queueDepth)
+			.description("OpenAI 호출 차례를 기다리는 요청 수")
+			.register(meterRegistry);
+	}
+
+	/**
+	 * ✅ OpenAI 호출 전에 차례를 기다림 (호출한 스레드를 막음)
+	 * - 대기열이 비어 있고 한도가 남아 있으면 바로 통과
+	 * - 그 외에는 우선순위 → 도착 순서대로 한도가 채워질 때까지 대기
+	 * - 대기열이 가득 차거나 max-wait-ms 안에 차례가 오지 않으면 GptAdmissionException (요청을 보내지 않고 바로 실패)
+	 */
+	public void acquire(GptPriority priority, String prompt, Integer maxCompletionTokens) {
+		if (!enabled) {
+			return;
+		}
+		long startedAt = System.nanoTime();
+		long tokens = Math.min(estimateTokens(prompt, maxCompletionTokens), tokensPerMinute);
+
+		lock.lock();
+		try {
+			if (waiting.isEmpty() && tryConsume(tokens) == 0) {
+				recordWait(priority, "admitted", startedAt);
+				return;
+			}
+			if (waiting.size() >= queueCapacity && !evictLowerThan(priority)) {
+				recordWait(priority, "queue_full", startedAt);
+				throw new GptAdmissionException("queue_full");
+			}
+
+			Ticket ticket = new Ticket(priority, nextSeq++);
+			waiting.add(ticket);
+			awaitTurn(ticket, tokens, startedAt);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void awaitTurn(Ticket ticket, long tokens, long startedAt) {
+		try {
+			while (true) {
+				if (ticket.evicted) {
+					recordWait(ticket.priority, "queue_full", startedAt);
+					throw new GptAdmissionException("queue_full");
+				}
+				long remaining = startedAt + maxWaitNanos - System.nanoTime();
+				long waitNanos = remaining;
+				if (waiting.peek() == ticket) {
+					long refillNanos = tryConsume(tokens);
+					if (refillNanos == 0) {
+						waiting.poll();
+						changed.signalAll(); // 다음 순서 요청이 한도를 확인하도록 깨움
+						recordWait(ticket.priority, "admitted", startedAt);
+						return;
+					}
+					waitNanos = Math.min(remaining, refillNanos);
+				}
+				if (remaining <= 0) {
+					waiting.remove(ticket);
+					changed.signalAll();
+					recordWait(ticket.priority, "queue_timeout", startedAt);
+					throw new GptAdmissionException("queue_timeout");
+				}
+				changed.awaitNanos(waitNanos);
+			}
+		} catch (InterruptedException e) {
+			waiting.remove(ticket);
+			changed.signalAll();
+			Thread.currentThread().interrupt();
+			throw new GptAdmissionException("interrupted");
+		}
+	}
+
+	/**
+	 * RPM, TPM 버킷에서 함께 차감
+	 * @return 0이면 통과, 아니면 한도가 다시 찰 때까지 기다려야 하는 시간(ns)
+	 */
+	private long tryConsume(long tokens) {
+		ConsumptionProbe requestProbe = requestBucket.tryConsumeAndReturnRemaining(1);
+		if (!requestProbe.isConsumed()) {
+			return Math.max(1, requestProbe.getNanosToWaitForRefill());
+		}
+		ConsumptionProbe tokenProbe = tokenBucket.tryConsumeAndReturnRemaining(tokens);
+		if (!tokenProbe.isConsumed()) {
+			requestBucket.addTokens(1); // 요청 수는 되돌림
+			return Math.max(1, tokenProbe.getNanosToWaitForRefill());
+		}
+		return 0;
+	}
+
+	// 대기열이 가득 찼을 때 새 요청보다 우선순위가 낮은 요청 중 가장 늦게 온 것을 내보냄
+	private boolean evictLowerThan(GptPriority priority) {
+		Ticket victim = null;
+		for (Ticket ticket : waiting) {
+			if (ticket.priority.compareTo(priority) > 0 && (victim == null || waiting.comparator().compare(ticket, victim) > 0)) {
+				victim = ticket;
+			}
+		}
+		if (victim == null) {
+			return false;
+		}
+		waiting.remove(victim);
+		victim.evicted = true;
+		changed.signalAll();
+		return true;
+	}
+
+	// 프롬프트 글자 수(한글 기준 글자 수 ≈ 토큰 수) + 답변 토큰 수 (max_tokens, 없으면 추정치)
+	static long estimateTokens(String prompt, Integer maxCompletionTokens) {
+		return (prompt == null ? 0 : prompt.length()) +
+			(maxCompletionTokens != null ? maxCompletionTokens : EXPECTED_COMPLETION_TOKENS);
+	}
+
+	private int queueDepth() {
+		lock.lock();
+		try {
+			return waiting.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// 대기 시간 기록 (result: admitted, queue_full, queue_timeout)
+	private void recordWait(GptPriority priority, String result, long startedAt) {
+		Timer.builder("gpt.admission.wait")
+			.description("OpenAI 호출 대기열에서 기다린 시간")
+			.tag("priority", priority.name().toLowerCase())
+			.tag("result", result)
+			.publishPercentileHistogram()
+			.register(meterRegistry)
+			.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+	}
+
+	private static final class Ticket {
+		private final GptPriority priority;
+		private final long seq;
+		private boolean evicted; // lock 안에서만 읽고 씀
+
+		private Ticket(GptPriority priority, long seq) {
+			this.priority = priority;
+			this.seq = seq;
+		}
+	}
+}
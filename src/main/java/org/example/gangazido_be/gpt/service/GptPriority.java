@@ -0,0 +1,25 @@
+package org.example.gangazido_be.gpt.service;
+
+// GptPriority: OpenAI 호출 대기열 우선순위 (산책 판단처럼 중요한 답변이 인사말보다 먼저 처리됨)
+public enum GptPriority {
+	HIGH, // 산책 가능 여부, 산책로 추천
+	NORMAL, // 의도 판단, 날씨/옷 추천, single_call
+	LOW; // 인사, 감사, 알 수 없는 질문
+
+	public static GptPriority forIntent(String intent) {
+		if (intent == null) {
+			return NORMAL;
+		}
+		switch (intent) {
+			case "walk_check":
+			case "recommend_route":
+				return HIGH;
+			case "greeting":
+			case "thanks":
+			case "unknown":
+				return LOW;
+			default:
+				return NORMAL;
+		}
+	}
+}
@@ -1,95 +1,191 @@
 // GPTService: OpenAI GPT API를 호출해서 텍스트를 생성하는 서비스 클래스
 package org.example.gangazido_be.gpt.service;
 
+import org.example.gangazido_be.gpt.config.UpstreamClientConfig;
+import org.example.gangazido_be.gpt.dto.ChatCompletionRequest;
+import org.example.gangazido_be.gpt.dto.ChatCompletionResponse;
+import org.example.gangazido_be.gpt.dto.GptCompletion;
+import org.example.gangazido_be.gpt.dto.GptRoute;
+import org.example.gangazido_be.gpt.exception.UpstreamUnavailableException;
 import org.example.gangazido_be.pet.repository.PetRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate; // 외부 api호출을 위한 spring 클래스
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequest;
 import com.fasterxml.jackson.databind.ObjectMapper; // json 처리용 잭슨 라이브러리
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
-import java.util.*;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 @Service //이 클래스가 서비스 계층의 빈으로 등록되도록 지정
 public class GptService {
 // 환경변수에서 오픈 api 키를 가져옴
 	private final OpenAiConfig openAiConfig;
-	private static final String GPT_API_URL = "https://api.openai.com/v1/chat/completions";
+	private final RestTemplate restTemplate; // 타임아웃이 설정된 OpenAI 전용 RestTemplate
+	private final CircuitBreaker circuitBreaker; // OpenAI 장애 시 바로 실패시키는 서킷 브레이커
+	private final GptAdmissionController admissionController; // 공유 OpenAI 한도(RPM/TPM) 대기열
+	private final MeterRegistry meterRegistry; // 호출 종류(route)/모델별 지연 시간 기록
+	private final ObjectReader completionReader; // 응답/스트리밍 청크 파싱용 (스레드 안전, 요청마다 새로 만들지 않음)
+	private final ObjectWriter requestWriter; // 요청 본문 작성용
+
 
 	// 생성자 주입 방식으로 PetRepository 전달
-	public GptService(PetRepository petRepository, OpenAiConfig openAiConfig) {
+	public GptService(PetRepository petRepository, OpenAiConfig openAiConfig,
+		@Qualifier("openAiRestTemplate") RestTemplate restTemplate,
+		@Qualifier("openAiCircuitBreaker") CircuitBreaker circuitBreaker, ObjectMapper objectMapper,
+		GptAdmissionController admissionController, MeterRegistry meterRegistry) {
 		this.openAiConfig = openAiConfig;
+		this.restTemplate = restTemplate;
+		this.circuitBreaker = circuitBreaker;
+		this.admissionController = admissionController;
+		this.meterRegistry = meterRegistry;
+		this.completionReader = objectMapper.readerFor(ChatCompletionResponse.class);
+		this.requestWriter = objectMapper.writerFor(ChatCompletionRequest.class);
+	}
+
+	// 서킷 브레이커가 열려 있으면 false (호출해도 바로 실패함)
+	public boolean isAvailable() {
+		return circuitBreaker.getState() != CircuitBreaker.State.OPEN &&
+			circuitBreaker.getState() != CircuitBreaker.State.FORCED_OPEN;
 	}
-	//  입력 프롬프트를 기반으로 GPT가 생성한 텍스트를 반환하는 메서드
-	public String generateText(String prompt) {
+
+	/**
+	 *  입력 프롬프트를 기반으로 GPT가 생성한 텍스트를 반환하는 메서드
+	 *  - 호출 실패, 타임아웃, 응답 형식 오류 시 예외 발생 (오류 문구를 응답처럼 반환하지 않음)
+	 *  - 서킷 브레이커가 열려 있으면 UpstreamUnavailableException 발생
+	 *  - OpenAI 한도 대기열에서 거절되면 GptAdmissionException 발생
+	 *  - route: 호출 종류별 모델, temperature, max_tokens, 시스템 프롬프트
+	 */
+	public String generateText(String prompt, GptRoute route, GptPriority priority) {
+		return generateCompletion(prompt, route, priority).content();
+	}
+
+	//  generateText와 같지만 OpenAI usage 필드의 토큰 사용량도 함께 반환
+	public GptCompletion generateCompletion(String prompt, GptRoute route, GptPriority priority) {
+		admit(prompt, route, priority);
+		long startedAt = System.nanoTime();
+		String result = "error";
 		try {
-			//  RestTemplate: 외부 HTTP 요청을 보내기 위한 도구
-			RestTemplate restTemplate = new RestTemplate();
-			String API_KEY = openAiConfig.getApiKey();
-			//  HTTP 요청 헤더 설정
-			HttpHeaders headers = new HttpHeaders();
-			headers.setContentType(MediaType.APPLICATION_JSON); //요청데이터는 제이슨 형식
-			headers.set("Authorization", "Bearer " + API_KEY); //인증을 위한 베어러 토큰 헤더
-
-			// 요청 바디(Map 형태) 구성
-			Map<String, Object> requestBody = new HashMap<>();
-			requestBody.put("model", "gpt-3.5-turbo");
-
-			// GPT가 대화 형식이기 때문에 message 리스트 구성
-			List<Map<String, String>> messages = new ArrayList<>();
-			messages.add(Map.of("role", "system", "content", "You are a helpful assistant."));
-			messages.add(Map.of("role", "user", "content", prompt));
-			requestBody.put("messages", messages);
-
-			requestBody.put("temperature", 0.5);
-
-			//ObjectMapper를 사용해 requestBody를 JSON 문자열로 변환
-			ObjectMapper objectMapper = new ObjectMapper();
-			String jsonRequestBody = objectMapper.writeValueAsString(requestBody);
-			System.out.println(" [DEBUG] OpenAI API 요청 JSON: " + jsonRequestBody); // 확인용 로그
-
-			// 요청 본문 + 헤더로 HTTP 요청 객체 생성
-			HttpEntity<String> requestEntity = new HttpEntity<>(jsonRequestBody, headers);
-
-			// POST 방식으로 GPT API 호출
-			ResponseEntity<String> response = restTemplate.exchange(GPT_API_URL, HttpMethod.POST, requestEntity, String.class);
-			System.out.println("[DEBUG] OpenAI API 응답 원본: " + response.getBody()); // 원본 응답 확인
-
-			//응답 본문(JSON)을 Map으로 파싱
-			Map<String, Object> responseMap = objectMapper.readValue(response.getBody(), Map.class);
-
-			//응답에서 "choices" 키가 없을 경우 에러 처리
-			if (!responseMap.containsKey("choices")) {
-				System.err.println("[ERROR] OpenAI 응답에 choices 필드 없음");
-				return "GPT 응답이 비어 있습니다.";
-			}
-
-			//choices 배열에서 첫 번째 응답 선택
-			List<Map<String, Object>> choices = (List<Map<String, Object>>) responseMap.get("choices");
-			if (choices == null || choices.isEmpty()) {
-				System.err.println(" [ERROR] choices 배열이 비어 있음.");
-				return "GPT 응답이 없습니다.";
-			}
-
-			//각 choice 내에 있는 message에서 content 추출
-			Map<String, Object> message = (Map<String, Object>) choices.get(0).get("message");
-			if (message == null || !message.containsKey("content")) {
-				System.err.println(" [ERROR] message 필드에 content 없음.");
-				return " GPT 응답 메시지를 찾을 수 없습니다.";
-			}
-			System.out.println("[DEBUG] OpenAI API 응답 원본: " + response.getBody()); // 원본 응답 확인
-			System.out.println("[DEBUG] OpenAI API 요청 JSON: " + objectMapper.writeValueAsString(requestBody));
-
-
-			//최종 GPT 응답 문자열 추출 및 반환
-			String gptResponse = (String) message.get("content");
-			System.out.println("[DEBUG] GPT 최종 응답: " + gptResponse);
-			return gptResponse.trim();
-
-		} catch (Exception e) {
-			System.err.println("GPT 응답을 처리하는 중 오류 발생: " + e.getMessage());
-			e.printStackTrace();
-			return "GPT 응답을 가져오는 중 오류 발생: " + e.getMessage();
+			GptCompletion completion = circuitBreaker.executeSupplier(() -> requestCompletion(prompt, route));
+			result = "success";
+			return completion;
+		} catch (CallNotPermittedException e) {
+			throw new UpstreamUnavailableException(UpstreamClientConfig.OPENAI, e);
+		} finally {
+			recordLatency(route, false, result, startedAt);
 		}
 	}
 
+	// 서킷 브레이커가 열려 있으면 대기열에 들어가지 않고 바로 실패, 아니면 호출 차례까지 대기
+	private void admit(String prompt, GptRoute route, GptPriority priority) {
+		if (!isAvailable()) {
+			throw new UpstreamUnavailableException(UpstreamClientConfig.OPENAI, null);
+		}
+		admissionController.acquire(priority, prompt, route.maxTokens());
+	}
+
+	// OpenAI 호출 시간 (대기열 대기 시간 제외, route/model별로 비교)
+	private void recordLatency(GptRoute route, boolean stream, String result, long startedAt) {
+		Timer.builder("gpt.completion")
+			.description("OpenAI chat completions 호출 시간")
+			.tag("route", route.name())
+			.tag("model", route.model())
+			.tag("stream", String.valueOf(stream))
+			.tag("result", result)
+			.publishPercentileHistogram()
+			.register(meterRegistry)
+			.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+	}
+
+	private GptCompletion requestCompletion(String prompt, GptRoute route) {
+		ChatCompletionRequest requestBody = ChatCompletionRequest.of(route, prompt, false);
+
+		// 응답 본문을 문자열로 만들지 않고 InputStream에서 바로 ChatCompletionResponse로 읽음
+		ChatCompletionResponse response = restTemplate.execute(openAiConfig.getApiUrl(), HttpMethod.POST,
+			request -> writeRequest(request, requestBody),
+			clientResponse -> completionReader.readValue(clientResponse.getBody()));
+
+		String content = response == null ? null : response.firstContent();
+		if (content == null) {
+			throw new IllegalStateException("OpenAI 응답에 choices[0].message.content 없음");
+		}
+		return new GptCompletion(content.trim(), response.promptTokens(), response.completionTokens());
+	}
+
+	// 인증 헤더와 JSON 요청 본문 작성 (공유 ObjectWriter 사용)
+	private void writeRequest(ClientHttpRequest request, ChatCompletionRequest requestBody) throws IOException {
+		request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+		request.getHeaders().set("Authorization", "Bearer " + openAiConfig.getApiKey());
+		requestWriter.writeValue(request.getBody(), requestBody);
+	}
+
+	/**
+	 *  스트리밍 모드(stream: true)로 GPT를 호출하여 토큰이 도착할 때마다 onToken에 전달
+	 *  - OpenAI가 보내는 SSE(data: {...}) 라인을 한 줄씩 읽어 delta.content만 추출
+	 *  - 실패 시 예외를 그대로 던짐 (호출한 쪽에서 에러 이벤트로 변환)
+	 *  @return 전체 응답 문자열과 토큰 사용량 (stream_options.include_usage로 마지막 청크에서 받음)
+	 */
+	public GptCompletion streamText(String prompt, GptRoute route, GptPriority priority, Consumer<String> onToken) {
+		admit(prompt, route, priority);
+		long startedAt = System.nanoTime();
+		String result = "error";
+		try {
+			GptCompletion completion = circuitBreaker.executeSupplier(
+				() -> requestCompletionStream(prompt, route, onToken));
+			result = "success";
+			return completion;
+		} catch (CallNotPermittedException e) {
+			throw new UpstreamUnavailableException(UpstreamClientConfig.OPENAI, e);
+		} finally {
+			recordLatency(route, true, result, startedAt);
+		}
+	}
+
+	private GptCompletion requestCompletionStream(String prompt, GptRoute route, Consumer<String> onToken) {
+		ChatCompletionRequest requestBody = ChatCompletionRequest.of(route, prompt, true);
+
+		return restTemplate.execute(openAiConfig.getApiUrl(), HttpMethod.POST,
+			request -> writeRequest(request, requestBody), response -> {
+				StringBuilder fullText = new StringBuilder();
+				int promptTokens = 0;
+				int completionTokens = 0;
+				try (BufferedReader reader = new BufferedReader(
+					new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))) {
+					String line;
+					while ((line = reader.readLine()) != null) {
+						if (!line.startsWith("data:")) {
+							continue; // 빈 줄(이벤트 구분자)이나 주석 라인은 무시
+						}
+						String data = line.substring(5).trim();
+						if ("[DONE]".equals(data)) {
+							break;
+						}
+						ChatCompletionResponse chunk = completionReader.readValue(data);
+						String content = chunk.firstContent();
+						if (content != null && !content.isEmpty()) {
+							fullText.append(content);
+							onToken.accept(content);
+						}
+						if (chunk.usage() != null) {
+							promptTokens = chunk.promptTokens();
+							completionTokens = chunk.completionTokens();
+						}
+					}
+				}
+				return new GptCompletion(fullText.toString().trim(), promptTokens, completionTokens);
+			});
+	}
+
 }
@@ -12,4 +12,7 @@ public class OpenAiConfig {
 	@Value("${openai.api-key}")
 	private String apiKey;
 
+	@Value("${openai.api-url:https://api.openai.com/v1/chat/completions}")
+	private String apiUrl; // 부하 테스트 시 스텁 서버로 교체 (GPT_API_URL)
+
 }
@@ -0,0 +1,91 @@
+// WeatherBatchService: 여러 위치의 날씨를 한 번에 조회 (같은 셀은 한 번만, 캐시 우선, 나머지는 제한된 병렬도로 동시에 호출)
+package org.example.gangazido_be.gpt.service;
+
+import org.example.gangazido_be.gpt.dto.WeatherBatchRequest;
+import org.example.gangazido_be.gpt.dto.WeatherBatchResponse;
+import org.example.gangazido_be.gpt.dto.WeatherSnapshot;
+import org.example.gangazido_be.gpt.exception.UpstreamUnavailableException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Service
+public class WeatherBatchService {
+	private final WeatherService weatherService;
+	private final ThreadPoolTaskExecutor weatherBatchExecutor;
+	private final long timeoutMs; // 배치 전체 대기 시간 (넘으면 남은 위치는 weather_timeout)
+
+	public WeatherBatchService(WeatherService weatherService,
+		@Qualifier("weatherBatchExecutor") ThreadPoolTaskExecutor weatherBatchExecutor,
+		@Value("${weather.batch.timeout-ms:10000}") long timeoutMs) {
+		this.weatherService = weatherService;
+		this.weatherBatchExecutor = weatherBatchExecutor;
+		this.timeoutMs = timeoutMs;
+	}
+
+	/**
+	 * ✅ 위치 목록의 날씨를 요청 순서대로 반환
+	 * - 소수점 둘째 자리 셀이 같은 위치는 한 번만 조회
+	 * - 10분 이내 캐시가 있는 셀은 바로 응답, 나머지만 weatherBatchExecutor에서 동시에 OpenWeather 호출
+	 * - 배치 위치는 미리 갱신 대상(WeatherDemandTracker)으로 기록하지 않음 (익명 요청이 임의의 셀을 채우지 않도록)
+	 * - 실패한 위치는 message만 담아 반환 (배치 전체를 실패시키지 않음)
+	 * - weatherBatchExecutor 대기열이 가득 차면 TaskRejectedException
+	 */
+	public WeatherBatchResponse getWeather(List<WeatherBatchRequest.Location> locations) {
+		Map<String, WeatherSnapshot> cached = new HashMap<>();
+		Map<String, CompletableFuture<WeatherSnapshot>> pending = new HashMap<>();
+		for (WeatherBatchRequest.Location location : locations) {
+			String cellKey = WeatherService.toCellKey(location.lat(), location.lon());
+			if (cached.containsKey(cellKey) || pending.containsKey(cellKey)) {
+				continue;
+			}
+			WeatherSnapshot snapshot = weatherService.findCachedWeather(location.lat(), location.lon());
+			if (snapshot != null) {
+				cached.put(cellKey, snapshot);
+			} else {
+				pending.put(cellKey, CompletableFuture.supplyAsync(
+					() -> weatherService.fetchWeather(location.lat(), location.lon()), weatherBatchExecutor));
+			}
+		}
+
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+		List<WeatherBatchResponse.Result> results = new ArrayList<>(locations.size());
+		for (WeatherBatchRequest.Location location : locations) {
+			String cellKey = WeatherService.toCellKey(location.lat(), location.lon());
+			WeatherSnapshot snapshot = cached.get(cellKey);
+			if (snapshot != null) {
+				results.add(WeatherBatchResponse.Result.of(location, snapshot));
+				continue;
+			}
+			CompletableFuture<WeatherSnapshot> future = pending.get(cellKey);
+			try {
+				snapshot = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+				cached.put(cellKey, snapshot);
+				results.add(WeatherBatchResponse.Result.of(location, snapshot));
+			} catch (TimeoutException e) {
+				results.add(WeatherBatchResponse.Result.failed(location, "weather_timeout"));
+			} catch (ExecutionException e) {
+				boolean unavailable = e.getCause() instanceof UpstreamUnavailableException;
+				if (!unavailable) {
+					System.err.println("[ERROR] failed_to_get_weather: " + e.getCause().getMessage());
+				}
+				results.add(WeatherBatchResponse.Result.failed(location,
+					unavailable ? "weather_server_unavailable" : "failed_to_get_weather"));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				results.add(WeatherBatchResponse.Result.failed(location, "failed_to_get_weather"));
+			}
+		}
+		return new WeatherBatchResponse(results);
+	}
+}
@@ -0,0 +1,90 @@
+// WeatherDemandTracker: 최근 날씨/LLM/마커 조회가 몰리는 위치 셀을 추적해 날씨를 미리 갱신할 대상을 고르는 컴포넌트
+package org.example.gangazido_be.gpt.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class WeatherDemandTracker {
+	private final Map<String, HotCell> cells = new ConcurrentHashMap<>();
+	private final int maxCells; // 추적할 최대 셀 수 (넘으면 새 셀은 무시)
+	private final long idleMs; // 이 시간 동안 조회가 없으면 추적 중단
+
+	public WeatherDemandTracker(@Value("${weather.prefetch.max-cells:300}") int maxCells,
+		@Value("${weather.prefetch.idle-ms:900000}") long idleMs, MeterRegistry meterRegistry) {
+		this.maxCells = maxCells;
+		this.idleMs = idleMs;
+		Gauge.builder("weather.prefetch.cells", cells, Map::size)
+			.description("날씨를 미리 갱신하고 있는 위치 셀 수")
+			.register(meterRegistry);
+	}
+
+	public void recordDemand(double latitude, double longitude) {
+		recordDemand(WeatherService.toCellKey(latitude, longitude), latitude, longitude);
+	}
+
+	void recordDemand(String cellKey, double latitude, double longitude) {
+		HotCell cell = cells.get(cellKey);
+		if (cell == null) {
+			if (cells.size() >= maxCells) {
+				return;
+			}
+			cell = cells.computeIfAbsent(cellKey, key -> new HotCell(key, latitude, longitude));
+		}
+		cell.lastRequestedAt = System.currentTimeMillis();
+		cell.hits.incrementAndGet();
+	}
+
+	/**
+	 * ✅ 갱신 대상 셀 목록 (최근 조회 수가 많은 순)
+	 * - idle-ms 동안 조회가 없던 셀은 제거하고, 조회 수는 호출할 때마다 절반으로 줄여 최근 수요를 우선
+	 */
+	public List<HotCell> activeCells() {
+		long now = System.currentTimeMillis();
+		cells.values().removeIf(cell -> now - cell.lastRequestedAt > idleMs);
+
+		List<HotCell> active = new ArrayList<>(cells.values());
+		for (HotCell cell : active) {
+			cell.priority = cell.hits.getAndUpdate(hits -> hits / 2);
+		}
+		active.sort(Comparator.comparingInt((HotCell cell) -> cell.priority).reversed());
+		return active;
+	}
+
+	public static final class HotCell {
+		private final String key;
+		private final double latitude;
+		private final double longitude;
+		private final AtomicInteger hits = new AtomicInteger();
+		private volatile long lastRequestedAt;
+		private int priority;
+
+		private HotCell(String key, double latitude, double longitude) {
+			this.key = key;
+			this.latitude = latitude;
+			this.longitude = longitude;
+		}
+
+		public String getKey() {
+			return key;
+		}
+
+		public double getLatitude() {
+			return latitude;
+		}
+
+		public double getLongitude() {
+			return longitude;
+		}
+	}
+}
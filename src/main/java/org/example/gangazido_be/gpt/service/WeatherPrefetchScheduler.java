@@ -0,0 +1,70 @@
+// WeatherPrefetchScheduler: 자주 조회되는 셀의 날씨 캐시를 만료 직전에 미리 갱신해 첫 요청이 OpenWeather 지연을 기다리지 않게 하는 스케줄러
+package org.example.gangazido_be.gpt.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Component
+@ConditionalOnProperty(name = "weather.prefetch.enabled", havingValue = "true", matchIfMissing = true)
+public class WeatherPrefetchScheduler {
+	private static final int CALLS_PER_REFRESH = 2; // 날씨 + 대기질 API
+	private static final long BUDGET_WINDOW_MS = 60_000L;
+
+	private final WeatherService weatherService;
+	private final WeatherDemandTracker demandTracker;
+	private final long refreshAheadMs; // 캐시 만료 이 시간 전부터 갱신
+	private final int callBudgetPerMinute; // 미리 갱신에 쓸 수 있는 분당 OpenWeather 호출 수
+	private final Counter successCounter;
+	private final Counter failureCounter;
+
+	private long windowStartedAt;
+	private int callsInWindow;
+
+	public WeatherPrefetchScheduler(WeatherService weatherService, WeatherDemandTracker demandTracker,
+		@Value("${weather.prefetch.refresh-ahead-ms:120000}") long refreshAheadMs,
+		@Value("${weather.prefetch.call-budget-per-minute:40}") int callBudgetPerMinute,
+		MeterRegistry meterRegistry) {
+		this.weatherService = weatherService;
+		this.demandTracker = demandTracker;
+		this.refreshAheadMs = refreshAheadMs;
+		this.callBudgetPerMinute = callBudgetPerMinute;
+		this.successCounter = Counter.builder("weather.prefetch.refreshes").tag("result", "success")
+			.description("날씨 미리 갱신 결과").register(meterRegistry);
+		this.failureCounter = Counter.builder("weather.prefetch.refreshes").tag("result", "failure")
+			.description("날씨 미리 갱신 결과").register(meterRegistry);
+	}
+
+	/**
+	 * ✅ 조회 수가 많은 셀부터 만료가 가까운 캐시를 갱신
+	 * - 분당 호출 예산을 다 쓰거나 OpenWeather 서킷 브레이커가 열리면 다음 주기로 미룸
+	 */
+	@Scheduled(fixedDelayString = "${weather.prefetch.interval-ms:30000}",
+		initialDelayString = "${weather.prefetch.interval-ms:30000}")
+	public void refreshHotCells() {
+		long now = System.currentTimeMillis();
+		if (now - windowStartedAt >= BUDGET_WINDOW_MS) {
+			windowStartedAt = now;
+			callsInWindow = 0;
+		}
+
+		for (WeatherDemandTracker.HotCell cell : demandTracker.activeCells()) {
+			if (callsInWindow + CALLS_PER_REFRESH > callBudgetPerMinute || !weatherService.isAvailable()) {
+				return;
+			}
+			if (!weatherService.needsRefresh(cell.getKey(), refreshAheadMs)) {
+				continue;
+			}
+			callsInWindow += CALLS_PER_REFRESH;
+			if (weatherService.prefetch(cell.getLatitude(), cell.getLongitude())) {
+				successCounter.increment();
+			} else {
+				failureCounter.increment();
+			}
+		}
+	}
+}
@@ -2,11 +2,31 @@
 
 package org.example.gangazido_be.gpt.service;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value; // ✅ application.yml에서 환경 변수 값 가져오기
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service; // ✅ HTTP 요청을 위한 RestTemplate 사용
+import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate; // ✅ URL을 쉽게 조립하기 위한 유틸
-import org.json.JSONObject; // ✅ JSON 데이터 처리 라이브러리
 import org.springframework.web.util.UriComponentsBuilder;
+import org.example.gangazido_be.gpt.config.UpstreamClientConfig;
+import org.example.gangazido_be.gpt.dto.OpenWeatherResponse;
+import org.example.gangazido_be.gpt.dto.WeatherSnapshot;
+import org.example.gangazido_be.gpt.exception.UpstreamUnavailableException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 
 @Service
@@ -14,86 +34,240 @@ public class WeatherService { //  이 클래스가 서비스 계층의 Bean으
 
 	@Value("${weather.api.key}") // application.yml에서 OpenWeather API 키 가져오기
 	private String apiKey; //  application.yml에 저장된 OpenWeather API 키 주입
-	//  OpenWeather 날씨 API 및 공기질 API 엔드포인트
-	private static final String WEATHER_API_URL = "https://api.openweathermap.org/data/2.5/weather";
-	private static final String AIR_POLLUTION_API_URL = "https://api.openweathermap.org/data/2.5/air_pollution"; //  OpenWeather 공기질 API 사용
+	//  OpenWeather API 주소 (날씨: /weather, 공기질: /air_pollution), 부하 테스트 시 스텁 서버로 교체
+	@Value("${weather.api.base-url:https://api.openweathermap.org/data/2.5}")
+	private String baseUrl;
+
+	private static final long FRESH_TTL_MS = 10 * 60 * 1000L; //  이 시간 안의 캐시는 그대로 사용 (OpenWeather 갱신 주기 10분)
+	private static final long STALE_TTL_MS = 60 * 60 * 1000L; //  장애 시 대체 응답으로 쓸 수 있는 최대 캐시 나이
+	private static final int MAX_CACHED_CELLS = 2000; //  캐시할 최대 위치(셀) 수
+
+	private final RestTemplate restTemplate; // 타임아웃이 설정된 OpenWeather 전용 RestTemplate
+	private final CircuitBreaker circuitBreaker; // OpenWeather 장애 시 바로 실패시키는 서킷 브레이커
+
+	// ✅ 위치 셀(소수점 둘째 자리, 약 1km)별 마지막으로 성공한 응답 (LRU)
+	private final Map<String, CachedWeather> weatherCache = Collections.synchronizedMap(
+		new LinkedHashMap<>(256, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CachedWeather> eldest) {
+				return size() > MAX_CACHED_CELLS;
+			}
+		});
+
+	private final MeterRegistry meterRegistry; // OpenWeather 응답 상태/지연 시간 기록
+	private final WeatherDemandTracker demandTracker; // 자주 조회되는 셀 추적 (미리 갱신 대상)
+	private final ObjectReader currentReader; // /weather 응답 파싱용 (공유, 스레드 안전)
+	private final ObjectReader airPollutionReader; // /air_pollution 응답 파싱용
+
+	// ✅ 캐시 조회 결과 (hit: 캐시 사용, prefetch_hit: 미리 갱신된 캐시 사용, miss: OpenWeather 호출)
+	private final Counter cacheHitCounter;
+	private final Counter prefetchHitCounter;
+	private final Counter cacheMissCounter;
+
+	public WeatherService(@Qualifier("weatherRestTemplate") RestTemplate restTemplate,
+		@Qualifier("weatherCircuitBreaker") CircuitBreaker circuitBreaker, MeterRegistry meterRegistry,
+		WeatherDemandTracker demandTracker, ObjectMapper objectMapper) {
+		this.restTemplate = restTemplate;
+		this.circuitBreaker = circuitBreaker;
+		this.meterRegistry = meterRegistry;
+		this.demandTracker = demandTracker;
+		this.currentReader = objectMapper.readerFor(OpenWeatherResponse.Current.class);
+		this.airPollutionReader = objectMapper.readerFor(OpenWeatherResponse.AirPollution.class);
+		this.cacheHitCounter = cacheCounter(meterRegistry, "hit");
+		this.prefetchHitCounter = cacheCounter(meterRegistry, "prefetch_hit");
+		this.cacheMissCounter = cacheCounter(meterRegistry, "miss");
+	}
+
+	private static Counter cacheCounter(MeterRegistry meterRegistry, String result) {
+		return Counter.builder("weather.cache.requests")
+			.description("날씨 캐시 조회 결과")
+			.tag("result", result)
+			.register(meterRegistry);
+	}
+
 	/**
 	 *  위도(latitude)와 경도(longitude)를 기반으로 날씨 및 공기질 정보를 가져옴
+	 *  - 10분 이내에 같은 셀을 조회했으면 캐시 사용
+	 *  - OpenWeather 호출이 실패하거나 서킷 브레이커가 열려 있으면 1시간 이내의 캐시로 대체
+	 *  - 대체할 캐시도 없으면 예외 발생 (서킷 브레이커가 열려 있으면 UpstreamUnavailableException)
+	 *  - 범위를 벗어난 좌표는 캐시 셀/수요 기록을 만들지 않고 IllegalArgumentException
 	 */
-	public String getWeather(double latitude, double longitude) {
-		if (apiKey == null || apiKey.isEmpty()) {
-			return " API 키가 설정되지 않았습니다. 환경 변수를 확인하세요.";
+	public WeatherSnapshot getWeather(double latitude, double longitude) {
+		if (!isValidCoordinate(latitude, longitude)) {
+			throw new IllegalArgumentException("잘못된 좌표입니다: " + latitude + ", " + longitude);
 		}
+		WeatherSnapshot cached = getCachedWeather(latitude, longitude);
+		return cached != null ? cached : fetchWeather(latitude, longitude);
+	}
 
+	// ✅ 10분 이내 캐시가 있으면 반환, 없으면 null (OpenWeather를 호출하지 않음, 조회 수요는 기록)
+	public WeatherSnapshot getCachedWeather(double latitude, double longitude) {
+		String cellKey = toCellKey(latitude, longitude);
+		demandTracker.recordDemand(cellKey, latitude, longitude);
+		return findFreshWeather(cellKey);
+	}
+
+	// ✅ getCachedWeather와 같지만 조회 수요를 기록하지 않음 (배치 조회처럼 임의의 위치가 섞일 수 있는 요청용)
+	public WeatherSnapshot findCachedWeather(double latitude, double longitude) {
+		return findFreshWeather(toCellKey(latitude, longitude));
+	}
+
+	private WeatherSnapshot findFreshWeather(String cellKey) {
+		CachedWeather cached = weatherCache.get(cellKey);
+		if (cached != null && System.currentTimeMillis() - cached.fetchedAt() < FRESH_TTL_MS) {
+			(cached.prefetched() ? prefetchHitCounter : cacheHitCounter).increment();
+			return cached.snapshot();
+		}
+		return null;
+	}
+
+	// OpenWeather API 키가 설정되어 있는지 (없으면 fetchWeather가 IllegalStateException 발생)
+	public boolean hasApiKey() {
+		return apiKey != null && !apiKey.isEmpty();
+	}
+
+	// ✅ 캐시가 없거나 오래된 셀의 날씨를 OpenWeather에서 가져옴 (getCachedWeather가 null일 때 사용)
+	public WeatherSnapshot fetchWeather(double latitude, double longitude) {
+		if (!hasApiKey()) {
+			throw new IllegalStateException("OpenWeather API 키가 설정되지 않았습니다. 환경 변수를 확인하세요.");
+		}
+
+		String cellKey = toCellKey(latitude, longitude);
+		CachedWeather cached = weatherCache.get(cellKey);
+		long now = System.currentTimeMillis();
+		cacheMissCounter.increment();
 		try {
-			//  날씨 및 대기질 정보 가져오기
-			JSONObject weatherJson = fetchWeatherData(latitude, longitude);
-			JSONObject airQualityJson = fetchAirPollutionData(latitude, longitude); //  OpenWeather API로 대기질 정보 가져오기
+			WeatherSnapshot snapshot = circuitBreaker.executeSupplier(() -> requestWeather(latitude, longitude));
+			weatherCache.put(cellKey, new CachedWeather(snapshot, now, false));
+			return snapshot;
+		} catch (RuntimeException e) {
+			if (cached != null && now - cached.fetchedAt() < STALE_TTL_MS) {
+				System.err.println("[WARN] OpenWeather 호출 실패, 캐시된 날씨로 대체: " + e.getMessage());
+				return cached.snapshot();
+			}
+			if (e instanceof CallNotPermittedException) {
+				throw new UpstreamUnavailableException(UpstreamClientConfig.OPENWEATHER, e);
+			}
+			throw e;
+		}
+	}
+
+	public boolean isAvailable() {
+		return circuitBreaker.getState() != CircuitBreaker.State.OPEN &&
+			circuitBreaker.getState() != CircuitBreaker.State.FORCED_OPEN;
+	}
 
-			// JSON 형태로 응답 반환
-			JSONObject responseJson = new JSONObject();
-			responseJson.put("weather", weatherJson); // 날씨 데이터 포함
-			responseJson.put("air_quality", airQualityJson); // 대기질 데이터 포함
+	// ✅ 캐시가 없거나 refreshAheadMs 안에 만료되는 셀인지 확인 (WeatherPrefetchScheduler에서 사용)
+	public boolean needsRefresh(String cellKey, long refreshAheadMs) {
+		CachedWeather cached = weatherCache.get(cellKey);
+		return cached == null || System.currentTimeMillis() - cached.fetchedAt() >= FRESH_TTL_MS - refreshAheadMs;
+	}
 
-			return responseJson.toString(2); // JSON 예쁘게 포맷하여 반환
+	/**
+	 * ✅ 사용자 요청 없이 셀의 날씨를 미리 갱신 (실패 시 기존 캐시 유지)
+	 * - 미리 갱신된 캐시를 사용한 요청은 prefetch_hit으로 집계
+	 */
+	public boolean prefetch(double latitude, double longitude) {
+		if (apiKey == null || apiKey.isEmpty()) {
+			return false;
+		}
+		try {
+			WeatherSnapshot snapshot = circuitBreaker.executeSupplier(() -> requestWeather(latitude, longitude));
+			weatherCache.put(toCellKey(latitude, longitude),
+				new CachedWeather(snapshot, System.currentTimeMillis(), true));
+			return true;
 		} catch (Exception e) {
-			return " 데이터 요청 중 오류 발생: " + e.getMessage();
+			System.err.println("[WARN] 날씨 미리 갱신 실패: " + e.getMessage());
+			return false;
 		}
 	}
 
+	private WeatherSnapshot requestWeather(double latitude, double longitude) {
+		//  날씨 및 대기질 정보 가져오기
+		OpenWeatherResponse.Current current = fetchWeatherData(latitude, longitude);
+		OpenWeatherResponse.Components pollution = fetchAirPollutionData(latitude, longitude);
+
+		double pm10 = pollution != null && pollution.pm10() != null ? pollution.pm10() : -1.0; // 미세먼지 (PM10)
+		double pm25 = pollution != null && pollution.pm25() != null ? pollution.pm25() : -1.0; // 초미세먼지 (PM2.5)
+		return new WeatherSnapshot(current.condition(), current.temperature(), pm10, pm25);
+	}
+
+	/**
+	 *  OpenWeather GET 요청 + 응답 상태/지연 시간 기록 (weather.upstream.requests)
+	 *  - 응답 본문을 문자열로 만들지 않고 InputStream에서 바로 reader의 타입으로 읽음
+	 *  - status: HTTP 상태 코드, 연결 실패/타임아웃은 io_error
+	 */
+	private <T> T fetch(String endpoint, String url, ObjectReader reader) {
+		long startedAt = System.nanoTime();
+		String status = "200";
+		try {
+			T body = restTemplate.execute(url, HttpMethod.GET, null,
+				response -> reader.readValue(response.getBody()));
+			if (body == null) {
+				throw new IllegalStateException("OpenWeather " + endpoint + " 응답이 비어 있음");
+			}
+			return body;
+		} catch (HttpStatusCodeException e) {
+			status = String.valueOf(e.getStatusCode().value());
+			throw e;
+		} catch (RuntimeException e) {
+			status = "io_error";
+			throw e;
+		} finally {
+			Timer.builder("weather.upstream.requests")
+				.description("OpenWeather API 호출 상태와 지연 시간")
+				.tag("endpoint", endpoint)
+				.tag("status", status)
+				.publishPercentileHistogram()
+				.register(meterRegistry)
+				.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	// ✅ 위도 -90~90, 경도 -180~180 범위의 유한한 값인지 (NaN, Infinity는 false)
+	public static boolean isValidCoordinate(double latitude, double longitude) {
+		return latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180;
+	}
+
+	// 위도/경도를 소수점 둘째 자리로 반올림한 캐시 키
+	public static String toCellKey(double latitude, double longitude) {
+		return Math.round(latitude * 100) + ":" + Math.round(longitude * 100);
+	}
+
+	private record CachedWeather(WeatherSnapshot snapshot, long fetchedAt, boolean prefetched) {
+	}
+
 	/**
 	 * ✅ OpenWeather API에서 날씨 데이터를 가져오는 메서드
 	 */
 
-	private JSONObject fetchWeatherData(double latitude, double longitude) {
+	private OpenWeatherResponse.Current fetchWeatherData(double latitude, double longitude) {
 		// ✅ OpenWeather 날씨 API 요청 URL 생성
-		String url = UriComponentsBuilder.fromHttpUrl(WEATHER_API_URL)
+		String url = UriComponentsBuilder.fromHttpUrl(baseUrl + "/weather")
 			.queryParam("lat", latitude)
 			.queryParam("lon", longitude)
 			.queryParam("appid", apiKey) // 🔥 환경 변수에서 불러온 API 키 사용
 			.queryParam("units", "metric") // ✅ 섭씨 온도로 데이터 받기
 			.toUriString();
 
-		// ✅ RestTemplate을 이용해 HTTP 요청 수행
-		RestTemplate restTemplate = new RestTemplate();
-		String response = restTemplate.getForObject(url, String.class); // API 응답을 문자열(JSON)로 받음
-		JSONObject json = new JSONObject(response); // JSON 객체로 변환
-
-		// ✅ JSON 데이터에서 필요한 정보만 추출
-		JSONObject weatherJson = new JSONObject();
-		weatherJson.put("condition", json.getJSONArray("weather").getJSONObject(0).getString("main")); // 날씨 상태
-		weatherJson.put("temperature", json.getJSONObject("main").getDouble("temp")); // 온도
-
-		return weatherJson;
+		// ✅ 날씨 상태(weather[0].main)와 온도(main.temp)만 매핑
+		return fetch("weather", url, currentReader);
 	}
 
 	/**
 	 * ✅ OpenWeather API에서 공기질 데이터를 가져오는 메서드
 	 */
 
-	private JSONObject fetchAirPollutionData(double latitude, double longitude) {
+	private OpenWeatherResponse.Components fetchAirPollutionData(double latitude, double longitude) {
 		// ✅ OpenWeather 공기질 API 요청 URL 생성
-		String url = UriComponentsBuilder.fromHttpUrl(AIR_POLLUTION_API_URL)
+		String url = UriComponentsBuilder.fromHttpUrl(baseUrl + "/air_pollution")
 			.queryParam("lat", latitude)
 			.queryParam("lon", longitude)
 			.queryParam("appid", apiKey) // 🔥 OpenWeather API 키 사용
 			.toUriString();
 
-		// ✅ RestTemplate을 이용해 HTTP 요청 수행
-		RestTemplate restTemplate = new RestTemplate();
-		String response = restTemplate.getForObject(url, String.class); // API 응답을 문자열(JSON)로 받음
-
-		JSONObject json = new JSONObject(response); // JSON 객체로 변환
-
-		// ✅ JSON 데이터에서 미세먼지 관련 정보 추출
-		JSONObject pollution = json.getJSONArray("list").getJSONObject(0).getJSONObject("components");
-
-		JSONObject airQualityJson = new JSONObject();
-		airQualityJson.put("pm10", pollution.getDouble("pm10"));   // 미세먼지 (PM10)
-		airQualityJson.put("pm2_5", pollution.getDouble("pm2_5")); // 초미세먼지 (PM2.5)
-		System.out.println("[DEBUG] 대기질 원본 응답: " + response);  // WeatherService 내에서!
-
-
-		return airQualityJson;
+		// ✅ 미세먼지 관련 정보(list[0].components)만 매핑
+		OpenWeatherResponse.AirPollution response = fetch("air_pollution", url, airPollutionReader);
+		return response.components();
 	}
 }
@@ -0,0 +1,253 @@
+package org.example.gangazido_be.interceptor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * ClientIpResolver: 요청 제한 키로 쓸 클라이언트 IP를 찾는 컴포넌트
+ * - 직접 연결한 주소(remoteAddr)가 신뢰하는 프록시(rate-limit.trusted-proxies CIDR 목록)일 때만 X-Forwarded-For를 사용
+ * - X-Forwarded-For는 오른쪽(가장 가까운 프록시가 붙인 값)부터 읽어 신뢰하는 프록시가 아닌 첫 주소를 클라이언트로 판단
+ *   (클라이언트가 왼쪽에 위조한 값, Proxy-Client-IP/HTTP_CLIENT_IP 같은 헤더는 무시)
+ * - 주소는 문자열을 자르지 않고 헤더 안에서 바로 128비트 값으로 파싱 (IPv4는 ::ffff:a.b.c.d 형태로 비교)
+ * - 한 요청 안에서는 결과를 요청 속성에 저장해 다시 계산하지 않음
+ */
+@Component
+public class ClientIpResolver {
+	static final String ATTRIBUTE = ClientIpResolver.class.getName() + ".clientIp";
+	private static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+	private static final long IPV4_MAPPED_HIGH = 0L;
+	private static final long IPV4_MAPPED_LOW = 0xffff_0000_0000L;
+
+	private final List<Network> trustedProxies = new ArrayList<>();
+
+	public ClientIpResolver(
+		@Value("${rate-limit.trusted-proxies:10.0.0.0/8,172.16.0.0/12,192.168.0.0/16,127.0.0.0/8,::1/128}")
+		List<String> trustedProxies) {
+		for (String cidr : trustedProxies) {
+			if (!cidr.isBlank()) {
+				this.trustedProxies.add(Network.parse(cidr.trim()));
+			}
+		}
+	}
+
+	/**
+	 * ✅ 클라이언트 IP
+	 * - 신뢰하는 프록시를 거치지 않은 요청은 remoteAddr, 프록시를 거친 요청은 X-Forwarded-For에서 찾은 주소
+	 */
+	public String resolve(HttpServletRequest request) {
+		Object cached = request.getAttribute(ATTRIBUTE);
+		if (cached instanceof String clientIp) {
+			return clientIp;
+		}
+		String clientIp = resolveUncached(request);
+		request.setAttribute(ATTRIBUTE, clientIp);
+		return clientIp;
+	}
+
+	private String resolveUncached(HttpServletRequest request) {
+		String remoteAddr = request.getRemoteAddr();
+		long[] address = new long[2];
+		if (!isTrusted(remoteAddr, 0, remoteAddr.length(), address)) {
+			return remoteAddr;
+		}
+
+		String forwardedFor = request.getHeader(FORWARDED_FOR_HEADER);
+		if (forwardedFor == null) {
+			return remoteAddr;
+		}
+
+		// 오른쪽부터 "주소, 주소, ..." 항목을 하나씩 확인
+		int end = forwardedFor.length();
+		int leftmostStart = -1;
+		int leftmostEnd = -1;
+		while (end > 0) {
+			int comma = forwardedFor.lastIndexOf(',', end - 1);
+			int start = trimStart(forwardedFor, comma + 1, end);
+			int trimmedEnd = trimEnd(forwardedFor, start, end);
+			if (start < trimmedEnd) {
+				if (!isTrusted(forwardedFor, start, trimmedEnd, address)) {
+					return forwardedFor.substring(start, trimmedEnd);
+				}
+				leftmostStart = start;
+				leftmostEnd = trimmedEnd;
+			}
+			end = comma;
+		}
+		// 모든 항목이 신뢰하는 프록시면 가장 왼쪽 주소
+		return leftmostStart == -1 ? remoteAddr : forwardedFor.substring(leftmostStart, leftmostEnd);
+	}
+
+	// 주소 형식이 아니면 신뢰하지 않음 (그대로 클라이언트 주소로 사용)
+	private boolean isTrusted(CharSequence text, int start, int end, long[] address) {
+		if (!parse(text, start, end, address)) {
+			return false;
+		}
+		for (Network network : trustedProxies) {
+			if (network.contains(address[0], address[1])) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static int trimStart(CharSequence text, int start, int end) {
+		while (start < end && text.charAt(start) == ' ') {
+			start++;
+		}
+		return start;
+	}
+
+	private static int trimEnd(CharSequence text, int start, int end) {
+		while (end > start && text.charAt(end - 1) == ' ') {
+			end--;
+		}
+		return end;
+	}
+
+	/**
+	 * ✅ IPv4(a.b.c.d) 또는 IPv6(::, 16진수 그룹) 주소를 128비트 값으로 파싱
+	 * @param address 결과 {상위 64비트, 하위 64비트}
+	 * @return 주소 형식이 아니면 false
+	 */
+	static boolean parse(CharSequence text, int start, int end, long[] address) {
+		for (int i = start; i < end; i++) {
+			if (text.charAt(i) == ':') {
+				return parseIpv6(text, start, end, address);
+			}
+		}
+		long ipv4 = parseIpv4(text, start, end);
+		if (ipv4 < 0) {
+			return false;
+		}
+		address[0] = IPV4_MAPPED_HIGH;
+		address[1] = IPV4_MAPPED_LOW | ipv4;
+		return true;
+	}
+
+	private static long parseIpv4(CharSequence text, int start, int end) {
+		long value = 0;
+		int octets = 0;
+		int octet = -1;
+		for (int i = start; i <= end; i++) {
+			char c = i < end ? text.charAt(i) : '.';
+			if (c == '.') {
+				if (octet < 0 || ++octets > 4) {
+					return -1;
+				}
+				value = value << 8 | octet;
+				octet = -1;
+			} else if (c >= '0' && c <= '9') {
+				octet = (octet < 0 ? 0 : octet * 10) + (c - '0');
+				if (octet > 255) {
+					return -1;
+				}
+			} else {
+				return -1;
+			}
+		}
+		return octets == 4 ? value : -1;
+	}
+
+	private static boolean parseIpv6(CharSequence text, int start, int end, long[] address) {
+		int[] groups = new int[8];
+		int count = 0;
+		int gap = -1; // "::" 위치 (그 자리를 0 그룹으로 채움)
+		int i = start;
+		if (end - start >= 2 && text.charAt(i) == ':' && text.charAt(i + 1) == ':') {
+			gap = 0;
+			i += 2;
+		}
+		while (i < end) {
+			if (count == 8) {
+				return false;
+			}
+			int group = 0;
+			int digits = 0;
+			while (i < end && digits <= 4) {
+				int digit = Character.digit(text.charAt(i), 16);
+				if (digit < 0) {
+					break;
+				}
+				group = group << 4 | digit;
+				digits++;
+				i++;
+			}
+			if (digits == 0 || digits > 4) {
+				return false;
+			}
+			groups[count++] = group;
+			if (i == end) {
+				break;
+			}
+			if (text.charAt(i) != ':') {
+				return false;
+			}
+			i++;
+			if (i < end && text.charAt(i) == ':') {
+				if (gap >= 0) {
+					return false;
+				}
+				gap = count;
+				i++;
+			} else if (i == end) {
+				return false;
+			}
+		}
+		if (gap < 0 ? count != 8 : count == 8) {
+			return false;
+		}
+
+		long high = 0;
+		long low = 0;
+		int zeros = 8 - count;
+		int position = 0;
+		for (int g = 0; g <= count; g++) {
+			if (g == gap) {
+				position += zeros;
+			}
+			if (g == count) {
+				break;
+			}
+			if (position < 4) {
+				high |= (long)groups[g] << (16 * (3 - position));
+			} else {
+				low |= (long)groups[g] << (16 * (7 - position));
+			}
+			position++;
+		}
+		address[0] = high;
+		address[1] = low;
+		return true;
+	}
+
+	// CIDR 대역 (IPv4 대역은 IPv4-mapped 주소 기준으로 접두어 길이 + 96)
+	record Network(long high, long low, long highMask, long lowMask) {
+		static Network parse(String cidr) {
+			int slash = cidr.indexOf('/');
+			int end = slash == -1 ? cidr.length() : slash;
+			long[] address = new long[2];
+			if (!ClientIpResolver.parse(cidr, 0, end, address)) {
+				throw new IllegalArgumentException("잘못된 신뢰 프록시 대역입니다: " + cidr);
+			}
+			boolean ipv4 = cidr.lastIndexOf(':', end) == -1;
+			int maxPrefix = ipv4 ? 32 : 128;
+			int prefix = slash == -1 ? maxPrefix : Integer.parseInt(cidr.substring(slash + 1));
+			if (prefix < 0 || prefix > maxPrefix) {
+				throw new IllegalArgumentException("잘못된 신뢰 프록시 대역입니다: " + cidr);
+			}
+			int bits = ipv4 ? prefix + 96 : prefix;
+			long highMask = bits >= 64 ? -1L : bits == 0 ? 0 : -1L << (64 - bits);
+			long lowMask = bits <= 64 ? 0 : bits == 128 ? -1L : -1L << (128 - bits);
+			return new Network(address[0] & highMask, address[1] & lowMask, highMask, lowMask);
+		}
+
+		boolean contains(long addressHigh, long addressLow) {
+			return (addressHigh & highMask) == high && (addressLow & lowMask) == low;
+		}
+	}
+}
@@ -1,109 +1,135 @@
 package org.example.gangazido_be.interceptor;
 
-import io.github.bucket4j.Bucket;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
 import org.example.gangazido_be.config.RateLimitConfig;
+import org.example.gangazido_be.config.RateLimitPolicy;
 import org.example.gangazido_be.user.dto.UserApiResponse;
+import org.example.gangazido_be.user.session.SessionUser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.github.bucket4j.ConsumptionProbe;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
 @Component
 public class RateLimitInterceptor implements HandlerInterceptor {
+	static final String REMAINING_HEADER = "X-RateLimit-Remaining";
 
 	private final RateLimitConfig rateLimitConfig;
 	private final ObjectMapper objectMapper;
+	private final ClientIpResolver clientIpResolver;
 	private final Logger logger = LoggerFactory.getLogger(RateLimitInterceptor.class);
+	private final Map<Method, Optional<Rule>> rules = new ConcurrentHashMap<>(); // 핸들러 메서드 → 선언된 정책
+	private final Map<String, byte[]> rejectionBodies = new ConcurrentHashMap<>(); // 429 응답 message → 직렬화된 본문
 
 	@Autowired
-	public RateLimitInterceptor(RateLimitConfig rateLimitConfig, ObjectMapper objectMapper) {
+	public RateLimitInterceptor(RateLimitConfig rateLimitConfig, ObjectMapper objectMapper,
+		ClientIpResolver clientIpResolver) {
 		this.rateLimitConfig = rateLimitConfig;
 		this.objectMapper = objectMapper;
+		this.clientIpResolver = clientIpResolver;
 	}
 
-	@SuppressWarnings("checkstyle:RightCurly")
 	@Override
 	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
-		if (!(handler instanceof HandlerMethod)) {
+		if (!(handler instanceof HandlerMethod handlerMethod)) {
 			return true;
 		}
-
-		String ipAddress = getClientIpAddress(request);
-		String requestURI = request.getRequestURI();
-		String method = request.getMethod();
-
-		Bucket bucket = null;
-
-
-		if (requestURI.equals("/v1/users/login") && method.equals("POST")) {
-			bucket = rateLimitConfig.getLoginBucket(ipAddress);
-		} else if (requestURI.equals("/v1/users/signup") && method.equals("POST")) {
-			bucket = rateLimitConfig.getSignupBucket(ipAddress);
-		} else if ((requestURI.equals("/v1/users/check-email") || requestURI.equals("/v1/users/check-nickname")) &&
-			method.equals("GET")) {
-			bucket = rateLimitConfig.getDuplicateCheckBucket(ipAddress);
-		} else if ((requestURI.equals("/v1/users/signup/profile-image-upload-url") ||
-			requestURI.equals("/v1/users/profile-image-upload-url") ||
-			requestURI.equals("/v1/users/profile-image-update")) && method.equals("POST")) {
-			bucket = rateLimitConfig.getImageUploadBucket(ipAddress);
-		} else if (requestURI.equals("/v1/markers") && method.equals("POST")) {
-			bucket = rateLimitConfig.getMarkerBucket(ipAddress); // 마커 등록 요청 제한
+		// DeferredResult/SseEmitter 응답의 async 재디스패치는 같은 요청이므로 다시 차감하지 않음
+		if (request.getDispatcherType() == DispatcherType.ASYNC) {
+			return true;
 		}
 
-		// 버킷이 할당된 경우 (즉, 제한이 필요한 API인 경우) 요청 제한 검사
-		if (bucket != null) {
-			if (!bucket.tryConsume(1)) {
-				logger.warn("요청 제한 초과: IP={}, URI={}", ipAddress, requestURI);
-
-				// UserApiResponse.tooManyRequests() 메서드를 사용하면 더 깔끔하게 구현할 수 있으나,
-				// 여기서는 인터셉터에서 직접 응답을 생성해야 하므로 수동으로 구성
-				response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-				response.setContentType("application/json;charset=UTF-8");  // charset=UTF-8 추가
-
-				ResponseEntity<UserApiResponse<Object>> responseEntity =
-					UserApiResponse.error(HttpStatus.TOO_MANY_REQUESTS, "요청 횟수가 제한을 초과했습니다. 잠시 후 다시 시도해주세요.");
+		// 정책이 선언된 핸들러(즉, 제한이 필요한 API)만 요청 제한 검사
+		Rule rule = resolve(handlerMethod);
+		if (rule == null) {
+			return true;
+		}
 
-				String jsonResponse = objectMapper.writeValueAsString(responseEntity.getBody());
-				response.getWriter().write(jsonResponse);
-				return false;
+		String ipAddress = clientIpResolver.resolve(request);
+		Integer userId = getUserId(request);
+		ConsumptionProbe probe = rateLimitConfig.tryConsumeAndReturnRemaining(rule.policy(), userId, ipAddress);
+		// 클라이언트가 남은 횟수를 보고 요청 속도를 조절할 수 있도록 헤더로 전달
+		response.setHeader(REMAINING_HEADER, Long.toString(probe.getRemainingTokens()));
+		if (!probe.isConsumed()) {
+			// 공격 중에는 거절이 초당 수만 건이므로 로그는 debug로만 (거절 수는 rate_limit.requests 메트릭으로 확인)
+			if (logger.isDebugEnabled()) {
+				logger.debug("요청 제한 초과: IP={}, userId={}, URI={}", ipAddress, userId, request.getRequestURI());
 			}
+			response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds(probe)));
+
+			// 미리 직렬화해 둔 본문을 그대로 전송 (거절마다 UserApiResponse 생성/ObjectMapper 직렬화를 하지 않음)
+			byte[] body = rule.rejectionBody();
+			response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+			response.setContentType("application/json;charset=UTF-8");  // charset=UTF-8 추가
+			response.setContentLength(body.length);
+			response.getOutputStream().write(body);
+			return false;
 		}
 
 		return true;
 	}
 
-	// 클라이언트 IP 주소 가져오기
-	private String getClientIpAddress(HttpServletRequest request) {
-		String ip = request.getHeader("X-Forwarded-For");
+	// 다음 리필까지 남은 시간 (초 단위 올림, 최소 1초)
+	private static long retryAfterSeconds(ConsumptionProbe probe) {
+		return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(probe.getNanosToWaitForRefill() + 999_999_999L));
+	}
 
-		if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-			ip = request.getHeader("Proxy-Client-IP");
-		}
-		if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-			ip = request.getHeader("WL-Proxy-Client-IP");
-		}
-		if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-			ip = request.getHeader("HTTP_CLIENT_IP");
-		}
-		if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-			ip = request.getHeader("HTTP_X_FORWARDED_FOR");
-		}
-		if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-			ip = request.getRemoteAddr();
-		}
+	/**
+	 * ✅ 핸들러 메서드의 @RateLimited 선언 조회
+	 * - 요청마다 HandlerMethod 객체가 새로 만들어질 수 있어 실제 Method 기준으로 캐시 (요청당 맵 조회 한 번)
+	 */
+	Rule resolve(HandlerMethod handlerMethod) {
+		return rules.computeIfAbsent(handlerMethod.getMethod(), method -> {
+			RateLimited rateLimited = handlerMethod.getMethodAnnotation(RateLimited.class);
+			if (rateLimited == null) {
+				return Optional.empty();
+			}
+			return Optional.of(new Rule(rateLimited.value(), rejectionBody(rateLimited.message())));
+		}).orElse(null);
+	}
 
-		// 여러 IP가 포함된 경우 첫 번째 IP만 사용
-		if (ip != null && ip.contains(",")) {
-			ip = ip.split(",")[0].trim();
+	// 429 응답 본문을 message별로 한 번만 직렬화
+	private byte[] rejectionBody(String message) {
+		return rejectionBodies.computeIfAbsent(message, key -> {
+			ResponseEntity<UserApiResponse<Object>> responseEntity =
+				UserApiResponse.error(HttpStatus.TOO_MANY_REQUESTS, key);
+			try {
+				return objectMapper.writeValueAsBytes(responseEntity.getBody());
+			} catch (JsonProcessingException e) {
+				throw new IllegalStateException("429 응답 본문을 만들 수 없습니다.", e);
+			}
+		});
+	}
+
+	// 로그인 사용자 ID 가져오기 (세션을 새로 만들지 않음)
+	private Integer getUserId(HttpServletRequest request) {
+		HttpSession session = request.getSession(false);
+		if (session == null) {
+			return null;
 		}
+		SessionUser user = SessionUser.current(session);
+		return user == null ? null : user.id();
+	}
 
-		return ip;
+	// 핸들러 메서드에 선언된 정책과 미리 직렬화한 429 응답 본문
+	record Rule(RateLimitPolicy policy, byte[] rejectionBody) {
 	}
 }
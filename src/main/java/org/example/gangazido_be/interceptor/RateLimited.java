@@ -0,0 +1,25 @@
+package org.example.gangazido_be.interceptor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.example.gangazido_be.config.RateLimitPolicy;
+
+/**
+ * ✅ 컨트롤러 메서드에 요청 제한 정책을 선언
+ * - RateLimitInterceptor가 핸들러 메서드별로 한 번만 읽어 캐시하고, 초과 시 429 응답
+ * - message: 429 응답 본문의 message 값 (엔드포인트별 기존 응답 코드를 유지하기 위함)
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+	String DEFAULT_MESSAGE = "요청 횟수가 제한을 초과했습니다. 잠시 후 다시 시도해주세요.";
+
+	RateLimitPolicy value();
+
+	String message() default DEFAULT_MESSAGE;
+}
@@ -0,0 +1,29 @@
+package org.example.gangazido_be.llm.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+// LlmAsyncConfig: /v1/llm 요청(일반/스트리밍)을 Tomcat 요청 스레드가 아닌 별도 스레드 풀에서 처리하기 위한 설정
+// LLM 요청이 몰려도 이 풀만 가득 차고, 마커/사용자 API를 처리하는 Tomcat 스레드는 영향을 받지 않음
+@Configuration
+public class LlmAsyncConfig {
+
+	@Value("${llm.async.pool-size:16}")
+	private int poolSize; // 동시에 처리할 수 있는 최대 대화 수
+
+	@Value("${llm.async.queue-capacity:50}")
+	private int queueCapacity; // 대기열 크기 (초과 시 요청 거절)
+
+	@Bean(name = "llmExecutor")
+	public ThreadPoolTaskExecutor llmExecutor() {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(poolSize);
+		executor.setMaxPoolSize(poolSize);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("llm-");
+		executor.initialize();
+		return executor;
+	}
+}
@@ -2,9 +2,13 @@
 //  LlmConfig: LLM(OpenAI 등) 관련 설정을 application.yml에서 불러오는 설정 클래스
 package org.example.gangazido_be.llm.config;
 
+import org.example.gangazido_be.gpt.dto.GptRoute;
 import org.springframework.boot.context.properties.ConfigurationProperties; // yml 속성 매핑용 어노테이션
 import org.springframework.context.annotation.Configuration; // 해당 클래스가 설정 클래스임을 명시
 
+import java.util.HashMap;
+import java.util.Map;
+
 import lombok.Getter;
 import lombok.Setter;
 
@@ -15,7 +19,40 @@ import lombok.Setter;
 public class LlmConfig {
 	//  Getter/Setter 메서드 (스프링이 값을 주입할 때 사용)
 	private String apiKey; //  LLM API 키
-	private String model; //  사용할 모델 이름 (예: gpt-3.5-turbo)
+	private String model = "gpt-3.5-turbo"; //  기본 모델 이름 (routes에 모델이 없는 호출에서 사용)
+	private double temperature = 0.5; //  기본 temperature
+	private String systemPrompt = "You are a helpful assistant."; //  기본 시스템 프롬프트
+	private Map<String, Route> routes = new HashMap<>(); //  호출 종류별 모델/파라미터 (intent, single_call, 답변 intent 이름 → 없는 값은 기본값)
+	private String chatMode = "two_call"; //  대화 생성 방식 (two_call: 의도 판단 + 답변 2회 호출, single_call: 1회 호출)
+	private boolean cacheEnabled = true; //  비슷한 조건의 GPT 답변을 Redis에 캐시할지 여부
+	private long cacheTtlSeconds = 600; //  캐시 유지 시간 (초)
+	private boolean ruleFactsInPrompt = false; //  규칙 기반 산책 판단을 프롬프트에 덧붙일지 여부
+	private Map<String, String> promptVersions = new HashMap<>(); //  프롬프트별 사용할 버전 (예: walk_check: v1,v2 → 사용자 ID 기준 A/B)
+	private boolean memoryEnabled = true; //  세션별 이전 대화를 Redis에 보관해 이어지는 질문에 요약 프롬프트를 사용할지 여부
+	private int memoryMaxTurns = 5; //  보관할 최근 대화 턴 수 (질문 + 답변)
+	private int memoryMaxTokens = 200; //  프롬프트에 넣을 이전 대화의 최대 토큰 수 (한글 기준 글자 수로 추정)
+	private long memoryTtlSeconds = 1800; //  대화 기록 유지 시간 (초)
+
+	// ✅ 호출 종류(route 이름)에 맞는 모델/파라미터 (설정이 없는 항목은 기본 model, temperature, system-prompt)
+	public GptRoute route(String name) {
+		Route route = routes.get(name);
+		if (route == null) {
+			return new GptRoute(name, model, temperature, null, systemPrompt);
+		}
+		return new GptRoute(name,
+			route.getModel() != null ? route.getModel() : model,
+			route.getTemperature() != null ? route.getTemperature() : temperature,
+			route.getMaxTokens(),
+			route.getSystemPrompt() != null ? route.getSystemPrompt() : systemPrompt);
+	}
 
+	@Setter
+	@Getter
+	public static class Route {
+		private String model; //  예: 인사/감사에는 더 빠르고 저렴한 모델
+		private Double temperature;
+		private Integer maxTokens; //  답변 최대 토큰 수 (없으면 제한 없음)
+		private String systemPrompt;
+	}
 }
 
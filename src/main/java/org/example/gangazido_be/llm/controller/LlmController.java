@@ -1,57 +1,148 @@
 package org.example.gangazido_be.llm.controller;
 
-import org.example.gangazido_be.config.RateLimitConfig;
-import org.example.gangazido_be.user.entity.User; // 세션에서 사용자 정보 가져오기 위한 엔티티
+import org.example.gangazido_be.config.RateLimitPolicy;
+import org.example.gangazido_be.gpt.service.WeatherService;
+import org.example.gangazido_be.interceptor.RateLimited;
+import org.example.gangazido_be.llm.exception.LlmException;
+import org.example.gangazido_be.user.session.SessionUser; // 세션에 저장된 로그인 사용자 정보
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.bind.annotation.PostMapping; //  POST 요청 매핑
 import org.springframework.web.bind.annotation.RequestBody; //  요청 본문(JSON) 매핑
 import org.springframework.web.bind.annotation.RequestMapping; //  세션 접근을 위한 객체
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.http.ResponseEntity; //  응답 객체
+import org.springframework.web.context.request.async.DeferredResult; //  비동기 응답
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter; //  SSE 스트리밍 응답
 
-import io.github.bucket4j.Bucket;
-import jakarta.servlet.http.HttpServletRequest; //  클라이언트 요청 정보
 import jakarta.servlet.http.HttpSession; //  세션 접근을 위한 객체
 import org.example.gangazido_be.llm.model.LlmRequest; // 클라이언트에서 오는 요청 데이터
 import org.example.gangazido_be.llm.model.LlmResponse; //  응답 데이터 포맷
 import org.example.gangazido_be.llm.service.LlmService; //  GPT 호출 로직이 있는 서비스
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 
 @RestController // JSON 데이터를 반환하는 REST 컨트롤러임을 명시
 @RequestMapping("/v1/llm") //  이 컨트롤러의 모든 요청은 "/v1/llm" 경로로 시작됨
 public class LlmController {
 	private final LlmService llmService; //  의존성 주입받은 LLM 서비스
-	private final RateLimitConfig rateLimitConfig;
+	private final ThreadPoolTaskExecutor llmExecutor; //  LLM 요청 전용 스레드 풀 (Tomcat 스레드와 분리)
+	private final long timeoutMs; //  응답 최대 대기 시간 (일반/스트리밍 공통)
 
-	public LlmController(LlmService llmService, RateLimitConfig rateLimitConfig) {
+	public LlmController(LlmService llmService,
+		@Qualifier("llmExecutor") ThreadPoolTaskExecutor llmExecutor,
+		@Value("${llm.async.timeout-ms:60000}") long timeoutMs) {
 		this.llmService = llmService;
-		this.rateLimitConfig = rateLimitConfig;
+		this.llmExecutor = llmExecutor;
+		this.timeoutMs = timeoutMs;
 	}
 
+	/**
+	 *  GPT 대화 생성 API
+	 *  - 요청 제한(RateLimitInterceptor)·세션 확인만 요청 스레드에서 하고, GPT·날씨 호출은 llmExecutor 스레드에서 수행
+	 *  - llmExecutor 대기열이 가득 차면 503 llm_server_busy, 시간 초과 시 503 llm_timeout
+	 *  - 범위를 벗어난 좌표(NaN 포함)는 날씨 조회 전에 400 invalid_location
+	 */
 	@PostMapping("")
-	public ResponseEntity<LlmResponse> generateChat(@RequestBody LlmRequest request,
-		HttpServletRequest httpServletRequest, HttpSession session) {
+	@RateLimited(value = RateLimitPolicy.CHAT, message = "too_many_requests")
+	public DeferredResult<ResponseEntity<LlmResponse>> generateChat(@RequestBody LlmRequest request,
+		HttpSession session) {
+		DeferredResult<ResponseEntity<LlmResponse>> result = new DeferredResult<>(timeoutMs,
+			ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new LlmResponse("llm_timeout")));
 
-		String ip = httpServletRequest.getRemoteAddr();
-		Bucket bucket = rateLimitConfig.getChatBucket(ip);
-
-		User user = (User)session.getAttribute("user");
+		SessionUser user = SessionUser.current(session);
 		if (user == null) {
-			return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-				.body(new LlmResponse("not_found_session"));
+			result.setResult(ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+				.body(new LlmResponse("not_found_session")));
+			return result;
+		}
+		if (!WeatherService.isValidCoordinate(request.getLatitude(), request.getLongitude())) {
+			result.setResult(ResponseEntity.badRequest().body(new LlmResponse("invalid_location")));
+			return result;
+		}
+
+		Integer userId = user.id();
+		String sessionId = session.getId();
+		try {
+			llmExecutor.execute(() -> {
+				try {
+					result.setResult(llmService.generateChat(userId, sessionId, request.getLatitude(),
+						request.getLongitude(), request.getMessage(), request.isRuleBased()));
+				} catch (Exception e) {
+					result.setResult(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+						.body(new LlmResponse("failed_to_get_gpt_response")));
+				}
+			});
+		} catch (TaskRejectedException e) {
+			result.setResult(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.body(new LlmResponse("llm_server_busy")));
 		}
+		return result;
+	}
 
-		if (!bucket.tryConsume(1)) {
-			return ResponseEntity.status(429)
-				.body(new LlmResponse("too_many_requests"));
+	/**
+	 *  GPT 응답을 SSE(text/event-stream)로 전달하는 API
+	 *  - token 이벤트: GPT가 생성한 토큰 조각
+	 *  - done 이벤트: 전체 응답 (기존 /v1/llm 응답과 동일한 형식)
+	 *  - error 이벤트: 실패 시 message 코드
+	 *  - 범위를 벗어난 좌표는 스트림을 열지 않고 400 invalid_location
+	 *  요청 스레드는 바로 반환되고, 실제 전송은 llmExecutor 스레드에서 수행됨
+	 */
+	@PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	@RateLimited(value = RateLimitPolicy.CHAT, message = "too_many_requests")
+	public ResponseEntity<SseEmitter> streamChat(@RequestBody LlmRequest request, HttpSession session) {
+		SessionUser user = SessionUser.current(session);
+		if (user == null) {
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+		}
+		if (!WeatherService.isValidCoordinate(request.getLatitude(), request.getLongitude())) {
+			return ResponseEntity.badRequest().build();
 		}
 
+		SseEmitter emitter = new SseEmitter(timeoutMs);
+		Integer userId = user.id();
+		String sessionId = session.getId();
+		try {
+			llmExecutor.execute(() -> streamToEmitter(emitter, userId, sessionId, request));
+		} catch (TaskRejectedException e) {
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+		}
+		return ResponseEntity.ok(emitter);
+	}
 
-		ResponseEntity<LlmResponse> response = llmService.generateChat(
-			user.getId(), httpServletRequest,
-			request.getLatitude(), request.getLongitude(), request.getMessage());
+	private void streamToEmitter(SseEmitter emitter, Integer userId, String sessionId, LlmRequest request) {
+		try {
+			String fullText = llmService.streamChat(userId, sessionId, request.getLatitude(), request.getLongitude(),
+				request.getMessage(), token -> {
+					try {
+						emitter.send(SseEmitter.event().name("token").data(token));
+					} catch (IOException e) {
+						throw new UncheckedIOException(e); // 클라이언트가 연결을 끊은 경우 스트리밍 중단
+					}
+				});
+			emitter.send(SseEmitter.event().name("done").data(new LlmResponse("llm_success", fullText)));
+			emitter.complete();
+		} catch (LlmException e) {
+			sendErrorAndComplete(emitter, e.toLlmResponse());
+		} catch (UncheckedIOException e) {
+			emitter.completeWithError(e.getCause());
+		} catch (Exception e) {
+			sendErrorAndComplete(emitter, new LlmResponse("failed_to_get_gpt_response"));
+		}
+	}
 
-		return response;
+	private void sendErrorAndComplete(SseEmitter emitter, LlmResponse errorResponse) {
+		try {
+			emitter.send(SseEmitter.event().name("error").data(errorResponse));
+			emitter.complete();
+		} catch (IOException e) {
+			emitter.completeWithError(e);
+		}
 	}
 }
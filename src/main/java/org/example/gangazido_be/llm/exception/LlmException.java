@@ -0,0 +1,29 @@
+package org.example.gangazido_be.llm.exception;
+
+import lombok.Getter;
+
+import org.example.gangazido_be.llm.model.LlmResponse;
+import org.springframework.http.HttpStatus;
+
+// LlmException: 대화 생성 단계(반려견 조회, 날씨 조회 등)에서 실패했을 때 응답 코드와 메시지를 담는 예외
+@Getter
+public class LlmException extends RuntimeException {
+	private final HttpStatus status;
+	private final String message; // 응답 message 코드 (예: not_found_pet)
+	private final String detail; // 사용자에게 보여줄 설명 (없으면 null)
+
+	public LlmException(HttpStatus status, String message, String detail) {
+		super(message);
+		this.status = status;
+		this.message = message;
+		this.detail = detail;
+	}
+
+	public LlmException(HttpStatus status, String message) {
+		this(status, message, null);
+	}
+
+	public LlmResponse toLlmResponse() {
+		return detail == null ? new LlmResponse(message) : new LlmResponse(message, detail);
+	}
+}
@@ -0,0 +1,47 @@
+package org.example.gangazido_be.llm.model;
+
+import lombok.Getter;
+
+// AirQualityGrade: 환경부 미세먼지 예보 등급 (PM10, PM2.5 수치 → 좋음/보통/나쁨/매우나쁨)
+@Getter
+public enum AirQualityGrade {
+	UNKNOWN("알 수 없음"),
+	GOOD("좋음"),
+	MODERATE("보통"),
+	BAD("나쁨"),
+	VERY_BAD("매우나쁨");
+
+	private final String label;
+
+	AirQualityGrade(String label) {
+		this.label = label;
+	}
+
+	// PM10: 좋음 0~30, 보통 31~80, 나쁨 81~150, 매우나쁨 151~
+	public static AirQualityGrade ofPm10(double pm10) {
+		return of(pm10, 30, 80, 150);
+	}
+
+	// PM2.5: 좋음 0~15, 보통 16~35, 나쁨 36~75, 매우나쁨 76~
+	public static AirQualityGrade ofPm25(double pm25) {
+		return of(pm25, 15, 35, 75);
+	}
+
+	// 두 등급 중 더 나쁜 등급
+	public static AirQualityGrade worse(AirQualityGrade a, AirQualityGrade b) {
+		return a.ordinal() >= b.ordinal() ? a : b;
+	}
+
+	private static AirQualityGrade of(double value, double goodMax, double moderateMax, double badMax) {
+		if (value < 0) {
+			return UNKNOWN; // 측정값 없음 (-1.0)
+		}
+		if (value <= goodMax) {
+			return GOOD;
+		}
+		if (value <= moderateMax) {
+			return MODERATE;
+		}
+		return value <= badMax ? BAD : VERY_BAD;
+	}
+}
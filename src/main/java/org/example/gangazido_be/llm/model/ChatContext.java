@@ -0,0 +1,23 @@
+package org.example.gangazido_be.llm.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import org.example.gangazido_be.pet.entity.Pet;
+
+// ChatContext: 한 번의 대화 생성에 필요한 반려견 정보와 날씨/대기질 정보를 묶은 모델
+@Getter
+@AllArgsConstructor
+public class ChatContext {
+	private final Pet pet; // 조회된 반려견 엔티티
+	private final String petName; // 반려견 이름
+	private final String petBreed; // 한글로 변환된 견종명
+	private final int petAge; // 반려견 나이
+	private final double petWeight; // 반려견 몸무게
+	private final String weatherCondition; // 한글로 변환된 날씨 상태
+	private final double temperature; // 기온 (°C)
+	private final double pm10; // 미세먼지 (µg/m³)
+	private final double pm25; // 초미세먼지 (µg/m³)
+	private final double latitude; // 요청 위도
+	private final double longitude; // 요청 경도
+}
@@ -5,6 +5,7 @@ public class LlmRequest {
 	private double latitude; //  사용자의 위도 값 (위치 기반 서비스)
 	private double longitude; //  사용자의 경도 값
 	private String message; // 사용자가 보낸 메시지 (GPT 입력)
+	private boolean ruleBased; // true면 GPT 없이 규칙 기반 엔진으로 바로 응답 (선택)
 
 	//public LlmRequest() {}  // 기본 생성자
 
@@ -38,4 +39,12 @@ public class LlmRequest {
 	public void setMessage(String message) {
 		this.message = message;
 	}
+
+	public boolean isRuleBased() {
+		return ruleBased;
+	}
+
+	public void setRuleBased(boolean ruleBased) {
+		this.ruleBased = ruleBased;
+	}
 }
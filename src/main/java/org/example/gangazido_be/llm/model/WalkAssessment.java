@@ -0,0 +1,20 @@
+package org.example.gangazido_be.llm.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// WalkAssessment: 규칙 기반 산책 적합도 판단 결과
+@Getter
+@AllArgsConstructor
+public class WalkAssessment {
+	private final int score; // 산책 적합도 점수 (0~100)
+	private final boolean walkRecommended; // 산책 추천 여부 (짧은 산책 포함)
+	private final String recommendation; // 산책 추천 / 짧은 산책 추천 / 산책 비추천
+	private final AirQualityGrade airQualityGrade; // PM10, PM2.5 중 더 나쁜 등급
+	private final String reason; // 판단 사유 (수치 포함)
+	private final List<String> safetyTips; // 산책 시 유의 사항
+	private final boolean clothingRecommended; // 옷 입히기 추천 여부
+	private final String clothingReason; // 옷 입히기 판단 사유
+}
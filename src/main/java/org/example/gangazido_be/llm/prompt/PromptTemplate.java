@@ -0,0 +1,90 @@
+// PromptTemplate: 시작 시 한 번 고정 문자열/변수 조각으로 분해해 두고, 요청마다 조각을 이어 붙여 프롬프트를 만드는 템플릿
+package org.example.gangazido_be.llm.prompt;
+
+import org.example.gangazido_be.llm.model.ChatContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class PromptTemplate {
+	private static final String OPEN = "{{";
+	private static final String CLOSE = "}}";
+	private static final int MAX_RETAINED_CAPACITY = 16 * 1024; // 이보다 커진 버퍼는 스레드에 남겨두지 않음
+
+	// ✅ 스레드별로 재사용하는 버퍼 (llmExecutor 스레드마다 하나)
+	private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(4096));
+
+	private final String name;
+	private final String version;
+	private final Object[] segments; // String(고정 문자열) 또는 PromptVariable
+
+	private PromptTemplate(String name, String version, Object[] segments) {
+		this.name = name;
+		this.version = version;
+		this.segments = segments;
+	}
+
+	/**
+	 * ✅ 템플릿 문자열을 조각 배열로 분해
+	 * - {{pet_name}}처럼 PromptVariable에 정의된 이름만 허용 (오타는 시작 시 바로 실패)
+	 */
+	public static PromptTemplate compile(String name, String version, String text) {
+		List<Object> segments = new ArrayList<>();
+		int position = 0;
+		while (position < text.length()) {
+			int open = text.indexOf(OPEN, position);
+			if (open < 0) {
+				break;
+			}
+			int close = text.indexOf(CLOSE, open + OPEN.length());
+			if (close < 0) {
+				throw new IllegalArgumentException("닫히지 않은 프롬프트 변수: " + name + "/" + version);
+			}
+			PromptVariable variable = PromptVariable.ofKey(text.substring(open + OPEN.length(), close).trim());
+			if (variable == null) {
+				throw new IllegalArgumentException("알 수 없는 프롬프트 변수: " + name + "/" + version + " " +
+					text.substring(open, close + CLOSE.length()));
+			}
+			if (open > position) {
+				segments.add(text.substring(position, open));
+			}
+			segments.add(variable);
+			position = close + CLOSE.length();
+		}
+		if (position < text.length()) {
+			segments.add(text.substring(position));
+		}
+		return new PromptTemplate(name, version, segments.toArray());
+	}
+
+	// ✅ 변수 자리에 반려견/날씨 정보와 사용자 문장을 채워 프롬프트 생성 (intent 판단처럼 context가 필요 없으면 null 가능)
+	public String render(ChatContext context, String message) {
+		return render(context, message, null);
+	}
+
+	// ✅ 이전 대화 요약({{history}})까지 채워 프롬프트 생성
+	public String render(ChatContext context, String message, String history) {
+		StringBuilder sb = BUFFER.get();
+		sb.setLength(0);
+		for (Object segment : segments) {
+			if (segment instanceof PromptVariable variable) {
+				variable.append(sb, context, message, history);
+			} else {
+				sb.append((String)segment);
+			}
+		}
+		String prompt = sb.toString();
+		if (sb.capacity() > MAX_RETAINED_CAPACITY) {
+			BUFFER.remove();
+		}
+		return prompt;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getVersion() {
+		return version;
+	}
+}
@@ -0,0 +1,257 @@
+// PromptTemplateRegistry: 프롬프트 템플릿을 이름/버전별로 시작 시 한 번 컴파일해 두고, llm.prompt-versions 설정에 따라 버전을 고르는 저장소
+package org.example.gangazido_be.llm.prompt;
+
+import org.example.gangazido_be.llm.config.LlmConfig;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+public class PromptTemplateRegistry {
+	public static final String INTENT = "intent";
+	public static final String SINGLE_CALL = "single_call";
+	public static final String FOLLOWUP_SUFFIX = "_followup";
+	public static final String UNKNOWN = "unknown";
+	private static final String DEFAULT_VERSION = "v1";
+
+	// 이름 -> (버전 -> 템플릿)
+	private final Map<String, Map<String, PromptTemplate>> templates = new HashMap<>();
+	// 이름 -> 현재 사용 중인 버전 목록 (2개 이상이면 사용자 ID 기준 A/B 분배)
+	private final Map<String, PromptTemplate[]> activeTemplates = new HashMap<>();
+
+	public PromptTemplateRegistry(LlmConfig llmConfig) {
+		registerDefaults();
+
+		Map<String, String> versions = llmConfig.getPromptVersions();
+		for (String name : versions.keySet()) {
+			if (!templates.containsKey(name)) {
+				throw new IllegalStateException("llm.prompt-versions에 등록되지 않은 프롬프트: " + name);
+			}
+		}
+		for (Map.Entry<String, Map<String, PromptTemplate>> entry : templates.entrySet()) {
+			String[] selected = versions.getOrDefault(entry.getKey(), DEFAULT_VERSION).split(",");
+			PromptTemplate[] active = new PromptTemplate[selected.length];
+			for (int i = 0; i < selected.length; i++) {
+				active[i] = entry.getValue().get(selected[i].trim());
+				if (active[i] == null) {
+					throw new IllegalStateException("등록되지 않은 프롬프트 버전: " + entry.getKey() + "/" + selected[i]);
+				}
+			}
+			activeTemplates.put(entry.getKey(), active);
+		}
+	}
+
+	/**
+	 * ✅ 사용할 템플릿 선택
+	 * - 버전이 여러 개면 같은 사용자는 항상 같은 버전을 받도록 userId로 분배
+	 * - 답변 프롬프트가 없는 intent는 unknown 템플릿
+	 */
+	public PromptTemplate select(String name, Integer userId) {
+		PromptTemplate[] candidates = activeTemplates.get(name);
+		if (candidates == null) {
+			candidates = activeTemplates.get(UNKNOWN);
+		}
+		if (candidates.length == 1 || userId == null) {
+			return candidates[0];
+		}
+		return candidates[Math.floorMod(userId, candidates.length)];
+	}
+
+	// 이전 대화가 있을 때 쓰는 intent별 프롬프트 이름 (예: walk_check → walk_check_followup)
+	public static String followup(String intent) {
+		return intent + FOLLOWUP_SUFFIX;
+	}
+
+	private void register(String name, String version, String text) {
+		templates.computeIfAbsent(name, key -> new HashMap<>()).put(version, PromptTemplate.compile(name, version, text));
+	}
+
+	// ✅ 기본(v1) 프롬프트. 새 버전은 같은 이름으로 register 후 llm.prompt-versions에서 선택
+	private void registerDefaults() {
+		// 사용자 문장 의도 판단 (chat-mode: two_call)
+		register(INTENT, DEFAULT_VERSION, """
+			다음 사용자 문장이 어떤 의도를 가지는지 판단해줘.
+			선택지는 다음과 같아:
+			- walk_check: 산책 여부 질문
+			- recommend_route: 산책로 추천
+			- weather_info: 날씨/공기질 질문
+			- greeting: 인사, 친근한 말투
+			- thanks: 감사 표현
+			- cloth_recommend: 옷 추천 관련 질문
+			- unknown: 알 수 없음
+
+			아래 예시처럼 판단해줘:
+			Q: '오늘 어디 갈까?' → recommend_route
+			Q: '산책해도 될까?','오늘 나갈까?' → walk_check
+			Q: '미세먼지 어때?','오늘 공기 어때?' → weather_info
+			Q: '옷 입혀야 해?' → cloth_recommend
+			Q: '안녕!' → greeting
+			반드시 JSON 형식으로 응답해. 예시: { "intent": "walk_check" }
+			문장: "{{message}}"
+			""");
+
+		// 날씨/공기질 질문
+		register("weather_info", DEFAULT_VERSION, """
+			당신은 반려견 산책 추천 AI입니다. 아래의 조건에 따라 반려견의 산책 가능 여부를 판단해 주세요.
+
+			📌 반려견 이름은 {{pet_name}}이고, 견종은 {{pet_breed}}, 나이는 {{pet_age}}살, 몸무게는 {{pet_weight}}kg입니다.
+			📌 현재 날씨는 {{weather}}이고, 기온은 {{temperature}}°C입니다.
+			📌 미세먼지 상태:
+			- PM10: {{pm10}} µg/m³
+			- PM2.5: {{pm25}} µg/m³
+
+			미세먼지 상태에 따라 '좋음', '보통', '나쁨' 수준으로 분류하고, 반려견의 건강에 미치는 영향과 함께 산책을 추천할지 여부를 판단해주세요.
+
+			⚠️ 만약 미세먼지 수치가 '나쁨' 수준이면 외출을 자제하라고 안내하고, 실내 활동을 추천해 주세요.
+			✅ 응답은 반드시 아래 JSON 형식으로만 제공해주세요:
+
+			{
+			"recommendation": "미세먼지 상태(좋음/보통/나쁨)",
+			"reason": "정확한 미세먼지 수치 기반의 판단 및 설명",
+			"safety_tips": ["산책 시 유의 사항 또는 실내 활동 팁"]
+			}""");
+
+		// 산책 여부 질문
+		register("walk_check", DEFAULT_VERSION, """
+			당신은 반려견 산책 추천 AI입니다. **반드시 JSON 형식으로만 답변하세요.** HTML이나 마크다운, 자연어 문장만 있는 응답은 허용되지 않습니다.\\n 날씨와 대기질, 반려견 정보를 바탕으로 **{{pet_name}}**의 산책 가능 여부를 판단하고, JSON 형식으로 추천 결과를 제공해주세요.
+
+			응답에 반드시 반려견 이름을 포함해주세요.\
+			산책 추천 또는 비추천 사유 (기온 {{temperature}}°C, 미세먼지 PM10 {{pm10}}µg/m³, PM2.5 {{pm25}}µg/m³ 수치를 반드시 모두 포함하여 설명)\
+			📌 **현재 환경 데이터:**
+			- 날씨 상태: {{weather}}
+			- 기온: {{temperature}}°C
+			- 미세먼지(PM10): {{pm10}} µg/m³
+			- 초미세먼지(PM2.5): {{pm25}} µg/m³
+			- 반려견 정보:
+			- 이름: {{pet_name}}
+			- 견종: {{pet_breed}}
+			- 나이: {{pet_age}}살
+			- 무게: {{pet_weight}}kg
+
+			📌 **응답은 JSON 형식으로 다음과 같이 제공해주세요:**
+			json
+			{
+			recommendation": "산책 추천 또는 비추천",
+			"reason": "산책 추천 또는 비추천 사유",
+			"safety_tips": ["산책 시 유의 사항"]
+			}
+
+			""");
+
+		// 산책로 추천
+		register("recommend_route", DEFAULT_VERSION, """
+			당신은 위치 기반 산책로 추천 AI입니다.
+			현재 위치는 위도 {{latitude}}, 경도 {{longitude}} 입니다.
+			이 근처 반경 2~3km 이내의 산책 가능한 장소 3곳을 추천해주세요.
+			**아래 JSON 형식으로만 응답하세요.**
+
+			{
+			"routes": [
+			{ "name": "산책로 이름", "description": "특징 및 반려견과의 산책 추천 이유", "distance_km": 거리 }
+			]
+			}""");
+
+		// 인사
+		register("greeting", DEFAULT_VERSION, """
+			너는 귀여운 반려견 산책 도우미 AI야. 사용자와 친근한 말투로 짧게 대답해줘.
+			반려견 이름은 {{pet_name}}이고, 견종은 {{pet_breed}}야. 사용자가 '{{message}}'라고 말했어. 너무 딱딱하지 않게, 공감하며 답장해줘. 문장은 한두 문장으로 간단히 해줘.
+
+			예시)
+			Q: 안녕
+			A: 안녕하세요! 🐶 반가워요!
+
+			Q: 고마워
+			A: 도움이 됐다니 저도 기뻐요!
+
+			Q: 산책 어디로 갈까?
+			A: 날씨 좋을 땐 가까운 공원도 좋겠네요!
+
+			Q: {{message}}
+			A:""");
+
+		// 옷 추천 질문
+		register("cloth_recommend", DEFAULT_VERSION, """
+			당신은 반려견 산책 추천 AI입니다. **반드시 JSON 형식으로만 답변하세요.** HTML이나 마크다운, 자연어 문장만 있는 응답은 허용되지 않습니다.\\n반려견이 외출 시 옷을 입어야 할까요? 현재 날씨를 분석하고, 반려견의 특징을 고려하여 적절한 답변을 제공해주세요.
+
+			응답에 반드시 반려견 이름 {{pet_name}}을 포함해주세요.\
+			옷입히기 추천 또는 비추천 사유 (기온 {{temperature}}°C, 미세먼지 PM10 {{pm10}}µg/m³, PM2.5 {{pm25}}µg/m³ 수치를 반드시 모두 포함하여 설명)\
+			📌 **현재 환경 데이터:**
+			- 날씨 상태: {{weather}}
+			- 기온: {{temperature}}°C
+			- 반려견 견종: {{pet_breed}}
+			- 반려견 체중: {{pet_weight}}kg
+
+			📌 **옷을 입어야 하는지 여부와 이유를 한글로 설명해주세요.**\
+			📌 **응답은 JSON 형식으로 다음과 같이 제공해주세요:**
+			json
+			{
+			"recommendation": "옷 입히기 추천 또는 비추천",
+			"reason": "옷 입히기 추천 또는 비추천 사유",
+			"safety_tips": ["산책 시 유의 사항"]
+			}
+
+			""");
+
+		// 의도 판단 + 답변 (chat-mode: single_call)
+		register(SINGLE_CALL, DEFAULT_VERSION, """
+			당신은 반려견 산책 추천 AI입니다. 사용자 문장의 의도를 판단하고, 그 의도에 맞는 답변을 한 번에 작성하세요.
+			**반드시 아래 JSON 형식 하나로만 응답하세요.** 마크다운이나 설명 문장은 허용되지 않습니다.
+
+			{ "intent": "의도", "answer": 답변 }
+
+			📌 intent 선택지와 answer 형식:
+			- walk_check (산책 여부 질문), weather_info (날씨/공기질 질문), cloth_recommend (옷 추천 질문)
+			→ answer: { "recommendation": "추천 결과", "reason": "기온, PM10, PM2.5 수치를 모두 포함한 사유", "safety_tips": ["유의 사항"] }
+			- recommend_route (산책로 추천) → answer: { "routes": [ { "name": "산책로 이름", "description": "추천 이유", "distance_km": 거리 } ] }
+			(현재 위치 반경 2~3km 이내 3곳)
+			- greeting (인사), thanks (감사 표현) → answer: 반려견 이름을 넣은 친근한 한두 문장
+			- unknown (알 수 없음) → answer: 대답할 수 없는 질문이라는 한 문장
+
+			📌 **현재 환경 데이터:**
+			- 날씨 상태: {{weather}}
+			- 기온: {{temperature}}°C
+			- 미세먼지(PM10): {{pm10}} µg/m³ / 초미세먼지(PM2.5): {{pm25}} µg/m³
+			- 현재 위치: 위도 {{latitude}}, 경도 {{longitude}}
+			📌 **반려견 정보:** 이름 {{pet_name}}, 견종 {{pet_breed}}, 나이 {{pet_age}}살, 무게 {{pet_weight}}kg
+
+			응답에는 반드시 반려견 이름을 포함하고, 미세먼지 '나쁨' 수준이면 외출 자제와 실내 활동을 안내하세요.
+			문장: "{{message}}"
+			""");
+
+		// 이전 대화가 있는 산책/날씨/옷 질문: 전체 환경 데이터 대신 한 줄 요약 + 이전 대화, intent별 지시와 응답 형식은 유지
+		register(followup("walk_check"), DEFAULT_VERSION, """
+			당신은 반려견 산책 추천 AI입니다. 이전 대화에 이어 **{{pet_name}}**의 산책 가능 여부를 판단하세요. **반드시 JSON 형식으로만 답변하세요.**
+			📌 {{pet_name}}({{pet_breed}}, {{pet_age}}살, {{pet_weight}}kg) / 날씨 {{weather}}, 기온 {{temperature}}°C, PM10 {{pm10}}µg/m³, PM2.5 {{pm25}}µg/m³
+			📌 이전 대화:
+			{{history}}
+			응답에 반드시 반려견 이름을 포함하고, 산책 추천 또는 비추천 사유에 기온, PM10, PM2.5 수치를 모두 포함하세요.
+			{ "recommendation": "산책 추천 또는 비추천", "reason": "산책 추천 또는 비추천 사유", "safety_tips": ["산책 시 유의 사항"] }
+			문장: "{{message}}"
+			""");
+
+		register(followup("weather_info"), DEFAULT_VERSION, """
+			당신은 반려견 산책 추천 AI입니다. 이전 대화에 이어 미세먼지 상태를 '좋음', '보통', '나쁨'으로 분류하고 산책 추천 여부를 판단하세요.
+			📌 {{pet_name}}({{pet_breed}}, {{pet_age}}살, {{pet_weight}}kg) / 날씨 {{weather}}, 기온 {{temperature}}°C, PM10 {{pm10}}µg/m³, PM2.5 {{pm25}}µg/m³
+			📌 이전 대화:
+			{{history}}
+			⚠️ 미세먼지 수치가 '나쁨' 수준이면 외출을 자제하라고 안내하고, 실내 활동을 추천해 주세요.
+			✅ 응답은 반드시 아래 JSON 형식으로만 제공해주세요:
+			{ "recommendation": "미세먼지 상태(좋음/보통/나쁨)", "reason": "정확한 미세먼지 수치 기반의 판단 및 설명", "safety_tips": ["산책 시 유의 사항 또는 실내 활동 팁"] }
+			문장: "{{message}}"
+			""");
+
+		register(followup("cloth_recommend"), DEFAULT_VERSION, """
+			당신은 반려견 산책 추천 AI입니다. 이전 대화에 이어 반려견이 외출 시 옷을 입어야 하는지 날씨와 견종, 체중을 고려해 판단하세요. **반드시 JSON 형식으로만 답변하세요.**
+			📌 {{pet_name}}({{pet_breed}}, {{pet_age}}살, {{pet_weight}}kg) / 날씨 {{weather}}, 기온 {{temperature}}°C, PM10 {{pm10}}µg/m³, PM2.5 {{pm25}}µg/m³
+			📌 이전 대화:
+			{{history}}
+			응답에 반드시 반려견 이름 {{pet_name}}을 포함하고, 옷입히기 추천 또는 비추천 사유에 기온, PM10, PM2.5 수치를 모두 포함하세요.
+			{ "recommendation": "옷 입히기 추천 또는 비추천", "reason": "옷 입히기 추천 또는 비추천 사유", "safety_tips": ["산책 시 유의 사항"] }
+			문장: "{{message}}"
+			""");
+
+		// 답변 프롬프트가 없는 intent (thanks, unknown)
+		register(UNKNOWN, DEFAULT_VERSION, "대답할 수 없는 질문이라고 한 문장으로 말해.");
+	}
+}
@@ -0,0 +1,135 @@
+// PromptVariable: 프롬프트 템플릿의 {{변수}} 자리에 들어가는 값과 출력 형식 (기존 String.format 형식과 동일)
+package org.example.gangazido_be.llm.prompt;
+
+import org.example.gangazido_be.llm.model.ChatContext;
+
+public enum PromptVariable {
+	PET_NAME("pet_name") {
+		@Override
+		void append(StringBuilder sb, ChatContext context, String message, String history) {
+			sb.append(context.getPetName());
+		}
+	},
+	PET_BREED("pet_breed") {
+		@Override
+		void append(StringBuilder sb, ChatContext context, String message, String history) {
+			sb.append(context.getPetBreed());
+		}
+	},
+	PET_AGE("pet_age") { // %d
+		@Override
+		void append(StringBuilder sb, ChatContext context, String message, String history) {
+			sb.append(context.getPetAge());
+		}
+	},
+	PET_WEIGHT("pet_weight") { // %.1f
+		@Override
+		void append(StringBuilder sb, ChatContext context, String message, String history) {
+			appendFixed(sb, context.getPetWeight(), 1);
+		}
+	},
+	WEATHER("weather") {
+		@Override
+		void append(StringBuilder sb, ChatContext context, String message, String history) {
+			sb.append(context.getWeatherCondition());
+		}
+	},
+	TEMPERATURE("temperature") { // %.1f
+		@Override
+		void append(StringBuilder sb, ChatContext context, String message, String history) {
+			appendFixed(sb, context.getTemperature(), 1);
+		}
+	},
+	PM10("pm10") { // %.1f
+		@Override
+		void append(StringBuilder sb, ChatContext context, String message, String history) {
+			appendFixed(sb, context.getPm10(), 1);
+		}
+	},
+	PM25("pm25") { // %.1f
+		@Override
+		void append(StringBuilder sb, ChatContext context, String message, String history) {
+			appendFixed(sb, context.getPm25(), 1);
+		}
+	},
+	LATITUDE("latitude") { // %.6f
+		@Override
+		void append(StringBuilder sb, ChatContext context, String message, String history) {
+			appendFixed(sb, context.getLatitude(), 6);
+		}
+	},
+	LONGITUDE("longitude") { // %.6f
+		@Override
+		void append(StringBuilder sb, ChatContext context, String message, String history) {
+			appendFixed(sb, context.getLongitude(), 6);
+		}
+	},
+	MESSAGE("message") {
+		@Override
+		void append(StringBuilder sb, ChatContext context, String message, String history) {
+			sb.append(message);
+		}
+	},
+	HISTORY("history") { // 이전 대화 요약 (ConversationMemory)
+		@Override
+		void append(StringBuilder sb, ChatContext context, String message, String history) {
+			sb.append(history);
+		}
+	};
+
+	private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L};
+
+	private final String key;
+
+	PromptVariable(String key) {
+		this.key = key;
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	abstract void append(StringBuilder sb, ChatContext context, String message, String history);
+
+	// 템플릿 안의 변수 이름으로 찾기 (없으면 null)
+	public static PromptVariable ofKey(String key) {
+		for (PromptVariable variable : values()) {
+			if (variable.key.equals(key)) {
+				return variable;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * ✅ String.format("%.Nf")와 같은 결과를 중간 문자열/Formatter 생성 없이 StringBuilder에 바로 기록
+	 * - Formatter는 Double.toString의 10진수 값을 HALF_UP으로 반올림하므로, 이진 값이 반올림 경계(.5)에
+	 *   오차 범위만큼 가까우면 결과가 다를 수 있음 → 그 경우만 String.format 사용 (예: 33.4913385, %.6f)
+	 * - 음수가 0으로 반올림되면 "-0.0" (Formatter와 동일)
+	 */
+	static void appendFixed(StringBuilder sb, double value, int digits) {
+		long scale = POWERS_OF_TEN[digits];
+		double abs = Math.abs(value);
+		double shifted = abs * scale;
+		if (Double.isNaN(value) || Double.isInfinite(value) || shifted >= 1e15 || isNearHalf(abs, shifted, scale)) {
+			sb.append(String.format("%." + digits + "f", value)); // 드문 경우는 기존 방식 사용
+			return;
+		}
+		if (Math.copySign(1.0, value) < 0) {
+			sb.append('-');
+		}
+		long scaled = Math.round(shifted);
+		sb.append(scaled / scale).append('.');
+		long fraction = scaled % scale;
+		for (long pad = scale / 10; pad > 1 && fraction < pad; pad /= 10) {
+			sb.append('0');
+		}
+		sb.append(fraction);
+	}
+
+	// 이진 값과 10진수 표현의 차이(ulp) + 곱셈 오차보다 반올림 경계에 가까운지
+	private static boolean isNearHalf(double abs, double shifted, long scale) {
+		double distance = Math.abs(shifted - Math.floor(shifted) - 0.5);
+		return distance <= scale * Math.ulp(abs) + Math.ulp(shifted);
+	}
+}
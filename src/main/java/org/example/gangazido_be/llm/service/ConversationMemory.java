@@ -0,0 +1,130 @@
+// ConversationMemory: 세션별 최근 대화를 Redis에 짧게 보관해, 이어지는 질문에 전체 컨텍스트 대신 요약된 이전 대화를 보내기 위한 저장소
+package org.example.gangazido_be.llm.service;
+
+import org.example.gangazido_be.llm.config.LlmConfig;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class ConversationMemory {
+	private static final String KEY_PREFIX = "llm:conversation:";
+	private static final String USER_PREFIX = "U:";
+	private static final String ASSISTANT_PREFIX = "A:";
+	private static final int MAX_ENTRY_CHARS = 60; // 한 발화를 저장할 때 최대 글자 수
+
+	private final RedisTemplate<String, String> redisTemplate;
+	private final LlmConfig llmConfig;
+
+	public ConversationMemory(RedisTemplate<String, String> redisTemplate, LlmConfig llmConfig) {
+		this.redisTemplate = redisTemplate;
+		this.llmConfig = llmConfig;
+	}
+
+	/**
+	 * ✅ 이전 대화 요약 조회
+	 * - 최근 발화부터 memory-max-tokens 안에 들어오는 만큼만 "사용자: ... / AI: ..." 형식으로 반환
+	 * - 기록이 없거나 Redis 장애 시 null (전체 컨텍스트 프롬프트 사용)
+	 */
+	public String loadHistory(String sessionId) {
+		if (!llmConfig.isMemoryEnabled() || sessionId == null) {
+			return null;
+		}
+
+		List<String> entries;
+		try {
+			entries = redisTemplate.opsForList().range(KEY_PREFIX + sessionId, 0, -1);
+		} catch (Exception e) {
+			System.err.println("[WARN] 대화 기록 조회 실패: " + e.getMessage());
+			return null;
+		}
+		return formatHistory(entries, llmConfig.getMemoryMaxTokens());
+	}
+
+	// ✅ 이번 질문과 답변 요약을 추가하고 최근 memory-max-turns 턴만 남김 (TTL 갱신)
+	public void append(String sessionId, String message, String answer) {
+		if (!llmConfig.isMemoryEnabled() || sessionId == null || message == null || answer == null) {
+			return;
+		}
+
+		String key = KEY_PREFIX + sessionId;
+		try {
+			redisTemplate.opsForList().rightPushAll(key, userEntry(message), assistantEntry(answer));
+			redisTemplate.opsForList().trim(key, -2L * llmConfig.getMemoryMaxTurns(), -1);
+			redisTemplate.expire(key, llmConfig.getMemoryTtlSeconds(), TimeUnit.SECONDS);
+		} catch (Exception e) {
+			System.err.println("[WARN] 대화 기록 저장 실패: " + e.getMessage());
+		}
+	}
+
+	static String userEntry(String message) {
+		return USER_PREFIX + truncate(message.trim());
+	}
+
+	static String assistantEntry(String answer) {
+		return ASSISTANT_PREFIX + summarizeAnswer(answer);
+	}
+
+	// 저장된 발화 목록을 최근 것부터 토큰 예산(한글 기준 글자 수 ≈ 토큰 수) 안에서 잘라 시간 순으로 반환
+	static String formatHistory(List<String> entries, int maxTokens) {
+		if (entries == null || entries.isEmpty()) {
+			return null;
+		}
+
+		Deque<String> lines = new ArrayDeque<>();
+		int used = 0;
+		for (int i = entries.size() - 1; i >= 0; i--) {
+			String entry = entries.get(i);
+			String line = (entry.startsWith(USER_PREFIX) ? "사용자: " : "AI: ") + entry.substring(2);
+			if (used + line.length() > maxTokens) {
+				break;
+			}
+			lines.addFirst(line);
+			used += line.length() + 1;
+		}
+		return lines.isEmpty() ? null : String.join("\n", lines);
+	}
+
+	/**
+	 * ✅ 답변을 다음 프롬프트에 넣을 짧은 요약으로 변환
+	 * - 추천 JSON: 추천 결과만 (수치는 followup 프롬프트에 현재 값으로 다시 들어감), 산책로 JSON: 장소 이름 목록, 그 외: 앞부분만
+	 */
+	static String summarizeAnswer(String answer) {
+		String trimmed = answer.trim();
+		int start = trimmed.indexOf('{');
+		int end = trimmed.lastIndexOf('}');
+		if (start != -1 && start < end) {
+			try {
+				JSONObject json = new JSONObject(trimmed.substring(start, end + 1));
+				if (json.has("recommendation")) {
+					return truncate(json.optString("recommendation"));
+				}
+				JSONArray routes = json.optJSONArray("routes");
+				if (routes != null) {
+					StringBuilder names = new StringBuilder("산책로 추천:");
+					for (int i = 0; i < routes.length(); i++) {
+						JSONObject route = routes.optJSONObject(i);
+						if (route != null) {
+							names.append(' ').append(route.optString("name"));
+						}
+					}
+					return truncate(names.toString());
+				}
+			} catch (Exception e) {
+				// JSON이 아니면 일반 문장으로 처리
+			}
+		}
+		return truncate(trimmed);
+	}
+
+	private static String truncate(String text) {
+		String singleLine = text.replace('\n', ' ');
+		return singleLine.length() <= MAX_ENTRY_CHARS ? singleLine : singleLine.substring(0, MAX_ENTRY_CHARS) + "…";
+	}
+}
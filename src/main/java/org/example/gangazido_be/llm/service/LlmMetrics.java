@@ -0,0 +1,91 @@
+// LlmMetrics: /v1/llm 대화 생성 단계별 소요 시간과 GPT 토큰 사용량을 Micrometer(Prometheus)로 기록
+package org.example.gangazido_be.llm.service;
+
+import org.example.gangazido_be.gpt.dto.GptCompletion;
+import org.example.gangazido_be.gpt.dto.GptRoute;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+public class LlmMetrics {
+	private final MeterRegistry meterRegistry;
+
+	public LlmMetrics(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	public StageTimer startTimer() {
+		return new StageTimer();
+	}
+
+	/**
+	 * ✅ 요청 하나의 단계별 시간(llm.chat.stage)과 전체 시간(llm.chat)을 기록
+	 * - 반려견/날씨 조회처럼 intent를 알기 전에 끝난 단계도 최종 intent로 태그
+	 */
+	public void recordChat(StageTimer timer, String intent, String mode) {
+		for (Map.Entry<String, Long> stage : timer.stages.entrySet()) {
+			Timer.builder("llm.chat.stage")
+				.description("대화 생성 단계별 소요 시간")
+				.tag("stage", stage.getKey())
+				.tag("intent", intent)
+				.publishPercentileHistogram()
+				.register(meterRegistry)
+				.record(Duration.ofNanos(stage.getValue()));
+		}
+		Timer.builder("llm.chat")
+			.description("대화 생성 전체 소요 시간")
+			.tag("intent", intent)
+			.tag("mode", mode)
+			.publishPercentileHistogram()
+			.register(meterRegistry)
+			.record(Duration.ofNanos(System.nanoTime() - timer.startedAt));
+	}
+
+	/**
+	 * ✅ GPT 호출 한 번의 토큰 사용량
+	 * - stage: intent / answer / single_call / stream, promptVersion: 프롬프트 A/B 비교용
+	 * - route, model: 호출 종류별 모델/파라미터 변경 효과 비교용
+	 */
+	public void recordTokens(String stage, String intent, String promptVersion, GptRoute route,
+		GptCompletion completion) {
+		if (completion == null) {
+			return;
+		}
+		countTokens(stage, intent, promptVersion, route, "prompt", completion.promptTokens());
+		countTokens(stage, intent, promptVersion, route, "completion", completion.completionTokens());
+	}
+
+	private void countTokens(String stage, String intent, String promptVersion, GptRoute route, String type,
+		int tokens) {
+		Counter.builder("llm.gpt.tokens")
+			.description("OpenAI usage 기준 토큰 사용량")
+			.tag("stage", stage)
+			.tag("intent", intent)
+			.tag("prompt_version", promptVersion)
+			.tag("route", route.name())
+			.tag("model", route.model())
+			.tag("type", type)
+			.register(meterRegistry)
+			.increment(tokens);
+	}
+
+	// 단계가 끝날 때마다 lap(stage)을 호출해 직전 lap 이후 걸린 시간을 저장
+	public static final class StageTimer {
+		private final long startedAt = System.nanoTime();
+		private final Map<String, Long> stages = new LinkedHashMap<>();
+		private long lapStartedAt = startedAt;
+
+		public void lap(String stage) {
+			long now = System.nanoTime();
+			stages.merge(stage, now - lapStartedAt, Long::sum);
+			lapStartedAt = now;
+		}
+	}
+}
@@ -0,0 +1,224 @@
+// LlmResponseCache: 같은 의도 + 비슷한 날씨/반려견 조건의 GPT 답변을 Redis에 잠시 저장해 재사용하는 캐시
+package org.example.gangazido_be.llm.service;
+
+import org.example.gangazido_be.gpt.dto.GptCompletion;
+import org.example.gangazido_be.llm.config.LlmConfig;
+import org.example.gangazido_be.llm.model.AirQualityGrade;
+import org.example.gangazido_be.llm.model.ChatContext;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Component
+public class LlmResponseCache {
+	private static final String KEY_PREFIX = "llm:response:";
+
+	// ✅ 캐시된 답변 안에서 요청마다 달라지는 값을 표시하는 자리표시자
+	private static final String PET_NAME_PLACEHOLDER = "{{pet_name}}";
+	private static final String TEMPERATURE_PLACEHOLDER = "{{temperature}}";
+	private static final String PM10_PLACEHOLDER = "{{pm10}}";
+	private static final String PM25_PLACEHOLDER = "{{pm25}}";
+
+	// ✅ 답변이 문장 자체가 아니라 날씨/반려견 조건으로만 결정되는 intent (메시지 분류 = intent)
+	private static final Set<String> CONTEXT_INTENTS = Set.of("walk_check", "weather_info", "cloth_recommend");
+	// ✅ 짧은 인사처럼 정규화한 문장별로 캐시하는 intent
+	private static final Set<String> MESSAGE_INTENTS = Set.of("greeting", "thanks");
+	// recommend_route(위치별 결과), unknown은 캐시하지 않음
+
+	// ✅ 저장 값 첫 줄: 답변을 만들 때 쓴 OpenAI usage ("#tokens:프롬프트,응답"), 둘째 줄부터 답변 템플릿
+	private static final String TOKENS_HEADER = "#tokens:";
+
+	private static final double TEMPERATURE_BAND = 3.0; // 기온 구간 크기 (°C)
+
+	// ✅ 이름 뒤에 붙을 수 있는 조사 ("콩이가", "콩은", "콩이랑") - 이름 + 조사 뒤가 단어 경계일 때만 이름으로 판단
+	private static final String NAME_SUFFIX = "이?(?:가|는|은|를|을|와|과|의|에게|한테|랑|도|만|야|아|에|께)?";
+	private static final String WORD_CHAR = "[\\p{L}\\p{N}]";
+
+	private final RedisTemplate<String, String> redisTemplate;
+	private final LlmConfig llmConfig;
+	private final Counter hitCounter;
+	private final Counter missCounter;
+	private final Counter savedPromptTokensCounter;
+	private final Counter savedCompletionTokensCounter;
+
+	public LlmResponseCache(RedisTemplate<String, String> redisTemplate, LlmConfig llmConfig,
+		MeterRegistry meterRegistry) {
+		this.redisTemplate = redisTemplate;
+		this.llmConfig = llmConfig;
+		this.hitCounter = Counter.builder("llm.response.cache.requests").tag("result", "hit")
+			.description("LLM 응답 캐시 조회 결과").register(meterRegistry);
+		this.missCounter = Counter.builder("llm.response.cache.requests").tag("result", "miss")
+			.description("LLM 응답 캐시 조회 결과").register(meterRegistry);
+		this.savedPromptTokensCounter = savedTokensCounter("prompt", meterRegistry);
+		this.savedCompletionTokensCounter = savedTokensCounter("completion", meterRegistry);
+	}
+
+	// llm.gpt.tokens와 같은 단위/type 태그로 캐시가 아낀 OpenAI 토큰 수 기록
+	private static Counter savedTokensCounter(String type, MeterRegistry meterRegistry) {
+		return Counter.builder("llm.response.cache.saved.tokens")
+			.description("캐시 적중으로 OpenAI에 보내지 않은 토큰 수 (저장 당시 usage 기준)")
+			.tag("type", type)
+			.register(meterRegistry);
+	}
+
+	/**
+	 * ✅ 캐시 키 생성
+	 * - intent, 프롬프트 버전, 메시지 분류, 견종, 체급, 날씨 상태, 기온 구간, PM10/PM2.5 등급으로 구성
+	 *   (A/B 프롬프트 버전끼리 답변을 섞어 쓰지 않도록 버전 포함)
+	 * - 캐시 대상이 아닌 intent면 null
+	 */
+	public String buildKey(String intent, String promptVersion, String message, ChatContext context) {
+		if (!llmConfig.isCacheEnabled()) {
+			return null;
+		}
+
+		String messageClass;
+		if (CONTEXT_INTENTS.contains(intent)) {
+			messageClass = intent;
+		} else if (MESSAGE_INTENTS.contains(intent)) {
+			messageClass = normalizeMessage(message);
+			if (messageClass.isEmpty()) {
+				return null;
+			}
+		} else {
+			return null;
+		}
+
+		return KEY_PREFIX + intent +
+			":" + promptVersion +
+			":" + messageClass +
+			":" + context.getPetBreed() +
+			":" + sizeBucket(context.getPetWeight()) +
+			":" + context.getWeatherCondition() +
+			":" + (int)Math.floor(context.getTemperature() / TEMPERATURE_BAND) +
+			":" + AirQualityGrade.ofPm10(context.getPm10()).name() +
+			":" + AirQualityGrade.ofPm25(context.getPm25()).name();
+	}
+
+	/**
+	 * ✅ 캐시 조회 후 자리표시자를 현재 반려견 이름과 실제 수치로 치환하여 반환 (없으면 null)
+	 * - Redis 장애 시에는 캐시 미스로 처리
+	 * - 적중 시 저장해 둔 usage만큼 아낀 토큰 수 기록
+	 */
+	public String get(String key, ChatContext context) {
+		if (key == null) {
+			return null;
+		}
+
+		String stored;
+		try {
+			stored = redisTemplate.opsForValue().get(key);
+		} catch (Exception e) {
+			System.err.println("[WARN] LLM 응답 캐시 조회 실패: " + e.getMessage());
+			return null;
+		}
+
+		if (stored == null) {
+			missCounter.increment();
+			return null;
+		}
+
+		hitCounter.increment();
+		String template = stored;
+		if (stored.startsWith(TOKENS_HEADER)) {
+			int newline = stored.indexOf('\n');
+			String[] tokens = stored.substring(TOKENS_HEADER.length(), newline).split(",");
+			savedPromptTokensCounter.increment(Integer.parseInt(tokens[0]));
+			savedCompletionTokensCounter.increment(Integer.parseInt(tokens[1]));
+			template = stored.substring(newline + 1);
+		}
+		return template
+			.replace(PET_NAME_PLACEHOLDER, context.getPetName())
+			.replace(TEMPERATURE_PLACEHOLDER, formatValue(context.getTemperature()))
+			.replace(PM10_PLACEHOLDER, formatValue(context.getPm10()))
+			.replace(PM25_PLACEHOLDER, formatValue(context.getPm25()));
+	}
+
+	// ✅ 반려견 이름과 수치를 자리표시자로 바꾼 뒤 토큰 사용량과 함께 TTL을 두고 저장
+	public void put(String key, GptCompletion completion, ChatContext context) {
+		if (key == null || completion == null || completion.content() == null || completion.content().isEmpty()) {
+			return;
+		}
+
+		String template = toTemplate(completion.content(), context);
+		if (template == null) {
+			return;
+		}
+
+		String value = TOKENS_HEADER + completion.promptTokens() + "," + completion.completionTokens() + "\n" + template;
+		try {
+			redisTemplate.opsForValue().set(key, value, llmConfig.getCacheTtlSeconds(), TimeUnit.SECONDS);
+		} catch (Exception e) {
+			System.err.println("[WARN] LLM 응답 캐시 저장 실패: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * ✅ 답변 속 반려견 이름과 수치를 자리표시자로 치환
+	 * - 단어/숫자 단위로만 치환 ("콩"은 "콩나물" 안에서, "1.0"은 "21.0" 안에서 치환하지 않음)
+	 * - 기온/PM10/PM2.5가 같은 문자열이면 어느 값인지 구분할 수 없으므로 캐시하지 않음 (null)
+	 */
+	String toTemplate(String response, ChatContext context) {
+		Map<String, String> values = new LinkedHashMap<>();
+		values.put(formatValue(context.getTemperature()), TEMPERATURE_PLACEHOLDER);
+		if (values.putIfAbsent(formatValue(context.getPm10()), PM10_PLACEHOLDER) != null ||
+			values.putIfAbsent(formatValue(context.getPm25()), PM25_PLACEHOLDER) != null) {
+			return null;
+		}
+
+		String template = response;
+		String petName = context.getPetName();
+		if (petName != null && !petName.isBlank()) {
+			template = Pattern.compile("(?<!" + WORD_CHAR + ")" + Pattern.quote(petName) +
+					"(?=" + NAME_SUFFIX + "(?!" + WORD_CHAR + "))")
+				.matcher(template)
+				.replaceAll(Matcher.quoteReplacement(PET_NAME_PLACEHOLDER));
+		}
+		for (Map.Entry<String, String> value : values.entrySet()) {
+			template = Pattern.compile("(?<![\\d.])" + Pattern.quote(value.getKey()) + "(?![\\d])")
+				.matcher(template)
+				.replaceAll(Matcher.quoteReplacement(value.getValue()));
+		}
+		return template;
+	}
+
+	// 공백, 문장부호를 제거하고 소문자로 변환 ("안녕!!" == "안녕")
+	private String normalizeMessage(String message) {
+		if (message == null) {
+			return "";
+		}
+		StringBuilder normalized = new StringBuilder(message.length());
+		for (int i = 0; i < message.length(); i++) {
+			char c = message.charAt(i);
+			if (Character.isLetterOrDigit(c)) {
+				normalized.append(Character.toLowerCase(c));
+			}
+		}
+		return normalized.toString();
+	}
+
+	// 체중 기준 체급 (소형 / 중형 / 대형)
+	private String sizeBucket(double weight) {
+		if (weight < 10) {
+			return "small";
+		}
+		if (weight < 25) {
+			return "medium";
+		}
+		return "large";
+	}
+
+	// 프롬프트와 같은 형식(소수점 첫째 자리)으로 수치를 문자열화
+	private String formatValue(double value) {
+		return String.format("%.1f", value);
+	}
+}
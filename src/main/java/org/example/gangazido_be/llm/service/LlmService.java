@@ -3,19 +3,32 @@
 // ✅ LlmService: GPT 기반 반려견 산책 추천 및 대화 생성 서비스
 package org.example.gangazido_be.llm.service;
 
+import org.example.gangazido_be.llm.config.LlmConfig;
+import org.example.gangazido_be.llm.exception.LlmException;
+import org.example.gangazido_be.llm.model.ChatContext;
+import org.example.gangazido_be.llm.prompt.PromptTemplate;
+import org.example.gangazido_be.llm.prompt.PromptTemplateRegistry;
 import org.example.gangazido_be.pet.repository.PetRepository;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.example.gangazido_be.llm.model.LlmResponse;
+import org.example.gangazido_be.gpt.dto.GptCompletion;
+import org.example.gangazido_be.gpt.dto.GptRoute;
+import org.example.gangazido_be.gpt.dto.WeatherSnapshot;
+import org.example.gangazido_be.gpt.exception.GptAdmissionException;
+import org.example.gangazido_be.gpt.exception.UpstreamUnavailableException;
+import org.example.gangazido_be.gpt.service.GptPriority;
 import org.example.gangazido_be.gpt.service.GptService;
 import org.example.gangazido_be.gpt.service.WeatherService;
 import org.example.gangazido_be.pet.entity.Pet;
 import org.springframework.stereotype.Service;
+import org.json.JSONArray;
 import org.json.JSONObject;
 
-import jakarta.servlet.http.HttpServletRequest;
-
+import java.io.UncheckedIOException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 // ✅ 이 클래스가 Spring의 Service Bean으로 등록됨
 @Service
@@ -23,12 +36,41 @@ public class LlmService {
 	private final GptService gptService; // ✅ GPT API를 호출하는 서비스
 	private final WeatherService weatherService; // ✅ 날씨 데이터를 가져오는 서비스
 	private final PetRepository petRepository; // ✅ 반려견 정보를 DB에서 조회하는 Repository
+	private final LlmConfig llmConfig; // ✅ 대화 생성 방식(chat-mode) 등 LLM 설정
+	private final LlmResponseCache llmResponseCache; // ✅ 비슷한 조건의 GPT 답변 캐시
+	private final WalkSuitabilityEngine walkSuitabilityEngine; // ✅ 규칙 기반 산책 적합도 엔진
+	private final LlmMetrics llmMetrics; // ✅ 단계별 소요 시간, 토큰 사용량 메트릭
+	private final PromptTemplateRegistry promptTemplateRegistry; // ✅ 미리 컴파일된 프롬프트 템플릿 (버전/A/B 선택)
+	private final ConversationMemory conversationMemory; // ✅ 세션별 이전 대화 요약
+
+	private static final String SINGLE_CALL_MODE = "single_call";
+	// ✅ 단일 호출 응답에서 허용하는 intent 목록
+	private static final Set<String> SUPPORTED_INTENTS = Set.of(
+		"walk_check", "recommend_route", "weather_info", "greeting", "thanks", "cloth_recommend", "unknown");
+	// ✅ answer가 recommendation/reason/safety_tips 형식의 JSON이어야 하는 intent 목록
+	private static final Set<String> RECOMMENDATION_INTENTS = Set.of("walk_check", "weather_info", "cloth_recommend");
 
 	// ✅ 생성자 주입 방식으로 의존성 주입 (Spring이 자동으로 관리)
-	public LlmService(GptService gptService, WeatherService weatherService, PetRepository petRepository) {
+	public LlmService(GptService gptService, WeatherService weatherService, PetRepository petRepository,
+		LlmConfig llmConfig, LlmResponseCache llmResponseCache, WalkSuitabilityEngine walkSuitabilityEngine,
+		LlmMetrics llmMetrics, PromptTemplateRegistry promptTemplateRegistry, ConversationMemory conversationMemory) {
 		this.gptService = gptService;
 		this.weatherService = weatherService;
 		this.petRepository = petRepository;
+		this.llmConfig = llmConfig;
+		this.llmResponseCache = llmResponseCache;
+		this.walkSuitabilityEngine = walkSuitabilityEngine;
+		this.llmMetrics = llmMetrics;
+		this.promptTemplateRegistry = promptTemplateRegistry;
+		this.conversationMemory = conversationMemory;
+
+		// 설정 오타로 route가 무시되지 않도록 시작 시 검증
+		for (String routeName : llmConfig.getRoutes().keySet()) {
+			if (!SUPPORTED_INTENTS.contains(routeName) && !PromptTemplateRegistry.INTENT.equals(routeName) &&
+				!PromptTemplateRegistry.SINGLE_CALL.equals(routeName)) {
+				throw new IllegalStateException("알 수 없는 llm.routes 이름: " + routeName);
+			}
+		}
 	}
 
 	/**
@@ -36,70 +78,246 @@ public class LlmService {
 	 * - 세션에서 사용자 ID를 가져와 반려견 정보를 조회
 	 * - OpenWeather API를 호출하여 날씨 및 공기질 정보를 가져옴
 	 * - 반려견 정보 + 날씨 데이터를 조합하여 GPT에 질문을 보내 응답을 생성
+	 * - ruleBased가 true면 GPT를 호출하지 않고 규칙 기반 엔진으로 바로 응답
+	 * - sessionId(HttpSession ID) 기준으로 이전 대화를 기억해 이어지는 질문은 짧은 프롬프트로 처리
 	 */
 
 	//세션 id 받아오기
 	@SuppressWarnings("checkstyle:OperatorWrap")
-	public ResponseEntity<LlmResponse> generateChat(Integer sessionUserId, HttpServletRequest request, double latitude,
-		double longitude, String message) {
+	public ResponseEntity<LlmResponse> generateChat(Integer sessionUserId, String sessionId, double latitude,
+		double longitude, String message, boolean ruleBased) {
 
-		// 🐶 반려견 정보 조회
-		Optional<Pet> pets;
+		LlmMetrics.StageTimer timer = llmMetrics.startTimer();
+		ChatContext context;
 		try {
-			pets = petRepository.findByUserId(sessionUserId);
-			if (pets.isEmpty()) {
-				return ResponseEntity.status(HttpStatus.NOT_FOUND)
-					.body(new LlmResponse("not_found_pet", "반려견 정보를 찾을 수 없습니다."));
+			context = loadChatContext(sessionUserId, latitude, longitude, timer);
+		} catch (LlmException e) {
+			llmMetrics.recordChat(timer, "none", "error");
+			return ResponseEntity.status(e.getStatus()).body(e.toLlmResponse());
+		}
+
+		// ✅ 규칙 기반 빠른 응답 (클라이언트가 선택한 경우)
+		if (ruleBased) {
+			String ruleIntent = guessRuleIntent(message);
+			String answer = walkSuitabilityEngine.toAnswerJson(ruleIntent, walkSuitabilityEngine.evaluate(context));
+			timer.lap("rule_engine");
+			return completeChat(timer, ruleIntent, "rule_based", answer);
+		}
+
+		// ✅ OpenAI 서킷 브레이커가 열려 있으면 기다리지 않고 규칙 기반 산책 추천으로 응답
+		if (!gptService.isAvailable()) {
+			return createFallbackResponse(context, timer);
+		}
+
+		ResponseEntity<LlmResponse> response;
+		try {
+			response = generateGptChat(sessionUserId, sessionId, message, context, timer);
+		} catch (UpstreamUnavailableException e) {
+			return createFallbackResponse(context, timer);
+		} catch (GptAdmissionException e) {
+			// ✅ OpenAI 한도 대기열에서 거절되면 기다리지 않고 바로 503 응답
+			System.err.println("[WARN] llm_server_busy: " + e.getMessage());
+			llmMetrics.recordChat(timer, "none", "shed");
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new LlmResponse("llm_server_busy"));
+		}
+		if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+			conversationMemory.append(sessionId, message, response.getBody().getResponse());
+		}
+		return response;
+	}
+
+	private ResponseEntity<LlmResponse> generateGptChat(Integer userId, String sessionId, String message,
+		ChatContext context, LlmMetrics.StageTimer timer) {
+		// ✅ single_call 모드: 의도 판단과 답변 생성을 한 번의 GPT 호출로 처리
+		if (SINGLE_CALL_MODE.equals(llmConfig.getChatMode())) {
+			PromptTemplate singleCallTemplate = promptTemplateRegistry.select(PromptTemplateRegistry.SINGLE_CALL, userId);
+			SingleCallAnswer answer = generateSingleCallAnswer(singleCallTemplate, message, context);
+			timer.lap("single_call_gpt");
+			if (answer != null) {
+				return completeChat(timer, answer.intent(), SINGLE_CALL_MODE, answer.answer());
 			}
-		} catch (Exception e) {
-			System.err.println("[ERROR] failed_to_get_pet_info: " + e.getMessage());
-			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-				.body(new LlmResponse("failed_to_get_pet_info", "서버 오류로 인해 반려견 정보를 가져올 수 없습니다."));
+			// 스키마 검증 실패 시 기존 2회 호출 방식으로 재시도
+			System.err.println("[WARN] single_call 응답 검증 실패, two_call 방식으로 재시도");
 		}
 
-		Pet pet = pets.get();
+		String intent = detectIntent(userId, message);
+		timer.lap("intent_gpt");
+		String history = loadHistory(intent, sessionId);
+		PromptTemplate answerTemplate = selectAnswerTemplate(intent, history, userId);
+		String prompt = createAnswerPrompt(answerTemplate, intent, message, context, history);
+
+		// ✅ 같은 조건의 답변이 캐시에 있으면 GPT 호출 생략 (이전 대화로 만든 답변은 세션마다 다르므로 캐시하지 않음)
+		String cacheKey = history == null ?
+			llmResponseCache.buildKey(intent, answerTemplate.getVersion(), message, context) : null;
+		String cachedResponse = llmResponseCache.get(cacheKey, context);
+		timer.lap("cache_lookup");
+		if (cachedResponse != null) {
+			return completeChat(timer, intent, "cache_hit", cachedResponse);
+		}
+
+		// 🔥 GPT 호출
+		GptCompletion completion;
+		String gptResponse;
 
-		// 🌤️ 날씨 정보 가져오기
-		String weatherInfo;
 		try {
-			weatherInfo = weatherService.getWeather(latitude, longitude);
-			if (weatherInfo == null || weatherInfo.isEmpty()) {
-				System.err.println("[ERROR] failed_to_get_weather: 날씨 정보 응답이 비어 있음");
-				return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-					.body(new LlmResponse("failed_to_get_weather", "날씨 정보를 가져오지 못했습니다."));
+			GptRoute route = llmConfig.route(intent);
+			completion = gptService.generateCompletion(prompt, route, GptPriority.forIntent(intent));
+			llmMetrics.recordTokens("answer", intent, answerTemplate.getVersion(), route, completion);
+			gptResponse = completion.content();
+			System.out.println("response: " + gptResponse);  // 🔍 GPT 응답 확인
+
+			if (gptResponse == null || gptResponse.isEmpty()) {
+				throw new Exception("empty_response");
 			}
+		} catch (UpstreamUnavailableException | GptAdmissionException e) {
+			throw e;
 		} catch (Exception e) {
-			System.err.println("[ERROR] failed_to_get_weather: " + e.getMessage());
+			System.err.println("[ERROR]: " + e.getMessage());
+			timer.lap("answer_gpt");
+			llmMetrics.recordChat(timer, intent, "error");
 			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-				.body(new LlmResponse("failed_to_get_weather", "서버 오류로 인해 날씨 정보를 가져올 수 없습니다."));
+				.body(new LlmResponse("failed_to_get_gpt_response"));
 		}
+		timer.lap("answer_gpt");
+
+		llmResponseCache.put(cacheKey, completion, context);
+		return completeChat(timer, intent, "two_call", gptResponse);
 
-		// ✅ 날씨 JSON 데이터 파싱
-		JSONObject weatherJson;
+	}
+
+	// ✅ 단계별 시간 기록 후 성공 응답 반환
+	private ResponseEntity<LlmResponse> completeChat(LlmMetrics.StageTimer timer, String intent, String mode,
+		String answer) {
+		llmMetrics.recordChat(timer, intent, mode);
+		return ResponseEntity.ok(new LlmResponse("llm_success", answer));
+	}
+
+	/**
+	 * ✅ GPT 응답을 스트리밍으로 생성하는 API
+	 * - 반려견/날씨 조회와 의도 판단은 기존과 동일하게 처리하고, 최종 답변만 토큰 단위로 onToken에 전달
+	 * - 조회 단계에서 실패하면 LlmException 발생
+	 */
+	public String streamChat(Integer sessionUserId, String sessionId, double latitude, double longitude,
+		String message, Consumer<String> onToken) {
+		LlmMetrics.StageTimer timer = llmMetrics.startTimer();
+		ChatContext context;
 		try {
-			weatherJson = new JSONObject(weatherInfo);
+			context = loadChatContext(sessionUserId, latitude, longitude, timer);
+		} catch (LlmException e) {
+			llmMetrics.recordChat(timer, "none", "error");
+			throw e;
+		}
+
+		if (!gptService.isAvailable()) {
+			return streamFallback(context, timer, onToken);
+		}
+
+		String intent;
+		try {
+			intent = detectIntent(sessionUserId, message);
+		} catch (UpstreamUnavailableException e) {
+			return streamFallback(context, timer, onToken);
+		} catch (GptAdmissionException e) {
+			throw shed(timer, e);
+		}
+		timer.lap("intent_gpt");
+		String history = loadHistory(intent, sessionId);
+		PromptTemplate answerTemplate = selectAnswerTemplate(intent, history, sessionUserId);
+		String prompt = createAnswerPrompt(answerTemplate, intent, message, context, history);
+
+		// ✅ 캐시 적중 시 전체 답변을 한 번에 전달 (이전 대화가 있으면 캐시 조회/저장 안 함)
+		String cacheKey = history == null ?
+			llmResponseCache.buildKey(intent, answerTemplate.getVersion(), message, context) : null;
+		String cachedResponse = llmResponseCache.get(cacheKey, context);
+		timer.lap("cache_lookup");
+		if (cachedResponse != null) {
+			onToken.accept(cachedResponse);
+			llmMetrics.recordChat(timer, intent, "cache_hit");
+			conversationMemory.append(sessionId, message, cachedResponse);
+			return cachedResponse;
+		}
+
+		try {
+			GptRoute route = llmConfig.route(intent);
+			GptCompletion completion = gptService.streamText(prompt, route, GptPriority.forIntent(intent), onToken);
+			timer.lap("answer_gpt");
+			llmMetrics.recordTokens("stream", intent, answerTemplate.getVersion(), route, completion);
+			llmMetrics.recordChat(timer, intent, "stream");
+			llmResponseCache.put(cacheKey, completion, context);
+			conversationMemory.append(sessionId, message, completion.content());
+			return completion.content();
+		} catch (UncheckedIOException e) {
+			throw e; // 클라이언트 연결 종료 등 전송 실패는 호출한 쪽에서 처리
+		} catch (UpstreamUnavailableException e) {
+			return streamFallback(context, timer, onToken);
+		} catch (GptAdmissionException e) {
+			throw shed(timer, e);
 		} catch (Exception e) {
-			return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-				.body(new LlmResponse("invalid_weather_data"));
+			System.err.println("[ERROR] GPT 스트리밍 실패: " + e.getMessage());
+			timer.lap("answer_gpt");
+			llmMetrics.recordChat(timer, intent, "error");
+			throw new LlmException(HttpStatus.INTERNAL_SERVER_ERROR, "failed_to_get_gpt_response");
 		}
-		//JSONObject json = new JSONObject(response);
+	}
 
-		// ✅ 미세먼지 데이터 추출
-		JSONObject airQualityJson = weatherJson.optJSONObject("air_quality");
-		if (airQualityJson == null) {
-			return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-				.body(new LlmResponse("invalid_air_quality_data"));
+	// ✅ OpenAI 한도 대기열에서 거절된 요청은 503 llm_server_busy로 바로 실패
+	private LlmException shed(LlmMetrics.StageTimer timer, GptAdmissionException e) {
+		System.err.println("[WARN] llm_server_busy: " + e.getMessage());
+		llmMetrics.recordChat(timer, "none", "shed");
+		return new LlmException(HttpStatus.SERVICE_UNAVAILABLE, "llm_server_busy",
+			"요청이 많아 잠시 후 다시 시도해주세요.");
+	}
+
+	private String streamFallback(ChatContext context, LlmMetrics.StageTimer timer, Consumer<String> onToken) {
+		String fallback = createFallbackRecommendation(context);
+		timer.lap("rule_engine");
+		onToken.accept(fallback);
+		llmMetrics.recordChat(timer, "walk_check", "fallback");
+		return fallback;
+	}
+
+	// 🐶 반려견 정보와 🌤️ 날씨 정보를 조회하여 대화 컨텍스트 구성
+	private ChatContext loadChatContext(Integer sessionUserId, double latitude, double longitude,
+		LlmMetrics.StageTimer timer) {
+		// 🐶 반려견 정보 조회
+		Optional<Pet> pets;
+		try {
+			pets = petRepository.findByUserId(sessionUserId);
+			if (pets.isEmpty()) {
+				throw new LlmException(HttpStatus.NOT_FOUND, "not_found_pet", "반려견 정보를 찾을 수 없습니다.");
+			}
+		} catch (LlmException e) {
+			throw e;
+		} catch (Exception e) {
+			System.err.println("[ERROR] failed_to_get_pet_info: " + e.getMessage());
+			throw new LlmException(HttpStatus.INTERNAL_SERVER_ERROR, "failed_to_get_pet_info",
+				"서버 오류로 인해 반려견 정보를 가져올 수 없습니다.");
 		}
 
-		double pm10 = airQualityJson.optDouble("pm10", -1.0);
-		double pm25 = airQualityJson.optDouble("pm2_5", -1.0);
+		Pet pet = pets.get();
+		timer.lap("pet_lookup");
+
+		// 🌤️ 날씨 정보 가져오기 (실패 시 WeatherService가 예외를 던짐)
+		WeatherSnapshot weather;
+		try {
+			weather = weatherService.getWeather(latitude, longitude);
+		} catch (UpstreamUnavailableException e) {
+			System.err.println("[ERROR] failed_to_get_weather: " + e.getMessage());
+			throw new LlmException(HttpStatus.SERVICE_UNAVAILABLE, "failed_to_get_weather",
+				"날씨 서버 장애로 날씨 정보를 가져올 수 없습니다.");
+		} catch (Exception e) {
+			System.err.println("[ERROR] failed_to_get_weather: " + e.getMessage());
+			throw new LlmException(HttpStatus.INTERNAL_SERVER_ERROR, "failed_to_get_weather",
+				"서버 오류로 인해 날씨 정보를 가져올 수 없습니다.");
+		}
 
-		// ✅ 날씨 정보 파싱
-		JSONObject weatherData = weatherJson.optJSONObject("weather");
-		String weatherCondition = (weatherData != null && weatherData.has("condition")) ?
-			convertWeatherToKorean(weatherData.getString("condition")) : "알 수 없음";
+		timer.lap("weather_fetch");
 
-		double temperature = (weatherData != null) ? weatherData.optDouble("temperature", 0.0) : 0.0;
+		double pm10 = weather.pm10();
+		double pm25 = weather.pm25();
+		String weatherCondition = weather.condition() != null ?
+			convertWeatherToKorean(weather.condition()) : "알 수 없음";
+		double temperature = weather.temperature();
 
 		// ✅ 반려견 정보
 		String petName = pet.getName();
@@ -112,31 +330,22 @@ public class LlmService {
 		System.out.println("💨 [미세먼지 PM10]: " + pm10);
 		System.out.println("💨 [초미세먼지 PM2.5]: " + pm25);
 
-		String intentCheckPrompt = String.format(
-			"다음 사용자 문장이 어떤 의도를 가지는지 판단해줘.\n" +
-				"선택지는 다음과 같아:\n" +
-				"- walk_check: 산책 여부 질문\n" +
-				"- recommend_route: 산책로 추천\n" +
-				"- weather_info: 날씨/공기질 질문\n" +
-				"- greeting: 인사, 친근한 말투\n" +
-				"- thanks: 감사 표현\n" +
-				"- cloth_recommend: 옷 추천 관련 질문\n" +   // ⬅️ 이 줄 추가!
-				"- unknown: 알 수 없음\n\n" +
-				"아래 예시처럼 판단해줘:\n" +
-				"Q: '오늘 어디 갈까?' → recommend_route\n" + // ✅ 이 줄 추가!
-				"Q: '산책해도 될까?','오늘 나갈까?' → walk_check\n" +
-				"Q: '미세먼지 어때?','오늘 공기 어때?' → weather_info\n" +
-				"Q: '옷 입혀야 해?' → cloth_recommend\n" +
-				"Q: '안녕!' → greeting\n" +
-				"반드시 JSON 형식으로 응답해. 예시: { \"intent\": \"walk_check\" }\n" +
-				"문장: \"%s\"\n", message
-		);
+		return new ChatContext(pet, petName, petBreed, petAge, petWeight, weatherCondition, temperature, pm10, pm25,
+			latitude, longitude);
+	}
+
+	// ✅ GPT로 사용자 문장의 의도를 판단 (실패 시 unknown)
+	private String detectIntent(Integer userId, String message) {
+		PromptTemplate template = promptTemplateRegistry.select(PromptTemplateRegistry.INTENT, userId);
+		String intentCheckPrompt = template.render(null, message);
 
 		String intentResponse;
 		String intent;
 		try {
 			// GPT 호출 먼저
-			intentResponse = gptService.generateText(intentCheckPrompt);
+			GptRoute route = llmConfig.route(PromptTemplateRegistry.INTENT);
+			GptCompletion completion = gptService.generateCompletion(intentCheckPrompt, route, GptPriority.NORMAL);
+			intentResponse = completion.content();
 
 			// 안전한 JSON 파싱
 			JSONObject intentJson = safeParseJson(intentResponse);
@@ -145,137 +354,119 @@ public class LlmService {
 			} else {
 				intent = intentJson.optString("intent", "unknown");
 			}
+			// 목록에 없는 값은 unknown으로 처리 (메트릭 태그 값도 목록 안으로 제한)
+			if (!SUPPORTED_INTENTS.contains(intent)) {
+				intent = "unknown";
+			}
+			llmMetrics.recordTokens("intent", intent, template.getVersion(), route, completion);
+		} catch (UpstreamUnavailableException | GptAdmissionException e) {
+			throw e; // 서킷 브레이커가 열리면 규칙 기반 응답으로 전환, 대기열에서 거절되면 503
 		} catch (Exception e) {
 			System.err.println("[ERROR] intent 분석 실패: " + e.getMessage());
 			intent = "unknown";
 		}
 
-		String prompt = switch (intent) {
-			case "weather_info" -> createWeatherPrompt(
-				"""
-					당신은 반려견 산책 추천 AI입니다. 아래의 조건에 따라 반려견의 산책 가능 여부를 판단해 주세요.
-
-					📌 반려견 이름은 %s이고, 견종은 %s, 나이는 %d살, 몸무게는 %.1fkg입니다.
-					📌 현재 날씨는 %s이고, 기온은 %.1f°C입니다.
-					📌 미세먼지 상태:
-					- PM10: %.1f µg/m³
-					- PM2.5: %.1f µg/m³
-
-					미세먼지 상태에 따라 '좋음', '보통', '나쁨' 수준으로 분류하고, 반려견의 건강에 미치는 영향과 함께 산책을 추천할지 여부를 판단해주세요.
-
-					⚠️ 만약 미세먼지 수치가 '나쁨' 수준이면 외출을 자제하라고 안내하고, 실내 활동을 추천해 주세요.
-					✅ 응답은 반드시 아래 JSON 형식으로만 제공해주세요:
-
-					{
-					"recommendation": "미세먼지 상태(좋음/보통/나쁨)",
-					"reason": "정확한 미세먼지 수치 기반의 판단 및 설명",
-					"safety_tips": ["산책 시 유의 사항 또는 실내 활동 팁"]
-					}""",
-				petName, petBreed, petAge, petWeight,
-				weatherCondition, temperature, pm10, pm25);
-			case "walk_check" -> createWalkCheckPrompt(
-				"""
-					당신은 반려견 산책 추천 AI입니다. **반드시 JSON 형식으로만 답변하세요.** HTML이나 마크다운, 자연어 문장만 있는 응답은 허용되지 않습니다.\\n 날씨와 대기질, 반려견 정보를 바탕으로 **%s**의 산책 가능 여부를 판단하고, JSON 형식으로 추천 결과를 제공해주세요.
-
-					응답에 반드시 반려견 이름을 포함해주세요.\
-					산책 추천 또는 비추천 사유 (기온 %.1f°C, 미세먼지 PM10 %.1fµg/m³, PM2.5 %.1fµg/m³ 수치를 반드시 모두 포함하여 설명)\
-					📌 **현재 환경 데이터:**
-					- 날씨 상태: %s
-					- 기온: %.1f°C
-					- 미세먼지(PM10): %.1f µg/m³
-					- 초미세먼지(PM2.5): %.1f µg/m³
-					- 반려견 정보:
-					- 이름: %s
-					- 견종: %s
-					- 나이: %d살
-					- 무게: %.1fkg
-
-					📌 **응답은 JSON 형식으로 다음과 같이 제공해주세요:**
-					json
-					{
-					recommendation": "산책 추천 또는 비추천",
-					"reason": "산책 추천 또는 비추천 사유",
-					"safety_tips": ["산책 시 유의 사항"]
-					}
-
-					""",
-				petName, temperature, pm10, pm25, weatherCondition, temperature, pm10, pm25, petName, petBreed, petAge,
-				petWeight);
-			case "recommend_route" -> createRouteRecommendPrompt(
-				"""
-					당신은 위치 기반 산책로 추천 AI입니다.
-					현재 위치는 위도 %.6f, 경도 %.6f 입니다.
-					이 근처 반경 2~3km 이내의 산책 가능한 장소 3곳을 추천해주세요.
-					**아래 JSON 형식으로만 응답하세요.**
-
-					{
-					"routes": [
-					{ "name": "산책로 이름", "description": "특징 및 반려견과의 산책 추천 이유", "distance_km": 거리 }
-					]
-					}""",
-				latitude, longitude);
-			case "greeting" -> createFriendlyPrompt(
-				"""
-					너는 귀여운 반려견 산책 도우미 AI야. 사용자와 친근한 말투로 짧게 대답해줘.
-					반려견 이름은 %s이고, 견종은 %s야. 사용자가 '%s'라고 말했어. 너무 딱딱하지 않게, 공감하며 답장해줘. 문장은 한두 문장으로 간단히 해줘.
-
-					예시)
-					Q: 안녕
-					A: 안녕하세요! 🐶 반가워요!
-
-					Q: 고마워
-					A: 도움이 됐다니 저도 기뻐요!
-
-					Q: 산책 어디로 갈까?
-					A: 날씨 좋을 땐 가까운 공원도 좋겠네요!
-
-					Q: %s
-					A:""",
-				petName, petBreed, message, message);
-			case "cloth_recommend" -> clothRecommendPrompt(
-				"""
-					당신은 반려견 산책 추천 AI입니다. **반드시 JSON 형식으로만 답변하세요.** HTML이나 마크다운, 자연어 문장만 있는 응답은 허용되지 않습니다.\\n반려견이 외출 시 옷을 입어야 할까요? 현재 날씨를 분석하고, 반려견의 특징을 고려하여 적절한 답변을 제공해주세요.
-
-					응답에 반드시 반려견 이름 %s을 포함해주세요.\
-					옷입히기 추천 또는 비추천 사유 (기온 %.1f°C, 미세먼지 PM10 %.1fµg/m³, PM2.5 %.1fµg/m³ 수치를 반드시 모두 포함하여 설명)\
-					📌 **현재 환경 데이터:**
-					- 날씨 상태: %s
-					- 기온: %.1f°C
-					- 반려견 견종: %s
-					- 반려견 체중: %.1fkg
-
-					📌 **옷을 입어야 하는지 여부와 이유를 한글로 설명해주세요.**\
-					📌 **응답은 JSON 형식으로 다음과 같이 제공해주세요:**
-					json
-					{
-					"recommendation": "옷 입히기 추천 또는 비추천",
-					"reason": "옷 입히기 추천 또는 비추천 사유",
-					"safety_tips": ["산책 시 유의 사항"]
-					}
-
-					""",
-				petName, temperature, pm10, pm25, weatherCondition, temperature, petBreed, petWeight);
-			default -> "대답할 수 없는 질문이라고 한 문장으로 말해.";
-		};
+		return intent;
+	}
 
-		// 🔥 GPT 호출
-		String gptResponse;
+	// ✅ 산책/날씨/옷 질문이면 이전 대화 요약 조회 (없으면 null)
+	private String loadHistory(String intent, String sessionId) {
+		return RECOMMENDATION_INTENTS.contains(intent) ? conversationMemory.loadHistory(sessionId) : null;
+	}
 
-		try {
-			gptResponse = gptService.generateText(prompt);
-			System.out.println("response: " + gptResponse);  // 🔍 GPT 응답 확인
+	// ✅ 이전 대화가 있으면 전체 컨텍스트 프롬프트 대신 같은 intent의 followup 프롬프트 사용 (예: weather_info_followup)
+	private PromptTemplate selectAnswerTemplate(String intent, String history, Integer userId) {
+		return promptTemplateRegistry.select(history != null ? PromptTemplateRegistry.followup(intent) : intent, userId);
+	}
 
-			if (gptResponse == null || gptResponse.isEmpty()) {
-				throw new Exception("empty_response");
-			}
+	// ✅ 의도별 답변 프롬프트 생성 (템플릿은 시작 시 컴파일된 것을 사용)
+	private String createAnswerPrompt(PromptTemplate template, String intent, String message, ChatContext context,
+		String history) {
+		String prompt = template.render(context, message, history);
+
+		// ✅ 규칙 기반 판단을 사전 계산된 사실로 덧붙여 GPT 출력 길이를 줄임
+		if (llmConfig.isRuleFactsInPrompt() && RECOMMENDATION_INTENTS.contains(intent)) {
+			prompt += walkSuitabilityEngine.toPromptFacts(walkSuitabilityEngine.evaluate(context));
+		}
+		return prompt;
+	}
+
+	// ✅ GPT를 쓸 수 없을 때 규칙 기반 산책 판단으로 응답
+	private ResponseEntity<LlmResponse> createFallbackResponse(ChatContext context, LlmMetrics.StageTimer timer) {
+		String fallback = createFallbackRecommendation(context);
+		timer.lap("rule_engine");
+		return completeChat(timer, "walk_check", "fallback", fallback);
+	}
+
+	private String createFallbackRecommendation(ChatContext context) {
+		return walkSuitabilityEngine.toAnswerJson("walk_check", walkSuitabilityEngine.evaluate(context));
+	}
+
+	// ✅ GPT 없이 답할 때 사용하는 키워드 기반 의도 추정 (옷 / 날씨·공기 / 그 외 산책 여부)
+	private String guessRuleIntent(String message) {
+		if (message == null) {
+			return "walk_check";
+		}
+		if (message.contains("옷")) {
+			return "cloth_recommend";
+		}
+		if (message.contains("미세먼지") || message.contains("공기") || message.contains("날씨")) {
+			return "weather_info";
+		}
+		return "walk_check";
+	}
+
+	/**
+	 * ✅ 단일 호출 응답을 생성하고 스키마를 검증
+	 * - { "intent": "...", "answer": ... } 형식이 아니면 null 반환
+	 */
+	private SingleCallAnswer generateSingleCallAnswer(PromptTemplate template, String message, ChatContext context) {
+		GptRoute route = llmConfig.route(PromptTemplateRegistry.SINGLE_CALL);
+		GptCompletion completion;
+		try {
+			completion = gptService.generateCompletion(template.render(context, message), route, GptPriority.NORMAL);
+		} catch (UpstreamUnavailableException | GptAdmissionException e) {
+			throw e;
 		} catch (Exception e) {
-			System.err.println("[ERROR]: " + e.getMessage());
-			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-				.body(new LlmResponse("failed_to_get_gpt_response"));
+			System.err.println("[ERROR] single_call GPT 호출 실패: " + e.getMessage());
+			return null;
 		}
 
-		return ResponseEntity.ok(new LlmResponse("llm_success", gptResponse));
+		JSONObject json = safeParseJson(completion.content());
+		String intent = json == null ? "" : json.optString("intent", "");
+		if (!SUPPORTED_INTENTS.contains(intent)) {
+			System.err.println("[ERROR] single_call 응답의 intent 값이 올바르지 않음: " + intent);
+			llmMetrics.recordTokens(SINGLE_CALL_MODE, "unknown", template.getVersion(), route, completion);
+			return null;
+		}
+		llmMetrics.recordTokens(SINGLE_CALL_MODE, intent, template.getVersion(), route, completion);
 
+		String answer = validateSingleCallAnswer(intent, json.opt("answer"));
+		return answer == null ? null : new SingleCallAnswer(intent, answer);
+	}
+
+	// intent별 answer 형식 검증 (통과하면 응답 문자열, 아니면 null)
+	private String validateSingleCallAnswer(String intent, Object answer) {
+		if (RECOMMENDATION_INTENTS.contains(intent)) {
+			if (!(answer instanceof JSONObject answerJson) || !answerJson.has("recommendation") ||
+				!answerJson.has("reason") || !(answerJson.opt("safety_tips") instanceof JSONArray)) {
+				return null;
+			}
+			return answerJson.toString();
+		}
+		if ("recommend_route".equals(intent)) {
+			if (!(answer instanceof JSONObject answerJson) || !(answerJson.opt("routes") instanceof JSONArray)) {
+				return null;
+			}
+			return answerJson.toString();
+		}
+		if (!(answer instanceof String text) || text.isBlank()) {
+			return null;
+		}
+		return text.trim();
+	}
+
+	private record SingleCallAnswer(String intent, String answer) {
 	}
 
 	private JSONObject safeParseJson(String raw) {
@@ -300,48 +491,6 @@ public class LlmService {
 		}
 	}
 
-	private String extractSessionId(HttpServletRequest request) {
-		String cookie = request.getHeader("Cookie");
-		if (cookie == null || !cookie.contains("connect.sid=")) {
-			return null;
-		}
-
-		String[] parts = cookie.split("connect.sid=");
-		if (parts.length < 2) {
-			return null;
-		}
-
-		return parts[1].split(";")[0].trim();
-	}
-
-	private String createWeatherPrompt(String template, String petName, String petBreed, int petAge,
-		double petWeight, String weatherCondition, double temperature,
-		double pm10, double pm25) {
-		return String.format(template, petName, petBreed, petAge, petWeight, weatherCondition,
-			temperature, pm10, pm25);
-	}
-
-	private String createWalkCheckPrompt(String template, String petName, double temperature, double pm10,
-		double pm25, String weatherCondition, double temp, double pm10_2,
-		double pm25_2, String name, String breed, int age, double weight) {
-		return String.format(template, petName, temperature, pm10, pm25, weatherCondition, temp,
-			pm10_2, pm25_2, name, breed, age, weight);
-	}
-
-	private String createRouteRecommendPrompt(String template, double latitude, double longitude) {
-		return String.format(template, latitude, longitude);
-	}
-
-	private String createFriendlyPrompt(String template, String petName, String breed, String message,
-		String userMessage) {
-		return String.format(template, petName, breed, message, userMessage);
-	}
-
-	private String clothRecommendPrompt(String template, String petName, double temperature,
-		double pm10, double pm25, String weatherCondition, double temp, String breed, double weight) {
-		return String.format(template, petName, temperature, pm10, pm25, weatherCondition, temp, breed, weight);
-	}
-
 	//  영어 날씨명을 한글로 변환
 	private String convertWeatherToKorean(String weather) {
 		switch (weather.toLowerCase()) {
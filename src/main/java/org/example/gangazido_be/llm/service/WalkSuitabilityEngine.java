@@ -0,0 +1,208 @@
+// WalkSuitabilityEngine: 미세먼지 등급, 기온, 날씨, 반려견 체급/견종/나이로 산책 적합도를 계산하는 규칙 기반 엔진
+package org.example.gangazido_be.llm.service;
+
+import org.example.gangazido_be.llm.model.AirQualityGrade;
+import org.example.gangazido_be.llm.model.ChatContext;
+import org.example.gangazido_be.llm.model.WalkAssessment;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Component
+public class WalkSuitabilityEngine {
+	private static final int FULL_WALK_SCORE = 70; // 이상이면 산책 추천
+	private static final int SHORT_WALK_SCORE = 40; // 이상이면 짧은 산책 추천, 미만이면 비추천
+
+	private static final double SMALL_DOG_MAX_WEIGHT = 10.0; // 소형견 기준 (kg 미만)
+	private static final double MEDIUM_DOG_MAX_WEIGHT = 25.0; // 중형견 기준 (kg 미만), 이상은 대형견
+
+	// ✅ 추위에 강한 견종 (convertBreedToKorean 결과 기준)
+	private static final Set<String> COLD_TOLERANT_BREEDS = Set.of("시베리안 허스키", "진돗개");
+	// ✅ 더위에 약한 견종 (대형견 외 추가)
+	private static final Set<String> HEAT_SENSITIVE_BREEDS = Set.of("시베리안 허스키", "포메라니안");
+
+	public WalkAssessment evaluate(ChatContext context) {
+		return evaluate(context.getPetName(), context.getPetBreed(), context.getPetAge(), context.getPetWeight(),
+			context.getWeatherCondition(), context.getTemperature(), context.getPm10(), context.getPm25());
+	}
+
+	/**
+	 * ✅ 산책 적합도 계산
+	 * - 100점에서 대기질, 기온(체급/견종별 민감도), 나이, 날씨 상태에 따라 감점
+	 * - 가장 크게 감점된 항목을 판단 사유로 사용
+	 */
+	public WalkAssessment evaluate(String petName, String petBreed, int petAge, double petWeight,
+		String weatherCondition, double temperature, double pm10, double pm25) {
+		boolean small = petWeight < SMALL_DOG_MAX_WEIGHT;
+		boolean large = petWeight >= MEDIUM_DOG_MAX_WEIGHT;
+		boolean coldTolerant = COLD_TOLERANT_BREEDS.contains(petBreed);
+		boolean heatSensitive = large || HEAT_SENSITIVE_BREEDS.contains(petBreed);
+		boolean vulnerableAge = petAge >= 10 || petAge < 1;
+
+		Penalty penalty = new Penalty();
+		List<String> safetyTips = new ArrayList<>();
+
+		// 🌫️ 대기질
+		AirQualityGrade pm10Grade = AirQualityGrade.ofPm10(pm10);
+		AirQualityGrade pm25Grade = AirQualityGrade.ofPm25(pm25);
+		AirQualityGrade airQualityGrade = AirQualityGrade.worse(pm10Grade, pm25Grade);
+		switch (airQualityGrade) {
+			case MODERATE -> {
+				penalty.add(15, "미세먼지가 보통 수준이라 호흡기가 약하다면 산책 시간을 줄이는 게 좋아요.");
+				safetyTips.add("산책 후 눈과 코 주변을 물티슈로 닦아주세요.");
+			}
+			case BAD -> {
+				penalty.add(50, "미세먼지가 나쁨 수준이라 " + petName + "의 호흡기 건강을 위해 외출을 자제하는 게 좋아요.");
+				safetyTips.add("실내에서 노즈워크나 터그 놀이로 활동량을 채워주세요.");
+				safetyTips.add("꼭 나가야 한다면 10~15분 이내로 짧게 다녀오세요.");
+			}
+			case VERY_BAD -> {
+				penalty.add(80, "미세먼지가 매우 나쁨 수준이라 오늘은 실내 활동을 추천해요.");
+				safetyTips.add("실내에서 노즈워크나 터그 놀이로 활동량을 채워주세요.");
+			}
+			default -> {
+			}
+		}
+
+		// 🌡️ 더위
+		if (temperature >= 30) {
+			penalty.add(65, String.format("기온이 %.1f°C로 매우 더워 %s가 열사병에 걸릴 수 있어요.", temperature, petName));
+			safetyTips.add("산책은 이른 아침이나 해진 뒤 짧게 해주세요.");
+			safetyTips.add("뜨거운 아스팔트는 발바닥 화상의 위험이 있어요.");
+		} else if (temperature >= 27) {
+			penalty.add(heatSensitive ? 35 : 20, String.format("기온이 %.1f°C로 더운 편이라 %s가 쉽게 지칠 수 있어요.", temperature, petName));
+			safetyTips.add("그늘진 길로 걷고 물을 자주 먹여주세요.");
+		} else if (temperature >= 24 && heatSensitive) {
+			penalty.add(10, String.format("%s는 더위에 약한 편이라 %.1f°C에서도 쉬엄쉬엄 걷는 게 좋아요.", petName, temperature));
+			safetyTips.add("물을 챙겨 중간중간 쉬어가세요.");
+		}
+
+		// ❄️ 추위
+		if (temperature <= -10) {
+			penalty.add(coldTolerant ? 20 : 65, String.format("기온이 %.1f°C로 매우 추워 %s의 체온 유지가 어려워요.", temperature, petName));
+			safetyTips.add("산책 후 발바닥에 묻은 염화칼슘을 꼭 닦아주세요.");
+		} else if (temperature <= 0 && !coldTolerant) {
+			penalty.add(small ? 35 : 15, String.format("기온이 %.1f°C로 영하라 %s가 추위를 탈 수 있어요.", temperature, petName));
+			safetyTips.add("산책 후 발바닥에 묻은 염화칼슘을 꼭 닦아주세요.");
+		} else if (temperature <= 5 && small && !coldTolerant) {
+			penalty.add(10, String.format("기온이 %.1f°C로 쌀쌀해 소형견인 %s는 체온이 금방 떨어질 수 있어요.", temperature, petName));
+		}
+
+		// 🐾 나이 (노령견, 어린 강아지는 더위/추위에 더 취약)
+		if (vulnerableAge && (temperature >= 27 || temperature <= 0)) {
+			penalty.add(10, String.format("%d살인 %s는 기온 변화에 더 민감해요.", petAge, petName));
+			safetyTips.add("나이를 고려해 평소보다 짧게 산책해주세요.");
+		}
+
+		// 🌧️ 날씨 상태
+		switch (weatherCondition) {
+			case "폭풍" -> {
+				penalty.add(80, "폭풍이 불어 산책하기 위험한 날씨예요.");
+				safetyTips.add("천둥소리에 놀라지 않도록 실내에서 곁에 있어주세요.");
+			}
+			case "비" -> {
+				penalty.add(40, "비가 와서 " + petName + "와 산책하기 어려운 날씨예요.");
+				safetyTips.add("외출 후에는 털과 발을 잘 말려주세요.");
+			}
+			case "눈" -> {
+				penalty.add(25, "눈이 와서 길이 미끄러울 수 있어요.");
+				safetyTips.add("산책 후 발바닥에 묻은 염화칼슘을 꼭 닦아주세요.");
+			}
+			case "안개" -> {
+				penalty.add(10, "안개가 껴서 시야가 좋지 않아요.");
+				safetyTips.add("밝은 색 옷이나 야광 목줄을 착용하고 리드줄을 짧게 잡아주세요.");
+			}
+			default -> {
+			}
+		}
+
+		int score = Math.max(0, 100 - penalty.total);
+		String recommendation;
+		if (score >= FULL_WALK_SCORE) {
+			recommendation = "산책 추천";
+		} else if (score >= SHORT_WALK_SCORE) {
+			recommendation = "짧은 산책 추천";
+		} else {
+			recommendation = "산책 비추천";
+		}
+
+		String reason = String.format(
+			"기온 %.1f°C, 미세먼지 PM10 %.1fµg/m³(%s), PM2.5 %.1fµg/m³(%s), 날씨 %s 기준으로 %s의 산책 적합도는 %d점이에요. ",
+			temperature, pm10, pm10Grade.getLabel(), pm25, pm25Grade.getLabel(), weatherCondition, petName, score) +
+			(penalty.mainReason != null ? penalty.mainReason : "산책하기 좋은 날씨예요!");
+
+		if (safetyTips.isEmpty()) {
+			safetyTips.add("물을 챙기고 산책 후 발을 닦아주세요.");
+		}
+
+		// 👕 옷 입히기
+		boolean clothingRecommended;
+		String clothingReason;
+		if ("비".equals(weatherCondition) || "눈".equals(weatherCondition)) {
+			clothingRecommended = true;
+			clothingReason = String.format("%s가 와서 우비나 방수 옷을 입히면 %s의 체온 유지와 털 관리에 도움이 돼요.",
+				weatherCondition, petName);
+		} else if (!coldTolerant && (temperature <= 0 || (small && temperature <= 10))) {
+			clothingRecommended = true;
+			clothingReason = String.format("기온이 %.1f°C로 %s가 추위를 탈 수 있어 옷을 입히는 걸 추천해요.", temperature, petName);
+		} else {
+			clothingRecommended = false;
+			clothingReason = String.format("기온이 %.1f°C라 %s는 옷 없이도 괜찮아요.", temperature, petName);
+		}
+
+		return new WalkAssessment(score, score >= SHORT_WALK_SCORE, recommendation, airQualityGrade, reason,
+			safetyTips, clothingRecommended, clothingReason);
+	}
+
+	/**
+	 * ✅ GPT 답변과 같은 JSON 형식({ recommendation, reason, safety_tips })으로 변환
+	 * - weather_info: 대기질 등급, cloth_recommend: 옷 입히기 판단, 그 외: 산책 판단
+	 */
+	public String toAnswerJson(String intent, WalkAssessment assessment) {
+		JSONObject answer = new JSONObject();
+		switch (intent) {
+			case "weather_info" -> {
+				answer.put("recommendation", assessment.getAirQualityGrade().getLabel());
+				answer.put("reason", assessment.getReason());
+			}
+			case "cloth_recommend" -> {
+				answer.put("recommendation", assessment.isClothingRecommended() ? "옷 입히기 추천" : "옷 입히기 비추천");
+				answer.put("reason", assessment.getClothingReason());
+			}
+			default -> {
+				answer.put("recommendation", assessment.getRecommendation());
+				answer.put("reason", assessment.getReason());
+			}
+		}
+		answer.put("safety_tips", new JSONArray(assessment.getSafetyTips()));
+		return answer.toString();
+	}
+
+	// ✅ GPT 프롬프트에 덧붙일 사전 계산 결과 (GPT가 판단을 반복하지 않고 짧게 답하도록 유도)
+	public String toPromptFacts(WalkAssessment assessment) {
+		return String.format(
+			"\n📌 사전 계산된 판단(규칙 기반): 산책 적합도 %d점(%s), 대기질 %s, 옷 입히기 %s.\n" +
+				"이 판단과 어긋나지 않게 답하고, reason은 2문장 이내로 짧게 작성하세요.\n",
+			assessment.getScore(), assessment.getRecommendation(), assessment.getAirQualityGrade().getLabel(),
+			assessment.isClothingRecommended() ? "추천" : "비추천");
+	}
+
+	// 감점 합계와 가장 크게 감점된 사유
+	private static final class Penalty {
+		private int total;
+		private int max;
+		private String mainReason;
+
+		private void add(int points, String reason) {
+			total += points;
+			if (points > max) {
+				max = points;
+				mainReason = reason;
+			}
+		}
+	}
+}
@@ -4,10 +4,13 @@ import java.util.*;
 
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
+import org.example.gangazido_be.config.RateLimitPolicy;
+import org.example.gangazido_be.gpt.service.WeatherDemandTracker;
+import org.example.gangazido_be.interceptor.RateLimited;
 import org.example.gangazido_be.map.dto.MarkerRequestDto;
 import org.example.gangazido_be.map.dto.MarkerResponseDto;
 import org.example.gangazido_be.map.service.MarkerService;
-import org.example.gangazido_be.user.entity.User;
+import org.example.gangazido_be.user.session.SessionUser;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,20 +19,23 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("v1/markers")    // 기본 url 설정
 public class MarkerController {
 	private final MarkerService markerService;
+	private final WeatherDemandTracker weatherDemandTracker;	// 지도 조회 위치의 날씨를 미리 갱신하기 위한 수요 추적
 
 	// MarkerController 객체 생성 시 markerService 변수에 넣음.
-	public MarkerController(MarkerService markerService) {
+	public MarkerController(MarkerService markerService, WeatherDemandTracker weatherDemandTracker) {
 		this.markerService = markerService;
+		this.weatherDemandTracker = weatherDemandTracker;
 	}
 
 	// 마커 등록 API
 	@PostMapping    // POST 마커 등록 요청 처리
+	@RateLimited(RateLimitPolicy.MARKER)
 	public ResponseEntity<?> createMarker(
 		HttpSession session,	// 현재 세션에서 로그인 정보 가져옴
 		@RequestBody MarkerRequestDto requestDto) {	// 클라이언트가 보낸 마커 데이터 (JSON > DTO)
 
-		Object userObj = session.getAttribute("user");
-		if (userObj == null) {
+		SessionUser user = SessionUser.current(session);
+		if (user == null) {
 			return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
 					.body(Map.of("message", "required_authorization", "data", new HashMap<>()));
 		}
@@ -40,9 +46,8 @@ public class MarkerController {
 			throw new IllegalStateException("invalid_latitude_longitude");    // MarkerExceptionHandler로 넘기기
 		}
 
-		// User 객체에서 ID 추출
-		User user = (User) userObj;
-		Integer sessionUserId = user.getId();
+		// 세션 사용자 정보에서 ID 추출
+		Integer sessionUserId = user.id();
 		System.out.println("세션 user_id: " + sessionUserId); // 콘솔 디버깅
 
 		// 마커 저장 로직 호출
@@ -75,15 +80,15 @@ public class MarkerController {
 		}
 
 		// 세션에서 user_id 가져오기 (로그인 상태 확인)
-		Object userObj = session.getAttribute("user");
+		SessionUser user = SessionUser.current(session);
 
-		if (userObj == null) {
+		if (user == null) {
 			return ResponseEntity.status(HttpStatus.NOT_FOUND)
 				.body(Map.of("message", "required_authorization", "data", new HashMap<>()));
 		}
 
-		// User 객체에서 ID 추출
-		Integer sessionUserId = ((User) userObj).getId();
+		// 세션 사용자 정보에서 ID 추출
+		Integer sessionUserId = user.id();
 		System.out.println("세션 user_id: " + sessionUserId); // 콘솔 디버깅
 
 		// 서비스 계층에 마커 삭제 요청 위임, 마커 삭제 진행
@@ -101,6 +106,9 @@ public class MarkerController {
 	//            return ResponseEntity.badRequest().body(Map.of("message", "invalid_request", "data", null));
 	//        }
 
+		// 지도를 보는 위치는 곧 산책/날씨 질문이 올 가능성이 높아 날씨 미리 갱신 대상으로 기록
+		weatherDemandTracker.recordDemand(latitude, longitude);
+
 		// 마커 조회 실행
 		List<MarkerResponseDto> markers = markerService.findMarkersWithinRadius(latitude, longitude, radius);
 
@@ -9,7 +9,7 @@ import org.example.gangazido_be.pet.common.s3.PresignedUrlResponse;
 import org.example.gangazido_be.pet.common.s3.S3Service;
 import org.example.gangazido_be.pet.dto.PetResponse;
 import org.example.gangazido_be.pet.service.PetService;
-import org.example.gangazido_be.user.entity.User;
+import org.example.gangazido_be.user.session.SessionUser;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -36,7 +36,7 @@ public class PetController {
 		HttpSession session) {
 
 		// 사용자 로그인 상태 확인
-		User user = (User) session.getAttribute("user");
+		SessionUser user = SessionUser.current(session);
 		if (user == null) {
 			return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
 				.body(PetApiResponse.of("required_authorization", null));
@@ -44,7 +44,7 @@ public class PetController {
 		System.out.println("🐶 user in session: " + user);
 
 		// userId 포함해서 반려견 등록
-		PetResponse response = petService.createPet(user.getId(), name, age, gender, breed, weight, profileImage);
+		PetResponse response = petService.createPet(user.id(), name, age, gender, breed, weight, profileImage);
 		return ResponseEntity.ok(PetApiResponse.of("create_pet_success", response));
 	}
 
@@ -52,13 +52,13 @@ public class PetController {
 	@GetMapping
 	public ResponseEntity<PetApiResponse<PetResponse>> getPet(HttpSession session) {
 		// 사용자 로그인 상태 확인
-		User user = (User) session.getAttribute("user");
+		SessionUser user = SessionUser.current(session);
 		if (user == null) {
 			return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
 				.body(PetApiResponse.of("required_authorization", null));
 		}
 
-		PetResponse petResponse = petService.getPet(user.getId());
+		PetResponse petResponse = petService.getPet(user.id());
 		return ResponseEntity.ok(PetApiResponse.of("get_pet_success", petResponse));
 	}
 
@@ -73,13 +73,13 @@ public class PetController {
 		@RequestParam(value = "profileImage", required = false) String profileImage,
 		HttpSession session) {
 		// 사용자 로그인 확인
-		User user = (User) session.getAttribute("user");
+		SessionUser user = SessionUser.current(session);
 		if (user == null) {
 			return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
 				.body(PetApiResponse.of("required_authorization", null));
 		}
 
-		PetResponse petResponse = petService.updatePet(user.getId(), name, age, gender, breed, weight, profileImage);
+		PetResponse petResponse = petService.updatePet(user.id(), name, age, gender, breed, weight, profileImage);
 		return ResponseEntity.ok(PetApiResponse.of("change_pet_success", petResponse));
 	}
 
@@ -87,13 +87,13 @@ public class PetController {
 	@DeleteMapping
 	public ResponseEntity<PetApiResponse<PetResponse>> deletePet(HttpSession session) {
 		// 사용자 로그인 상태 확인
-		User user = (User) session.getAttribute("user");
+		SessionUser user = SessionUser.current(session);
 		if (user == null) {
 			return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
 				.body(PetApiResponse.of("required_authorization", null));
 		}
 
-		petService.deletePet(user.getId());
+		petService.deletePet(user.id());
 		return ResponseEntity.ok(PetApiResponse.of("delete_pet_success", null));
 	}
 
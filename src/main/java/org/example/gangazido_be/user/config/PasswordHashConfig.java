@@ -0,0 +1,34 @@
+package org.example.gangazido_be.user.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+// PasswordHashConfig: 비밀번호 해시/검증(Argon2) 전용 스레드 풀 설정
+// CPU를 많이 쓰는 해시 계산을 코어 수만큼만 동시에 실행해, 로그인이 몰려도 다른 API가 CPU를 기다리지 않게 함
+// 대기열이 가득 차면 바로 거절 (TaskRejectedException → 503 server_busy)
+@Configuration
+public class PasswordHashConfig {
+
+	@Value("${app.user.password-hash.threads:0}")
+	private int threads; // 동시에 해시를 계산할 스레드 수 (0이면 CPU 코어 수)
+
+	@Value("${app.user.password-hash.queue-capacity:16}")
+	private int queueCapacity; // 대기열 크기 (짧게 두어 로그인 폭주 시 빨리 거절)
+
+	@Bean(name = "passwordHashExecutor")
+	public ThreadPoolTaskExecutor passwordHashExecutor() {
+		int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(poolSize);
+		executor.setMaxPoolSize(poolSize);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("password-hash-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+		executor.initialize();
+		return executor;
+	}
+}
@@ -0,0 +1,51 @@
+package org.example.gangazido_be.user.config;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+
+/**
+ * TunableArgon2PasswordEncoder: 해시 파라미터를 바꿔도 기존 해시를 그대로 검증하고, 바뀐 해시를 골라내는 Argon2 인코더
+ * - Argon2 해시 문자열($argon2id$v=19$m=4096,t=1,p=1$salt$hash)에 생성 당시 파라미터가 들어 있어 검증은 해시 자신의 파라미터로 수행
+ * - upgradeEncoding: 현재 설정과 m(메모리)/t(반복)/p(병렬) 중 하나라도 다르면 true
+ *   (기본 구현은 약한 해시만 골라내므로, 처리량을 위해 비용을 낮춘 경우에도 다시 해시하도록 변경)
+ */
+public class TunableArgon2PasswordEncoder extends Argon2PasswordEncoder {
+	private final int parallelism;
+	private final int memoryKb;
+	private final int iterations;
+
+	public TunableArgon2PasswordEncoder(int saltLength, int hashLength, int parallelism, int memoryKb, int iterations) {
+		super(saltLength, hashLength, parallelism, memoryKb, iterations);
+		this.parallelism = parallelism;
+		this.memoryKb = memoryKb;
+		this.iterations = iterations;
+	}
+
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		if (encodedPassword == null || encodedPassword.isEmpty()) {
+			return false;
+		}
+		// "$argon2id", "v=19", "m=..,t=..,p=..", salt, hash
+		String[] parts = encodedPassword.split("\\$");
+		if (parts.length < 5 || !parts[1].startsWith("argon2")) {
+			return false;
+		}
+		String parameters = parts[parts.length - 3];
+		return parameter(parameters, "m=") != memoryKb ||
+			parameter(parameters, "t=") != iterations ||
+			parameter(parameters, "p=") != parallelism;
+	}
+
+	private static int parameter(String parameters, String name) {
+		for (String parameter : parameters.split(",")) {
+			if (parameter.startsWith(name)) {
+				try {
+					return Integer.parseInt(parameter.substring(name.length()));
+				} catch (NumberFormatException e) {
+					return -1;
+				}
+			}
+		}
+		return -1;
+	}
+}
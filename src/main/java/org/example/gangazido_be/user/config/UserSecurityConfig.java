@@ -2,6 +2,7 @@ package org.example.gangazido_be.user.config;
 
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -17,9 +18,13 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 public class UserSecurityConfig {
 
 	@Bean
-	public Argon2PasswordEncoder passwordEncoder() {
+	public Argon2PasswordEncoder passwordEncoder(
+		@Value("${app.user.password-hash.argon2.parallelism:1}") int parallelism,
+		@Value("${app.user.password-hash.argon2.memory-kb:4096}") int memoryKb,
+		@Value("${app.user.password-hash.argon2.iterations:1}") int iterations) {
 		// Argon2 설정: saltLength, hashLength, parallelism, memory, iterations
-		return new Argon2PasswordEncoder(16, 32, 1, 4096, 1);
+		// 값을 바꾸면 기존 해시는 그대로 검증되고, 로그인 성공 시 새 파라미터로 다시 해시됨
+		return new TunableArgon2PasswordEncoder(16, 32, parallelism, memoryKb, iterations);
 	}
 
 	@Bean
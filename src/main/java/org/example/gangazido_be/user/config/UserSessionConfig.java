@@ -0,0 +1,18 @@
+package org.example.gangazido_be.user.config;
+
+import org.example.gangazido_be.user.session.SessionUserRedisSerializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+// UserSessionConfig: Spring Session(Redis) 값 직렬화 설정
+// 세션에는 User 엔티티 대신 SessionUser만 저장하고, 요청마다 읽는 값은 Java 직렬화 없이 바이너리로 저장
+// 빈 이름 springSessionDefaultRedisSerializer는 Spring Session이 찾는 이름이라 바꾸면 안 됨
+@Configuration
+public class UserSessionConfig {
+
+	@Bean(name = "springSessionDefaultRedisSerializer")
+	public RedisSerializer<Object> springSessionDefaultRedisSerializer() {
+		return new SessionUserRedisSerializer(getClass().getClassLoader());
+	}
+}
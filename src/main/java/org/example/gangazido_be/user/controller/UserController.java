@@ -1,5 +1,7 @@
 package org.example.gangazido_be.user.controller;
 
+import org.example.gangazido_be.config.RateLimitPolicy;
+import org.example.gangazido_be.interceptor.RateLimited;
 import org.example.gangazido_be.user.dto.UserApiResponse;
 import org.example.gangazido_be.user.dto.UserLoginRequestDTO;
 import org.example.gangazido_be.user.dto.UserPasswordChangeRequestDTO;
@@ -7,6 +9,7 @@ import org.example.gangazido_be.user.dto.UserDTO;
 import org.example.gangazido_be.user.entity.User;
 import org.example.gangazido_be.user.exception.*;
 import org.example.gangazido_be.user.service.UserService;
+import org.example.gangazido_be.user.session.SessionUser;
 import org.example.gangazido_be.user.util.UserApiMessages;
 import org.example.gangazido_be.user.util.UserIdEncryptionUtil;
 import org.example.gangazido_be.user.validator.UserPasswordValidator;
@@ -24,6 +27,7 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -51,6 +55,7 @@ public class UserController {
 	}
 
 	@PostMapping("/signup")
+	@RateLimited(RateLimitPolicy.SIGNUP)
 	public ResponseEntity<UserApiResponse<Map<String, Object>>> registerUser(
 		@Valid @RequestBody UserDTO userDTO,
 		HttpSession session,
@@ -93,6 +98,9 @@ public class UserController {
 			}
 
 			return UserApiResponse.success(UserApiMessages.USER_CREATED, responseData);
+		} catch (UserServerBusyException e) {
+			logger.warn("회원가입 실패 (해시 처리 지연): {}", e.getMessage());
+			return UserApiResponse.error(HttpStatus.SERVICE_UNAVAILABLE, e.getErrorCode());
 		} catch (UserException e) {
 			logger.warn("회원가입 실패: {}", e.getMessage());
 			return UserApiResponse.badRequest(e.getErrorCode());
@@ -104,6 +112,7 @@ public class UserController {
 
 	// 인증 없이 s3 presigned url 가져오는 api
 	@PostMapping("/signup/profile-image-upload-url")
+	@RateLimited(RateLimitPolicy.IMAGE_UPLOAD)
 	public ResponseEntity<UserApiResponse<Map<String, String>>> getSignupProfileImageUploadUrl(
 		@RequestBody Map<String, String> fileInfo) {
 
@@ -132,6 +141,7 @@ public class UserController {
 	}
 
 	@PostMapping("/login")
+	@RateLimited(RateLimitPolicy.LOGIN)
 	@Operation(summary = "사용자 로그인", description = "이메일과 비밀번호로 로그인합니다")
 	@io.swagger.v3.oas.annotations.parameters.RequestBody(
 		description = "로그인 정보",
@@ -177,6 +187,9 @@ public class UserController {
 			responseData.put("profileImage", user.getProfileImage());
 
 			return UserApiResponse.success(UserApiMessages.LOGIN_SUCCESS, responseData);
+		} catch (UserServerBusyException e) {
+			logger.warn("로그인 실패 (해시 처리 지연): {}", e.getMessage());
+			return UserApiResponse.error(HttpStatus.SERVICE_UNAVAILABLE, e.getErrorCode());
 		} catch (UserException e) {
 			logger.warn("로그인 실패: {}", e.getMessage());
 			return UserApiResponse.badRequest(e.getErrorCode());
@@ -201,24 +214,32 @@ public class UserController {
 
 		// 세션 정보 출력
 		logger.info("세션 ID: {}", session.getId());
-		logger.info("사용자 정보: {}", session.getAttribute("user"));
+		logger.info("사용자 정보: {}", session.getAttribute(SessionUser.ATTRIBUTE));
 
 		try {
-			User user = (User) session.getAttribute("user");
+			SessionUser sessionUser = SessionUser.current(session);
 
-			if (user == null) {
+			if (sessionUser == null) {
 				throw UserAuthenticationException.unauthorized();
 			}
 
+			// 이메일은 세션에 저장하지 않으므로 DB에서 조회
+			User user = userService.findUserById(sessionUser.id());
+
 			// 이미지 키가 있는데 S3에 실제로 존재하지 않는 경우 처리
 			if (user.getProfileImage() != null && !user.getProfileImage().isEmpty()) {
 				if (!userService.checkImageExists(user.getProfileImage())) {
 					// S3에 이미지가 없으면 DB에서도 제거
 					user = userService.updateProfileImage(user.getId(), null);
-					session.setAttribute("user", user); // 세션 업데이트
 				}
 			}
 
+			// 다른 기기에서 닉네임/프로필 이미지를 바꾼 경우에만 세션 업데이트
+			SessionUser latest = SessionUser.of(user);
+			if (!latest.equals(sessionUser)) {
+				session.setAttribute(SessionUser.ATTRIBUTE, latest);
+			}
+
 			Map<String, Object> responseData = new HashMap<>();
 			responseData.put("userId", user.getId());
 			responseData.put("email", user.getEmail());
@@ -273,6 +294,7 @@ public class UserController {
 
 	// 중복 이메일 확인 API
 	@GetMapping("/check-email")
+	@RateLimited(RateLimitPolicy.DUPLICATE_CHECK)
 	public ResponseEntity<UserApiResponse<Map<String, Boolean>>> checkEmailDuplicate(
 		@RequestParam(required = false) String email) {
 		try {
@@ -290,6 +312,7 @@ public class UserController {
 
 	// 중복 닉네임 확인 API
 	@GetMapping("/check-nickname")
+	@RateLimited(RateLimitPolicy.DUPLICATE_CHECK)
 	public ResponseEntity<UserApiResponse<Map<String, Boolean>>> checkNicknameDuplicate(
 		@RequestParam(required = false) String nickname) {
 		try {
@@ -311,21 +334,21 @@ public class UserController {
 		@RequestBody Map<String, Object> requestMap, // UserDTO 대신 Map 사용하여 필드 존재 여부 확인
 		HttpSession session) {
 		try {
-			User user = (User) session.getAttribute("user");
+			SessionUser user = SessionUser.current(session);
 			if (user == null) {
 				throw UserAuthenticationException.unauthorized();
 			}
 
 			// 디버깅 로그 추가
-			logger.info("사용자 정보 업데이트 요청: userId={}, 요청 데이터={}", user.getId(), requestMap);
+			logger.info("사용자 정보 업데이트 요청: userId={}, 요청 데이터={}", user.id(), requestMap);
 
-			User updatedUser = user;
+			User updatedUser = null; // 변경 사항이 없으면 null
 
 			// 닉네임 업데이트
 			if (requestMap.containsKey("user_nickname")) {
 				String nickname = (String) requestMap.get("user_nickname");
 				if (nickname != null && !nickname.isEmpty()) {
-					updatedUser = userService.updateUserInfo(user.getId(), nickname);
+					updatedUser = userService.updateUserInfo(user.id(), nickname);
 				}
 			}
 
@@ -335,8 +358,8 @@ public class UserController {
 
 				if (profileImageKeyObj == null || "null".equals(profileImageKeyObj)) {
 					// 명시적으로 null이 전달된 경우 (이미지 제거)
-					logger.info("프로필 이미지 제거 요청: userId={}", user.getId());
-					updatedUser = userService.updateProfileImage(updatedUser.getId(), null);
+					logger.info("프로필 이미지 제거 요청: userId={}", user.id());
+					updatedUser = userService.updateProfileImage(user.id(), null);
 				} else {
 					// 새 이미지 키가 전달된 경우
 					String profileImageKey = profileImageKeyObj.toString();
@@ -347,19 +370,22 @@ public class UserController {
 						}
 
 						// fileKey를 직접 저장 - URL 생성 제거
-						updatedUser = userService.updateProfileImage(updatedUser.getId(), profileImageKey);
+						updatedUser = userService.updateProfileImage(user.id(), profileImageKey);
 					}
 				}
 			}
 
-			session.setAttribute("user", updatedUser); // 세션 업데이트
+			if (updatedUser != null) {
+				user = SessionUser.of(updatedUser);
+				session.setAttribute(SessionUser.ATTRIBUTE, user); // 세션 업데이트
+			}
 
 			Map<String, Object> responseData = new HashMap<>();
-			responseData.put("userId", idEncryptionUtil.encrypt(updatedUser.getId()));
-			responseData.put("nickname", updatedUser.getNickname());
+			responseData.put("userId", idEncryptionUtil.encrypt(user.id()));
+			responseData.put("nickname", user.nickname());
 			// CloudFront URL로 변환하여 응답
-			if (updatedUser.getProfileImage() != null && !updatedUser.getProfileImage().isEmpty()) {
-				responseData.put("profileImage", userService.getCloudFrontUrlFromKey(updatedUser.getProfileImage()));
+			if (user.profileImage() != null && !user.profileImage().isEmpty()) {
+				responseData.put("profileImage", userService.getCloudFrontUrlFromKey(user.profileImage()));
 			} else {
 				responseData.put("profileImage", null);
 			}
@@ -380,13 +406,13 @@ public class UserController {
 		HttpServletResponse response,
 		HttpSession session) {
 		try {
-			User user = (User) session.getAttribute("user");
+			SessionUser user = SessionUser.current(session);
 			if (user == null) {
 				throw UserAuthenticationException.unauthorized();
 			}
 
 			// 회원 탈퇴 처리
-			userService.deleteUser(user.getId());
+			userService.deleteUser(user.id());
 
 			// 세션 무효화
 			session.invalidate();
@@ -425,23 +451,24 @@ public class UserController {
 				throw new UserValidationException("required_password_data", "required_password_data");
 			}
 
-			User user = (User) session.getAttribute("user");
+			SessionUser user = SessionUser.current(session);
 			if (user == null) {
 				throw UserAuthenticationException.unauthorized();
 			}
 
 			// 서비스 호출 - 유효성 검증은 서비스에서 처리
-			// 단, 서비스 메소드를 수정하여 비밀번호 확인까지 처리하도록 변경 필요
-			User updatedUser = userService.changePassword(
-				user.getId(),
+			// 비밀번호는 세션에 저장하지 않으므로 세션은 그대로 둠
+			userService.changePassword(
+				user.id(),
 				requestDTO.getCurrentPassword(),
 				requestDTO.getNewPassword(),
-				requestDTO.getConfirmPassword() // 서비스 메소드 수정 필요
+				requestDTO.getConfirmPassword()
 			);
 
-			session.setAttribute("user", updatedUser); // 세션 업데이트
-
 			return UserApiResponse.success(UserApiMessages.PASSWORD_CHANGED, null);
+		} catch (UserServerBusyException e) {
+			logger.warn("비밀번호 변경 실패 (해시 처리 지연): {}", e.getMessage());
+			return UserApiResponse.error(HttpStatus.SERVICE_UNAVAILABLE, e.getErrorCode());
 		} catch (UserException e) {
 			logger.warn("비밀번호 변경 실패: {}", e.getMessage());
 			return UserApiResponse.badRequest(e.getErrorCode());
@@ -509,8 +536,8 @@ public class UserController {
 			sessionCookie.getName(), session.getId(), sessionCookie.getDomain());
 		 **/
 
-		// 세션에 사용자 정보 저장
-		session.setAttribute("user", user);
+		// 세션에 사용자 정보 저장 (User 엔티티 대신 SessionUser)
+		SessionUser.save(session, user);
 		session.setMaxInactiveInterval(3600); // 세션 유효시간 1시간
 
 		// JSESSIONID 수동으로 Set-Cookie 헤더 설정 (서브도메인 포함 + SameSite=None)
@@ -1,9 +1,11 @@
 package org.example.gangazido_be.user.controller;
 
+import org.example.gangazido_be.config.RateLimitPolicy;
+import org.example.gangazido_be.interceptor.RateLimited;
 import org.example.gangazido_be.user.dto.UserApiResponse;
-import org.example.gangazido_be.user.entity.User;
 import org.example.gangazido_be.user.service.UserS3FileService;
 import org.example.gangazido_be.user.service.UserService;
+import org.example.gangazido_be.user.session.SessionUser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,11 +38,12 @@ public class UserFileController {
 	 * @return presigned URL과 fileKey
 	 */
 	@PostMapping("/profile-image-upload-url")
+	@RateLimited(RateLimitPolicy.IMAGE_UPLOAD)
 	public ResponseEntity<UserApiResponse<Map<String, String>>> getProfileImageUploadUrl(
 		@RequestBody Map<String, String> fileInfo,
 		HttpSession session) {
 
-		User user = (User) session.getAttribute("user");
+		SessionUser user = SessionUser.current(session);
 		if (user == null) {
 			return UserApiResponse.unauthorized("unauthorized");
 		}
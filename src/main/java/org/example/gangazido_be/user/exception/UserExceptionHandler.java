@@ -26,6 +26,15 @@ public class UserExceptionHandler {
 		return UserApiResponse.badRequest(e.getErrorCode());
 	}
 
+	/**
+	 * 비밀번호 해시 스레드 풀 과부하 예외 처리 (503)
+	 */
+	@ExceptionHandler(UserServerBusyException.class)
+	public ResponseEntity<UserApiResponse<Object>> handleServerBusyException(UserServerBusyException e) {
+		logger.warn("비밀번호 해시 처리 지연: {}", e.getMessage());
+		return UserApiResponse.error(HttpStatus.SERVICE_UNAVAILABLE, e.getErrorCode());
+	}
+
 	/**
 	 * Bean Validation 예외 처리
 	 */
@@ -0,0 +1,10 @@
+package org.example.gangazido_be.user.exception;
+
+// 비밀번호 해시 스레드 풀이 가득 차거나 대기 시간이 지나 요청을 처리하지 못한 경우 (503)
+public class UserServerBusyException extends UserException {
+	public static final String SERVER_BUSY = "server_busy";
+
+	public UserServerBusyException(String message) {
+		super(SERVER_BUSY, message);
+	}
+}
@@ -2,7 +2,11 @@ package org.example.gangazido_be.user.repository;
 
 import org.example.gangazido_be.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -18,4 +22,11 @@ public interface UserRepository extends JpaRepository<User, Integer> {
 	Optional<User> findByNicknameAndDeletedAtIsNull(String nickname);
 
 	Optional<User> findByIdAndDeletedAtIsNull(Integer id);
+
+	// 비밀번호 해시 교체 (그 사이 비밀번호가 바뀌었으면 oldPassword가 달라 갱신하지 않음)
+	@Transactional
+	@Modifying
+	@Query("UPDATE User u SET u.password = :newPassword WHERE u.id = :id AND u.password = :oldPassword")
+	int updatePasswordIfUnchanged(@Param("id") Integer id, @Param("oldPassword") String oldPassword,
+		@Param("newPassword") String newPassword);
 }
@@ -0,0 +1,155 @@
+package org.example.gangazido_be.user.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.example.gangazido_be.user.exception.UserServerBusyException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * PasswordHashService: 비밀번호 해시/검증을 passwordHashExecutor에서 실행
+ * - 요청 스레드는 결과를 기다리기만 하고(CPU 사용 없음), 동시에 계산하는 해시 수는 스레드 풀 크기(코어 수)로 제한
+ * - 대기열이 가득 차거나 max-wait-ms 안에 끝나지 않으면 UserServerBusyException (503 server_busy)
+ * - 해시 계산 시간/대기 시간: password.hash, password.hash.wait{operation}, 대기열 길이: password.hash.queue.depth
+ * - 해시 파라미터를 바꾸면 로그인 성공 시 rehashIfOutdated로 응답과 별개로 다시 해시
+ */
+@Service
+public class PasswordHashService {
+	private final Argon2PasswordEncoder passwordEncoder;
+	private final ThreadPoolTaskExecutor executor;
+	private final long maxWaitMs;
+	private final MeterRegistry meterRegistry;
+	private final Counter rejectedCounter;
+	private final Counter rehashScheduledCounter;
+	private final Counter rehashSkippedCounter;
+
+	public PasswordHashService(Argon2PasswordEncoder passwordEncoder,
+		@Qualifier("passwordHashExecutor") ThreadPoolTaskExecutor executor,
+		@Value("${app.user.password-hash.max-wait-ms:2000}") long maxWaitMs, MeterRegistry meterRegistry) {
+		this.passwordEncoder = passwordEncoder;
+		this.executor = executor;
+		this.maxWaitMs = maxWaitMs;
+		this.meterRegistry = meterRegistry;
+		this.rejectedCounter = Counter.builder("password.hash.rejected")
+			.description("대기열이 가득 차거나 대기 시간이 지나 거절된 비밀번호 해시 요청 수")
+			.register(meterRegistry);
+		this.rehashScheduledCounter = Counter.builder("password.hash.rehash").tag("result", "scheduled")
+			.description("해시 파라미터가 바뀐 사용자의 재해시 (skipped: 해시 작업이 밀려 다음 로그인으로 미룸)")
+			.register(meterRegistry);
+		this.rehashSkippedCounter = Counter.builder("password.hash.rehash").tag("result", "skipped")
+			.description("해시 파라미터가 바뀐 사용자의 재해시 (skipped: 해시 작업이 밀려 다음 로그인으로 미룸)")
+			.register(meterRegistry);
+		Gauge.builder("password.hash.queue.depth", executor, pool -> pool.getThreadPoolExecutor().getQueue().size())
+			.description("비밀번호 해시 대기열 길이")
+			.register(meterRegistry);
+		Gauge.builder("password.hash.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+			.description("비밀번호 해시를 계산 중인 스레드 수")
+			.register(meterRegistry);
+	}
+
+	public String encode(String rawPassword) {
+		return await(timed("encode", () -> passwordEncoder.encode(rawPassword)));
+	}
+
+	public boolean matches(String rawPassword, String encodedPassword) {
+		return await(timed("matches", () -> passwordEncoder.matches(rawPassword, encodedPassword)));
+	}
+
+	/**
+	 * ✅ 요청 스레드를 기다리게 하지 않는 해시 (해시 파라미터 업그레이드 등 응답과 무관한 재해시용)
+	 * - 대기열이 가득 차면 실패한 future 반환 (다음 기회에 다시 시도)
+	 */
+	public CompletableFuture<String> encodeAsync(String rawPassword) {
+		try {
+			return CompletableFuture.supplyAsync(timed("encode", () -> passwordEncoder.encode(rawPassword)), executor);
+		} catch (TaskRejectedException e) {
+			rejectedCounter.increment();
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+
+	/**
+	 * ✅ 현재 설정과 다른 파라미터로 만든 해시면 백그라운드에서 다시 해시 (로그인 성공 직후 호출)
+	 * - 대기 중인 해시 작업이 있으면(로그인이 몰리는 중) 건너뛰고 다음 로그인 때 다시 시도
+	 * @param onRehashed 새 해시 저장 (해시 스레드에서 실행)
+	 * @return 다시 해시를 예약했는지 여부
+	 */
+	public boolean rehashIfOutdated(String rawPassword, String encodedPassword, Consumer<String> onRehashed) {
+		if (!passwordEncoder.upgradeEncoding(encodedPassword)) {
+			return false;
+		}
+		if (!executor.getThreadPoolExecutor().getQueue().isEmpty()) {
+			rehashSkippedCounter.increment();
+			return false;
+		}
+		encodeAsync(rawPassword)
+			.thenAccept(onRehashed)
+			.whenComplete((ignored, e) -> {
+				if (e != null) {
+					System.err.println("[WARN] 비밀번호 재해시 실패: " + e.getMessage());
+				}
+			});
+		rehashScheduledCounter.increment();
+		return true;
+	}
+
+	private <T> T await(Supplier<T> task) {
+		Future<T> future;
+		try {
+			future = executor.submit(task::get);
+		} catch (TaskRejectedException e) {
+			rejectedCounter.increment();
+			throw new UserServerBusyException("password_hash_queue_full");
+		}
+
+		try {
+			return future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			future.cancel(false); // 아직 대기 중이면 계산하지 않음
+			rejectedCounter.increment();
+			throw new UserServerBusyException("password_hash_timeout");
+		} catch (InterruptedException e) {
+			future.cancel(false);
+			Thread.currentThread().interrupt();
+			throw new UserServerBusyException("password_hash_interrupted");
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	// 대기열에서 기다린 시간과 해시 계산 시간을 나눠 기록
+	private <T> Supplier<T> timed(String operation, Supplier<T> task) {
+		long submittedAt = System.nanoTime();
+		return () -> {
+			long startedAt = System.nanoTime();
+			Timer.builder("password.hash.wait").tag("operation", operation)
+				.description("비밀번호 해시 대기열에서 기다린 시간")
+				.register(meterRegistry).record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+			try {
+				return task.get();
+			} finally {
+				Timer.builder("password.hash").tag("operation", operation)
+					.description("비밀번호 해시/검증 계산 시간")
+					.register(meterRegistry).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+			}
+		};
+	}
+}
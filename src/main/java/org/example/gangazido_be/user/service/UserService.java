@@ -14,7 +14,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -25,7 +24,7 @@ import java.util.Optional;
 public class UserService {
 	private final UserRepository userRepository;
 	private final PetRepository petRepository;
-	private final Argon2PasswordEncoder passwordEncoder;
+	private final PasswordHashService passwordHashService; // 해시 계산은 전용 스레드 풀에서 실행
 	private final UserS3FileService userS3FileService;
 	private final MarkerService markerService;
 	private final Logger logger = LoggerFactory.getLogger(UserService.class);
@@ -36,11 +35,11 @@ public class UserService {
 	@Autowired
 	public UserService(UserRepository userRepository,
 		PetRepository petRepository,
-		Argon2PasswordEncoder passwordEncoder,
+		PasswordHashService passwordHashService,
 		UserS3FileService userS3FileService, PetService petService, MarkerService markerService) {
 		this.userRepository = userRepository;
 		this.petRepository = petRepository;
-		this.passwordEncoder = passwordEncoder;
+		this.passwordHashService = passwordHashService;
 		this.userS3FileService = userS3FileService;
 		this.markerService = markerService;
 	}
@@ -144,7 +143,7 @@ public class UserService {
 
 		User newUser = User.builder()
 			.email(userDTO.getEmail())
-			.password(passwordEncoder.encode(userDTO.getPassword()))
+			.password(passwordHashService.encode(userDTO.getPassword()))
 			.nickname(userDTO.getNickname())
 			.profileImage(profileImageKey)  // URL 대신 key 저장
 			.build();
@@ -176,12 +175,18 @@ public class UserService {
 			});
 
 		// 비밀번호 검증
-		boolean matches = passwordEncoder.matches(password, user.getPassword());
+		boolean matches = passwordHashService.matches(password, user.getPassword());
 		if (!matches) {
 			logger.warn("로그인 실패: 이메일 {} 사용자의 비밀번호가 일치하지 않습니다.", email);
 			throw UserAuthenticationException.invalidPassword();
 		}
 
+		// 해시 파라미터가 바뀐 사용자는 응답을 기다리게 하지 않고 백그라운드에서 새 파라미터로 다시 해시
+		Integer userId = user.getId();
+		String oldPassword = user.getPassword();
+		passwordHashService.rehashIfOutdated(password, oldPassword,
+			newPassword -> userRepository.updatePasswordIfUnchanged(userId, oldPassword, newPassword));
+
 		return user;
 	}
 
@@ -346,7 +351,7 @@ public class UserService {
 			.orElseThrow(UserAuthenticationException::missingUser);
 
 		// 현재 비밀번호 확인
-		if (!passwordEncoder.matches(currentPassword, user.getPassword())) {
+		if (!passwordHashService.matches(currentPassword, user.getPassword())) {
 			throw UserAuthenticationException.invalidCurrentPassword();
 		}
 
@@ -356,7 +361,7 @@ public class UserService {
 		}
 
 		// 새 비밀번호 설정
-		user.setPassword(passwordEncoder.encode(newPassword));
+		user.setPassword(passwordHashService.encode(newPassword));
 
 		return userRepository.save(user);
 	}
@@ -0,0 +1,41 @@
+package org.example.gangazido_be.user.session;
+
+import org.example.gangazido_be.user.entity.User;
+
+import jakarta.servlet.http.HttpSession;
+
+/**
+ * SessionUser: 세션(Redis)에 저장하는 로그인 사용자 정보
+ * - User 엔티티(이메일, 비밀번호 해시, 시간 정보) 대신 요청 처리에 필요한 값만 저장
+ * - 불변 객체라 값이 바뀌면 새 객체로 교체 (닉네임/프로필 이미지 변경 시에만 세션에 다시 저장)
+ * - 직렬화 형식은 SessionUserRedisSerializer 참고 (version: 직렬화 형식 버전)
+ */
+public record SessionUser(int version, Integer id, String nickname, String profileImage) {
+	public static final String ATTRIBUTE = "user";
+	public static final int CURRENT_VERSION = 1;
+
+	public static SessionUser of(User user) {
+		return new SessionUser(CURRENT_VERSION, user.getId(), user.getNickname(), user.getProfileImage());
+	}
+
+	/**
+	 * ✅ 세션의 로그인 사용자 (로그인하지 않았으면 null)
+	 * - 이전 배포에서 User 엔티티를 통째로 저장한 세션은 SessionUser로 바꿔 다시 저장
+	 */
+	public static SessionUser current(HttpSession session) {
+		Object attribute = session.getAttribute(ATTRIBUTE);
+		if (attribute instanceof SessionUser sessionUser) {
+			return sessionUser;
+		}
+		if (attribute instanceof User user) {
+			SessionUser sessionUser = of(user);
+			session.setAttribute(ATTRIBUTE, sessionUser);
+			return sessionUser;
+		}
+		return null;
+	}
+
+	public static void save(HttpSession session, User user) {
+		session.setAttribute(ATTRIBUTE, of(user));
+	}
+}
@@ -0,0 +1,122 @@
+package org.example.gangazido_be.user.session;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * SessionUserRedisSerializer: Spring Session이 Redis 해시에 저장하는 값의 직렬화
+ * - 요청마다 읽고 쓰는 값(SessionUser, 생성/마지막 접근 시간, 만료 시간)은 고정 바이너리 형식으로 저장
+ *   [0x01][타입]['U': 버전(1) + id(4) + 닉네임 + 프로필 이미지 키 / 'L': long(8) / 'I': int(4)]
+ *   (문자열: 길이(2, null이면 -1) + UTF-8 바이트)
+ * - 그 밖의 값과 이전 배포에서 Java 직렬화로 저장한 값(0xAC로 시작)은 Java 직렬화로 처리
+ * - 모르는 SessionUser 버전은 null로 읽어 로그아웃 상태로 처리
+ */
+public class SessionUserRedisSerializer implements RedisSerializer<Object> {
+	private static final byte MARKER = 0x01;
+	private static final byte SESSION_USER = 'U';
+	private static final byte LONG = 'L';
+	private static final byte INTEGER = 'I';
+	private static final int NULL_ID = Integer.MIN_VALUE;
+
+	private final JdkSerializationRedisSerializer fallback;
+
+	public SessionUserRedisSerializer(ClassLoader classLoader) {
+		this.fallback = new JdkSerializationRedisSerializer(classLoader);
+	}
+
+	@Override
+	public byte[] serialize(Object value) throws SerializationException {
+		if (value instanceof SessionUser sessionUser) {
+			return serializeSessionUser(sessionUser);
+		}
+		if (value instanceof Long number) {
+			return ByteBuffer.allocate(10).put(MARKER).put(LONG).putLong(number).array();
+		}
+		if (value instanceof Integer number) {
+			return ByteBuffer.allocate(6).put(MARKER).put(INTEGER).putInt(number).array();
+		}
+		return fallback.serialize(value);
+	}
+
+	@Override
+	public Object deserialize(byte[] bytes) throws SerializationException {
+		if (bytes == null || bytes.length == 0) {
+			return null;
+		}
+		if (bytes[0] != MARKER) {
+			return fallback.deserialize(bytes);
+		}
+		try {
+			ByteBuffer buffer = ByteBuffer.wrap(bytes, 2, bytes.length - 2);
+			return switch (bytes[1]) {
+				case SESSION_USER -> deserializeSessionUser(buffer);
+				case LONG -> buffer.getLong();
+				case INTEGER -> buffer.getInt();
+				default -> throw new SerializationException("알 수 없는 세션 값 타입입니다: " + bytes[1]);
+			};
+		} catch (RuntimeException e) {
+			if (e instanceof SerializationException serializationException) {
+				throw serializationException;
+			}
+			throw new SerializationException("세션 값을 읽을 수 없습니다.", e);
+		}
+	}
+
+	private static byte[] serializeSessionUser(SessionUser sessionUser) {
+		byte[] nickname = encode(sessionUser.nickname());
+		byte[] profileImage = encode(sessionUser.profileImage());
+		int size = 2 + 1 + 4 + stringSize(nickname) + stringSize(profileImage);
+		ByteBuffer buffer = ByteBuffer.allocate(size)
+			.put(MARKER)
+			.put(SESSION_USER)
+			.put((byte)sessionUser.version())
+			.putInt(sessionUser.id() == null ? NULL_ID : sessionUser.id());
+		putString(buffer, nickname);
+		putString(buffer, profileImage);
+		return buffer.array();
+	}
+
+	private static SessionUser deserializeSessionUser(ByteBuffer buffer) {
+		int version = buffer.get();
+		if (version != SessionUser.CURRENT_VERSION) {
+			return null;
+		}
+		int id = buffer.getInt();
+		String nickname = getString(buffer);
+		String profileImage = getString(buffer);
+		return new SessionUser(version, id == NULL_ID ? null : id, nickname, profileImage);
+	}
+
+	private static byte[] encode(String value) {
+		return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static int stringSize(byte[] value) {
+		return 2 + (value == null ? 0 : value.length);
+	}
+
+	private static void putString(ByteBuffer buffer, byte[] value) {
+		if (value == null) {
+			buffer.putShort((short)-1);
+			return;
+		}
+		if (value.length > Short.MAX_VALUE) {
+			throw new SerializationException("세션에 저장할 문자열이 너무 깁니다: " + value.length + " bytes");
+		}
+		buffer.putShort((short)value.length).put(value);
+	}
+
+	private static String getString(ByteBuffer buffer) {
+		int length = buffer.getShort();
+		if (length < 0) {
+			return null;
+		}
+		String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+		buffer.position(buffer.position() + length);
+		return value;
+	}
+}
@@ -0,0 +1,43 @@
+-- 토큰 버킷 요청 제한 (RedisRateLimiter에서 사용, 모든 서버가 같은 버킷을 공유)
+-- KEYS[1]: 버킷 키, ARGV: capacity, refill_tokens, period_ms, max_lease
+-- period_ms마다 refill_tokens개를 한 번에 채움 (bucket4j Refill.intervally와 같은 방식)
+-- 버킷이 절반 이상 차 있으면 최대 max_lease개를 한 번에 빌려줌 (남는 토큰은 서버 로컬에서 사용)
+-- 반환: { 받은 토큰 수(0이면 거절), 남은 토큰 수, 다음 리필까지 남은 시간(ms) }
+redis.replicate_commands()
+
+local capacity = tonumber(ARGV[1])
+local refill = tonumber(ARGV[2])
+local period = tonumber(ARGV[3])
+local max_lease = tonumber(ARGV[4])
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local state = redis.call('HMGET', KEYS[1], 'tokens', 'refilled_at')
+local tokens = tonumber(state[1])
+local refilled_at = tonumber(state[2])
+if tokens == nil or refilled_at == nil then
+	tokens = capacity
+	refilled_at = now
+else
+	local periods = math.floor((now - refilled_at) / period)
+	if periods > 0 then
+		tokens = math.min(capacity, tokens + periods * refill)
+		refilled_at = refilled_at + periods * period
+	end
+end
+
+local granted = 0
+if tokens >= 1 then
+	granted = 1
+	if tokens * 2 > capacity then
+		granted = math.max(1, math.min(max_lease, tokens - math.floor(capacity / 2)))
+	end
+	tokens = tokens - granted
+end
+
+redis.call('HSET', KEYS[1], 'tokens', tokens, 'refilled_at', refilled_at)
+-- 이 시간 동안 요청이 없으면 버킷이 가득 찬 상태이므로 키를 지워도 결과가 같음
+redis.call('PEXPIRE', KEYS[1], period * math.ceil(capacity / refill))
+
+return { granted, tokens, refilled_at + period - now }
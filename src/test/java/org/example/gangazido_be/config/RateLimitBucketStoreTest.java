@@ -0,0 +1,65 @@
+package org.example.gangazido_be.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.github.bucket4j.Bucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimitBucketStoreTest {
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	// 서로 다른 키 100만 개(위조된 X-Forwarded-For 스캔)를 넣어도 보관 수와 힙 사용량이 max-entries 기준으로 제한되는지 확인
+	// - 힙 측정이라 기본 test에서는 제외: ./gradlew loadTest --tests '*RateLimitBucketStoreTest'
+	@Tag("load")
+	@Test
+	void millionDistinctKeysStayBounded() {
+		RateLimitBucketStore store = new RateLimitBucketStore(RateLimitPolicy.LOGIN, 100_000, meterRegistry);
+		Bucket frequent = store.getBucket("203.0.113.7");
+		frequent.tryConsume(10);
+
+		long heapBefore = usedHeap();
+		for (int i = 0; i < 1_000_000; i++) {
+			store.getBucket("10." + (i >> 16) + "." + ((i >> 8) & 0xff) + "." + (i & 0xff));
+			if (i % 10 == 0) {
+				store.getBucket("203.0.113.7"); // 자주 요청하는 클라이언트
+			}
+		}
+		long size = store.size();
+		long retainedMb = (usedHeap() - heapBefore) / (1024 * 1024);
+		System.out.printf("rate limit store: 1,000,000 keys -> %d entries, %d evictions, ~%d MB retained%n", size,
+			(long)meterRegistry.get("cache.evictions").tag("cache", "rate_limit.login").functionCounter().count(),
+			retainedMb);
+
+		assertThat(size).isLessThanOrEqualTo(100_000);
+		assertThat(retainedMb).isLessThan(100); // 제한이 없으면 100만 개 버킷으로 수백 MB
+		// 자주 쓰인 버킷은 제거되지 않고 소비한 토큰도 그대로 유지
+		assertThat(store.getBucket("203.0.113.7").getAvailableTokens()).isEqualTo(20);
+	}
+
+	@Test
+	void idleBucketIsEvictedAfterRefillPeriod() {
+		AtomicLong nanos = new AtomicLong();
+		RateLimitBucketStore store = new RateLimitBucketStore(RateLimitPolicy.MARKER, 1_000, meterRegistry, nanos::get);
+		store.getBucket("198.51.100.1").tryConsume(15);
+		assertThat(store.size()).isEqualTo(1);
+
+		nanos.addAndGet(TimeUnit.SECONDS.toNanos(30));
+		assertThat(store.size()).isEqualTo(1);
+		nanos.addAndGet(TimeUnit.SECONDS.toNanos(31));
+		assertThat(store.size()).isZero();
+	}
+
+	private static long usedHeap() {
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		Runtime runtime = Runtime.getRuntime();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
@@ -0,0 +1,116 @@
+package org.example.gangazido_be.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimitConfigTest {
+	private static final String SHARED_IP = "203.0.113.7"; // 통신사 NAT 뒤에서 모두 같은 IP로 보이는 상황
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final RateLimitConfig rateLimitConfig = new RateLimitConfig(100_000, meterRegistry, null,
+		false, 0.1, 1000, 5000);
+
+	@Test
+	void usersBehindOneIpHaveTheirOwnBuckets() throws Exception {
+		int users = 200;
+		long perUser = RateLimitPolicy.MARKER_USER.getCapacity();
+		AtomicInteger allowed = new AtomicInteger();
+		AtomicInteger rejected = new AtomicInteger();
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int user = 1; user <= users; user++) {
+				int userId = user;
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < perUser + 5; i++) {
+						if (rateLimitConfig.tryConsume(RateLimitPolicy.MARKER, userId, SHARED_IP)) {
+							allowed.incrementAndGet();
+						} else {
+							rejected.incrementAndGet();
+						}
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		// 사용자마다 capacity만큼 허용되고, 같은 IP의 익명 버킷은 건드리지 않음
+		assertThat(allowed.get()).isEqualTo(users * perUser);
+		assertThat(rejected.get()).isEqualTo(users * 5);
+		assertThat(rateLimitConfig.getBucket(RateLimitPolicy.MARKER, SHARED_IP).getAvailableTokens())
+			.isEqualTo(RateLimitPolicy.MARKER.getCapacity());
+	}
+
+	@Test
+	void oneUserAcrossManyIpsSharesOneBucket() {
+		int allowed = 0;
+		for (int i = 0; i < 100; i++) {
+			if (rateLimitConfig.tryConsume(RateLimitPolicy.CHAT, 7, "198.51.100." + i)) {
+				allowed++;
+			}
+		}
+
+		assertThat(allowed).isEqualTo(RateLimitPolicy.CHAT_USER.getCapacity());
+	}
+
+	@Test
+	void loggedInUsersGetHigherTierThanIp() {
+		for (RateLimitPolicy policy : List.of(RateLimitPolicy.IMAGE_UPLOAD, RateLimitPolicy.MARKER,
+			RateLimitPolicy.CHAT)) {
+			RateLimitPolicy userPolicy = policy.userPolicy();
+			assertThat(userPolicy.getCapacity()).as(policy.getKey()).isGreaterThan(policy.getCapacity());
+			assertThat(userPolicy.getRefillTokens()).as(policy.getKey()).isGreaterThan(policy.getRefillTokens());
+
+			// 로그인 사용자는 사용자 한도, 같은 IP의 익명 요청은 IP 한도까지 허용
+			assertThat(consumeUntilRejected(policy, 9, SHARED_IP)).isEqualTo(userPolicy.getCapacity());
+			assertThat(consumeUntilRejected(policy, null, SHARED_IP)).isEqualTo(policy.getCapacity());
+		}
+	}
+
+	@Test
+	void anonymousAndUserlessPoliciesUseIp() {
+		for (int i = 0; i < RateLimitPolicy.LOGIN.getCapacity(); i++) {
+			assertThat(rateLimitConfig.tryConsume(RateLimitPolicy.LOGIN, i, SHARED_IP)).isTrue();
+		}
+		assertThat(rateLimitConfig.tryConsume(RateLimitPolicy.LOGIN, null, SHARED_IP)).isFalse();
+	}
+
+	@Test
+	void recordsDecisionsPerPolicy() {
+		for (int i = 0; i < RateLimitPolicy.EMAIL_AUTH.getCapacity() + 2; i++) {
+			rateLimitConfig.tryConsume(RateLimitPolicy.EMAIL_AUTH, null, SHARED_IP);
+		}
+
+		assertThat(requests("email_auth", "allowed")).isEqualTo(RateLimitPolicy.EMAIL_AUTH.getCapacity());
+		assertThat(requests("email_auth", "rejected")).isEqualTo(2);
+		assertThat(meterRegistry.get("rate_limit.headroom").tag("policy", "email_auth").summary().count())
+			.isEqualTo(RateLimitPolicy.EMAIL_AUTH.getCapacity() + 2);
+	}
+
+	private long consumeUntilRejected(RateLimitPolicy policy, Integer userId, String ipAddress) {
+		long allowed = 0;
+		while (rateLimitConfig.tryConsume(policy, userId, ipAddress)) {
+			allowed++;
+		}
+		return allowed;
+	}
+
+	private double requests(String policy, String result) {
+		return meterRegistry.get("rate_limit.requests").tag("policy", policy).tag("result", result).counter().count();
+	}
+}
@@ -0,0 +1,78 @@
+package org.example.gangazido_be.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RedisRateLimiterTest {
+	@SuppressWarnings("unchecked")
+	private final RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final RedisRateLimiter limiter = new RedisRateLimiter(redisTemplate, 0.1, Duration.ofSeconds(1), 5_000,
+		1_000, meterRegistry);
+
+	@Test
+	void leasedTokensSkipRedis() {
+		// 중복 확인(1분당 100회): 버킷이 가득 차 있으면 10개를 빌려옴 → 10회 중 1회만 Redis 호출
+		givenScriptResult(List.of(10L, 90L, 60_000L));
+		for (int i = 0; i < 10; i++) {
+			ConsumptionProbe probe = limiter.tryConsume(RateLimitPolicy.DUPLICATE_CHECK, "203.0.113.7");
+			assertThat(probe.isConsumed()).isTrue();
+			assertThat(probe.getRemainingTokens()).isEqualTo(99 - i);
+		}
+		verifyScriptCalls(1);
+
+		givenScriptResult(List.of(0L, 0L, 30_000L));
+		ConsumptionProbe rejected = limiter.tryConsume(RateLimitPolicy.DUPLICATE_CHECK, "203.0.113.7");
+		assertThat(rejected.isConsumed()).isFalse();
+		assertThat(rejected.getNanosToWaitForRefill()).isEqualTo(Duration.ofSeconds(30).toNanos());
+		verifyScriptCalls(2);
+		assertThat(meterRegistry.get("rate_limit.redis.decisions").tag("source", "near_cache").counter().count())
+			.isEqualTo(9);
+	}
+
+	@Test
+	void fallsBackWhenRedisIsDown() {
+		when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any(), any()))
+			.thenThrow(new RedisConnectionFailureException("connection refused"));
+
+		assertThat(limiter.tryConsume(RateLimitPolicy.LOGIN, "203.0.113.7")).isNull();
+		assertThat(limiter.tryConsume(RateLimitPolicy.LOGIN, "203.0.113.7")).isNull();
+		verifyScriptCalls(1); // 실패 후 retry-after-failure-ms 동안은 Redis를 호출하지 않음
+	}
+
+	// Redis 왕복은 near-cache에 토큰이 없을 때만 발생 (임대 토큰 10개 → 요청 10건 중 1건 정도만 Redis 호출)
+	@Test
+	void nearCacheServesMostRequests() {
+		givenScriptResult(List.of(10L, 90L, 60_000L));
+		int requests = 10_000;
+		for (int i = 0; i < requests; i++) {
+			limiter.tryConsume(RateLimitPolicy.DUPLICATE_CHECK, "203.0.113." + (i & 63));
+		}
+		double redisCalls = meterRegistry.get("rate_limit.redis.decisions").tag("source", "redis").counter().count();
+		assertThat(redisCalls / requests).isLessThan(0.11);
+	}
+
+	private void givenScriptResult(List<Long> result) {
+		when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any(), any())).thenReturn(result);
+	}
+
+	private void verifyScriptCalls(int calls) {
+		verify(redisTemplate, times(calls)).execute(any(RedisScript.class), anyList(), any(), any(), any(), any());
+	}
+}
@@ -0,0 +1,56 @@
+package org.example.gangazido_be.gpt.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.example.gangazido_be.gpt.service.WeatherBatchService;
+import org.example.gangazido_be.gpt.service.WeatherService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+// 범위를 벗어난 좌표는 캐시 셀/OpenWeather 호출을 만들기 전에 400으로 거절
+class WeatherControllerTest {
+	private final WeatherService weatherService = mock(WeatherService.class);
+	private final WeatherBatchService weatherBatchService = mock(WeatherBatchService.class);
+	private final MockMvc mockMvc = MockMvcBuilders
+		.standaloneSetup(new WeatherController(weatherService, weatherBatchService, 20))
+		.build();
+
+	@ParameterizedTest
+	@CsvSource({"91, 126.978", "-90.01, 126.978", "37.5665, 180.5", "37.5665, -181", "NaN, 126.978",
+		"37.5665, Infinity"})
+	void singleWeatherRejectsInvalidCoordinate(String lat, String lon) throws Exception {
+		mockMvc.perform(get("/api/weather").param("lat", lat).param("lon", lon))
+			.andExpect(status().isBadRequest());
+
+		verifyNoInteractions(weatherService);
+	}
+
+	@Test
+	void batchRejectsInvalidLocationBeforeLookup() throws Exception {
+		mockMvc.perform(post("/api/weather/batch")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"locations\": [{\"lat\": 37.5665, \"lon\": 126.978}, {\"lat\": 137.5665, \"lon\": 126.978}]}"))
+			.andExpect(status().isBadRequest())
+			.andExpect(content().json("{\"message\": \"invalid_locations\"}"));
+
+		verifyNoInteractions(weatherBatchService);
+	}
+
+	@Test
+	void coordinateBoundsAreInclusive() {
+		assertThat(WeatherService.isValidCoordinate(90, 180)).isTrue();
+		assertThat(WeatherService.isValidCoordinate(-90, -180)).isTrue();
+		assertThat(WeatherService.isValidCoordinate(Double.NaN, 0)).isFalse();
+		assertThat(WeatherService.isValidCoordinate(0, Double.NEGATIVE_INFINITY)).isFalse();
+	}
+}
@@ -0,0 +1,100 @@
+package org.example.gangazido_be.gpt.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.example.gangazido_be.gpt.exception.GptAdmissionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class GptAdmissionControllerTest {
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	// 대기 중인 요청들이 동시에 대기열에 있어야 하므로 공용 풀(코어 수에 따라 스레드 1개일 수 있음) 대신 별도 스레드 사용
+	private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+	@AfterEach
+	void shutdown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void higherPriorityIsAdmittedFirst() throws Exception {
+		// 분당 600회 = 100ms마다 1회, 처음 채워진 한도는 모두 사용
+		GptAdmissionController controller = new GptAdmissionController(true, 600, 1_000_000, 10, 5_000, meterRegistry);
+		for (int i = 0; i < 600; i++) {
+			controller.acquire(GptPriority.NORMAL, "", null);
+		}
+
+		List<GptPriority> admitted = new CopyOnWriteArrayList<>();
+		CompletableFuture<Void> low = CompletableFuture.runAsync(() -> {
+			controller.acquire(GptPriority.LOW, "", null);
+			admitted.add(GptPriority.LOW);
+		}, executor);
+		awaitQueueDepth(1);
+		CompletableFuture<Void> high = CompletableFuture.runAsync(() -> {
+			controller.acquire(GptPriority.HIGH, "", null);
+			admitted.add(GptPriority.HIGH);
+		}, executor);
+
+		CompletableFuture.allOf(low, high).get(5, TimeUnit.SECONDS);
+		assertThat(admitted).containsExactly(GptPriority.HIGH, GptPriority.LOW);
+		assertThat(meterRegistry.get("gpt.admission.wait").tag("priority", "low").tag("result", "admitted").timer()
+			.totalTime(TimeUnit.MILLISECONDS)).isGreaterThan(100);
+	}
+
+	@Test
+	void shedsWhenDeadlinePasses() {
+		GptAdmissionController controller = new GptAdmissionController(true, 1, 1_000_000, 10, 50, meterRegistry);
+		controller.acquire(GptPriority.HIGH, "", null);
+
+		assertThatThrownBy(() -> controller.acquire(GptPriority.HIGH, "", null))
+			.isInstanceOf(GptAdmissionException.class)
+			.extracting("reason").isEqualTo("queue_timeout");
+		assertThat(meterRegistry.get("gpt.admission.queue.depth").gauge().value()).isZero();
+	}
+
+	@Test
+	void fullQueueEvictsLowerPriority() throws Exception {
+		GptAdmissionController controller = new GptAdmissionController(true, 1, 1_000_000, 1, 300, meterRegistry);
+		controller.acquire(GptPriority.HIGH, "", null);
+
+		CompletableFuture<Void> low = CompletableFuture.runAsync(() -> controller.acquire(GptPriority.LOW, "", null), executor);
+		awaitQueueDepth(1);
+		CompletableFuture<Void> high = CompletableFuture.runAsync(() -> controller.acquire(GptPriority.HIGH, "", null), executor);
+
+		assertThatThrownBy(() -> low.get(1, TimeUnit.SECONDS)).hasCauseInstanceOf(GptAdmissionException.class)
+			.cause().extracting("reason").isEqualTo("queue_full");
+		// 새로 들어온 HIGH 요청보다 낮은 우선순위는 없으므로 다른 요청은 거절
+		assertThatThrownBy(() -> controller.acquire(GptPriority.LOW, "", null)).extracting("reason").isEqualTo("queue_full");
+		assertThatThrownBy(() -> high.get(1, TimeUnit.SECONDS)).cause().extracting("reason").isEqualTo("queue_timeout");
+	}
+
+	@Test
+	void tokenBudgetLimitsLargePrompts() {
+		// 프롬프트 700자 + 예상 답변 300 토큰 = 1000 토큰
+		GptAdmissionController controller = new GptAdmissionController(true, 1_000, 1_500, 10, 50, meterRegistry);
+		String prompt = "가".repeat(700);
+		controller.acquire(GptPriority.HIGH, prompt, null);
+
+		assertThatThrownBy(() -> controller.acquire(GptPriority.HIGH, prompt, null)).extracting("reason").isEqualTo("queue_timeout");
+		controller.acquire(GptPriority.HIGH, "", null); // 300 토큰은 남아 있음
+		controller.acquire(GptPriority.HIGH, "가".repeat(150), 50); // max_tokens가 있으면 추정치 대신 사용 (150 + 50 토큰)
+	}
+
+	private void awaitQueueDepth(int depth) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 2_000;
+		while (meterRegistry.get("gpt.admission.queue.depth").gauge().value() < depth) {
+			assertThat(System.currentTimeMillis()).isLessThan(deadline);
+			Thread.sleep(5);
+		}
+	}
+}
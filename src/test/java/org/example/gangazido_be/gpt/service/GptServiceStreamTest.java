@@ -0,0 +1,91 @@
+package org.example.gangazido_be.gpt.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.example.gangazido_be.gpt.config.UpstreamClientConfig;
+import org.example.gangazido_be.gpt.dto.GptCompletion;
+import org.example.gangazido_be.gpt.dto.GptRoute;
+import org.example.gangazido_be.pet.repository.PetRepository;
+import org.example.gangazido_be.support.UpstreamStubServer;
+import org.example.gangazido_be.support.UpstreamStubServer.Behavior;
+import org.example.gangazido_be.support.UpstreamStubServer.Latency;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class GptServiceStreamTest {
+	private static final GptRoute ROUTE = new GptRoute("walk_check", "gpt-4o-mini", 0.7, null, "산책 도우미");
+
+	private UpstreamStubServer stub;
+	private CircuitBreaker circuitBreaker;
+	private GptService gptService;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		stub = new UpstreamStubServer(0, new Behavior(Latency.fixed(0), 0, 500), new Behavior(Latency.fixed(0), 0, 500));
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		UpstreamClientConfig upstreamConfig = new UpstreamClientConfig();
+		circuitBreaker = upstreamConfig.openAiCircuitBreaker(upstreamConfig.circuitBreakerRegistry(meterRegistry));
+
+		OpenAiConfig openAiConfig = new OpenAiConfig();
+		ReflectionTestUtils.setField(openAiConfig, "apiKey", "stub-key");
+		ReflectionTestUtils.setField(openAiConfig, "apiUrl", stub.openAiUrl());
+		RestTemplate restTemplate = new RestTemplateBuilder()
+			.setConnectTimeout(Duration.ofSeconds(3)).setReadTimeout(Duration.ofSeconds(10)).build();
+		gptService = new GptService(mock(PetRepository.class), openAiConfig, restTemplate, circuitBreaker,
+			new ObjectMapper(), new GptAdmissionController(true, 100_000, 100_000_000, 100, 5_000, meterRegistry),
+			meterRegistry);
+	}
+
+	@AfterEach
+	void tearDown() {
+		stub.close();
+	}
+
+	@Test
+	void parsesStreamedCompletion() {
+		List<String> tokens = new ArrayList<>();
+
+		GptCompletion completion = gptService.streamText("오늘 산책해도 될까?", ROUTE, GptPriority.HIGH, tokens::add);
+
+		// 청크마다 delta.content를 전달하고, 마지막 청크의 usage로 토큰 사용량을 채움
+		assertThat(tokens).hasSizeGreaterThan(1);
+		assertThat(String.join("", tokens)).isEqualTo(completion.content());
+		assertThat(completion.content()).startsWith("{\"recommendation\": \"산책 추천\"").endsWith("]}");
+		assertThat(completion.promptTokens()).isPositive();
+		assertThat(completion.completionTokens()).isPositive();
+		assertThat(stub.requestCount("chat")).isEqualTo(1);
+		assertThat(circuitBreaker.getMetrics().getNumberOfSuccessfulCalls()).isEqualTo(1);
+	}
+
+	@Test
+	void clientDisconnectLeavesBreakerClosed() {
+		// 서킷 브레이커 최소 호출 수(10)를 넘겨도 클라이언트 연결 종료는 실패로 집계하지 않음
+		for (int i = 0; i < 12; i++) {
+			assertThatThrownBy(() -> gptService.streamText("오늘 산책해도 될까?", ROUTE, GptPriority.HIGH, token -> {
+				throw new UncheckedIOException(new IOException("Broken pipe"));
+			})).isInstanceOf(UncheckedIOException.class);
+		}
+
+		assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+		assertThat(circuitBreaker.getMetrics().getNumberOfFailedCalls()).isZero();
+		assertThat(gptService.isAvailable()).isTrue();
+		assertThat(stub.requestCount("chat")).isEqualTo(12);
+	}
+}
@@ -0,0 +1,102 @@
+package org.example.gangazido_be.gpt.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.example.gangazido_be.gpt.dto.WeatherBatchRequest.Location;
+import org.example.gangazido_be.gpt.dto.WeatherBatchResponse;
+import org.example.gangazido_be.gpt.dto.WeatherSnapshot;
+import org.example.gangazido_be.gpt.exception.UpstreamUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+class WeatherBatchServiceTest {
+	private final WeatherService weatherService = mock(WeatherService.class);
+	private final ThreadPoolTaskExecutor executor = createExecutor();
+	private final WeatherBatchService batchService = new WeatherBatchService(weatherService, executor, 5_000);
+
+	@AfterEach
+	void shutdown() {
+		executor.shutdown();
+	}
+
+	@Test
+	void dedupesCellsAndUsesCacheFirst() {
+		WeatherSnapshot seoul = new WeatherSnapshot("Clear", 21.5, 35.0, 12.0);
+		WeatherSnapshot busan = new WeatherSnapshot("Rain", 18.0, 20.0, 8.0);
+		when(weatherService.findCachedWeather(37.5665, 126.978)).thenReturn(seoul);
+		when(weatherService.fetchWeather(35.1796, 129.0756)).thenReturn(busan);
+
+		// 두 번째 위치는 첫 번째와 같은 셀, 네 번째 위치는 세 번째와 같은 셀
+		WeatherBatchResponse response = batchService.getWeather(List.of(new Location(37.5665, 126.978),
+			new Location(37.5668, 126.9781), new Location(35.1796, 129.0756), new Location(35.1799, 129.0758)));
+
+		assertThat(response.results()).extracting(result -> result.weather().condition())
+			.containsExactly("Clear", "Clear", "Rain", "Rain");
+		assertThat(response.results().get(1).lat()).isEqualTo(37.5668);
+		verify(weatherService, times(2)).findCachedWeather(anyDouble(), anyDouble());
+		verify(weatherService, times(1)).fetchWeather(anyDouble(), anyDouble());
+		verify(weatherService, never()).getCachedWeather(anyDouble(), anyDouble()); // 미리 갱신 대상으로 기록하지 않음
+	}
+
+	@Test
+	void failedLocationsDoNotFailBatch() {
+		when(weatherService.fetchWeather(37.5665, 126.978)).thenReturn(new WeatherSnapshot("Clear", 21.5, 35.0, 12.0));
+		when(weatherService.fetchWeather(35.1796, 129.0756))
+			.thenThrow(new UpstreamUnavailableException("openweather", null));
+
+		WeatherBatchResponse response = batchService.getWeather(List.of(new Location(37.5665, 126.978),
+			new Location(35.1796, 129.0756)));
+
+		assertThat(response.results().get(0).airQuality().pm25()).isEqualTo(12.0);
+		assertThat(response.results().get(1).weather()).isNull();
+		assertThat(response.results().get(1).message()).isEqualTo("weather_server_unavailable");
+	}
+
+	@Test
+	void rejectsInsteadOfCallingOnRequestThreadWhenQueueIsFull() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		when(weatherService.fetchWeather(anyDouble(), anyDouble())).thenAnswer(invocation -> {
+			release.await(5, TimeUnit.SECONDS);
+			return new WeatherSnapshot("Clear", 21.5, 35.0, 12.0);
+		});
+		ThreadPoolTaskExecutor small = new ThreadPoolTaskExecutor();
+		small.setCorePoolSize(1);
+		small.setMaxPoolSize(1);
+		small.setQueueCapacity(1);
+		small.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+		small.initialize();
+		WeatherBatchService smallBatchService = new WeatherBatchService(weatherService, small, 5_000);
+
+		try {
+			// 스레드 1개 + 대기열 1칸을 넘는 세 번째 셀에서 거절
+			assertThatThrownBy(() -> smallBatchService.getWeather(List.of(new Location(37.56, 126.97),
+				new Location(35.17, 129.07), new Location(33.49, 126.53))))
+				.isInstanceOf(TaskRejectedException.class);
+		} finally {
+			release.countDown();
+			small.shutdown();
+		}
+	}
+
+	private static ThreadPoolTaskExecutor createExecutor() {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(2);
+		executor.setMaxPoolSize(2);
+		executor.initialize();
+		return executor;
+	}
+}
@@ -0,0 +1,72 @@
+package org.example.gangazido_be.interceptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class ClientIpResolverTest {
+	private final ClientIpResolver resolver = new ClientIpResolver(List.of("10.0.0.0/8", "2001:db8::/32"));
+
+	@Test
+	void ignoresForwardedHeadersFromUntrustedPeers() {
+		MockHttpServletRequest request = request("198.51.100.20", "1.2.3.4");
+		request.addHeader("Proxy-Client-IP", "5.6.7.8");
+
+		assertThat(resolver.resolve(request)).isEqualTo("198.51.100.20");
+	}
+
+	@Test
+	void takesRightmostUntrustedAddressBehindTrustedProxies() {
+		// 클라이언트가 왼쪽에 위조한 값은 무시하고, 로드 밸런서(10.0.0.5)가 붙인 값부터 읽음
+		assertThat(resolver.resolve(request("10.0.0.5", "6.6.6.6, 203.0.113.9"))).isEqualTo("203.0.113.9");
+		assertThat(resolver.resolve(request("10.0.0.5", " 203.0.113.9 ,10.1.2.3,  10.0.0.7 "))).isEqualTo("203.0.113.9");
+		assertThat(resolver.resolve(request("2001:db8::1", "2001:db8:0:0:0:0:0:2, 2001:db8::3")))
+			.isEqualTo("2001:db8:0:0:0:0:0:2");
+		assertThat(resolver.resolve(request("2001:db8::1", "2001:db9::3"))).isEqualTo("2001:db9::3");
+	}
+
+	@Test
+	void fallsBackToRemoteAddressWithoutHeader() {
+		assertThat(resolver.resolve(request("10.0.0.5", null))).isEqualTo("10.0.0.5");
+		assertThat(resolver.resolve(request("10.0.0.5", "10.0.0.9"))).isEqualTo("10.0.0.9");
+	}
+
+	@Test
+	void cachesResultForTheRequest() {
+		MockHttpServletRequest request = request("10.0.0.5", "203.0.113.9");
+		String first = resolver.resolve(request);
+
+		assertThat(resolver.resolve(request)).isSameAs(first);
+		assertThat(request.getAttribute(ClientIpResolver.ATTRIBUTE)).isEqualTo("203.0.113.9");
+	}
+
+	@Test
+	void parsesAddressesInPlace() {
+		long[] address = new long[2];
+		assertThat(ClientIpResolver.parse("x 192.168.1.10 x", 2, 14, address)).isTrue();
+		assertThat(address).containsExactly(0L, 0xffff_c0a8_010aL);
+		assertThat(ClientIpResolver.parse("::1", 0, 3, address)).isTrue();
+		assertThat(address).containsExactly(0L, 1L);
+		assertThat(ClientIpResolver.parse("fe80::1:2", 0, 9, address)).isTrue();
+		assertThat(address).containsExactly(0xfe80_0000_0000_0000L, 0x0000_0000_0001_0002L);
+
+		for (String invalid : List.of("256.1.1.1", "1.2.3", "1.2.3.4.5", "unknown", "1::2::3", "12345::", "1:2", "")) {
+			assertThat(ClientIpResolver.parse(invalid, 0, invalid.length(), address)).as(invalid).isFalse();
+		}
+		assertThatThrownBy(() -> new ClientIpResolver(List.of("10.0.0.0/33")))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setRemoteAddr(remoteAddr);
+		if (forwardedFor != null) {
+			request.addHeader("X-Forwarded-For", forwardedFor);
+		}
+		return request;
+	}
+}
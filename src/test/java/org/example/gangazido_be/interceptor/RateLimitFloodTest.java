@@ -0,0 +1,100 @@
+package org.example.gangazido_be.interceptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.example.gangazido_be.config.RateLimitConfig;
+import org.example.gangazido_be.config.RateLimitPolicy;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 요청 제한 초과 요청 폭주(flood) 벤치마크: 버킷을 다 쓴 IP 하나가 로그인 API를 계속 호출할 때 코어당 초당 거절 수
+ * - 실행: ./gradlew loadTest --tests '*RateLimitFloodTest' -Dload.durationSeconds=10 -Dload.threads=4
+ * - Redis 없이 로컬 버킷 사용 (Redis를 쓰면 near-cache에 토큰이 없으므로 거절마다 Redis 왕복이 추가됨)
+ * - 거절 1건당 할당 바이트도 출력 (MockHttpServletResponse 자체의 할당 포함)
+ */
+@Tag("load")
+class RateLimitFloodTest {
+	private static final String ATTACKER_IP = "203.0.113.66";
+
+	private final int durationSeconds = Integer.getInteger("load.durationSeconds", 10);
+	private final int threads = Integer.getInteger("load.threads", Runtime.getRuntime().availableProcessors());
+
+	@Test
+	void rejectionsPerSecondPerCore() throws Exception {
+		RateLimitConfig rateLimitConfig = new RateLimitConfig(100_000, new SimpleMeterRegistry(), null, false, 0.1,
+			1000, 5000);
+		RateLimitInterceptor interceptor = new RateLimitInterceptor(rateLimitConfig, new ObjectMapper(),
+			new ClientIpResolver(List.of("10.0.0.0/8", "127.0.0.0/8")));
+		HandlerMethod handler = new HandlerMethod(new LoginController(), LoginController.class.getDeclaredMethod("login"));
+		rateLimitConfig.getBucket(RateLimitPolicy.LOGIN, ATTACKER_IP).tryConsume(RateLimitPolicy.LOGIN.getCapacity());
+
+		// 워밍업 (JIT 컴파일)
+		flood(interceptor, handler, TimeUnit.SECONDS.toNanos(2));
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		List<Future<long[]>> futures = new ArrayList<>();
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+		for (int i = 0; i < threads; i++) {
+			futures.add(executor.submit(() -> flood(interceptor, handler, deadline - System.nanoTime())));
+		}
+		long rejections = 0;
+		long allocatedBytes = 0;
+		for (Future<long[]> future : futures) {
+			long[] result = future.get();
+			rejections += result[0];
+			allocatedBytes += result[1];
+		}
+		executor.shutdown();
+
+		int cores = Math.min(threads, Runtime.getRuntime().availableProcessors());
+		System.out.printf("rate limit flood: threads=%d, %d rejections in %ds, %.0f rejections/s/core, %d bytes/rejection%n",
+			threads, rejections, durationSeconds, (double)rejections / durationSeconds / cores,
+			rejections == 0 ? 0 : allocatedBytes / rejections);
+		assertThat(rejections).isPositive();
+	}
+
+	// 제한 시간 동안 거절 응답을 반복 생성 → {거절 수, 이 스레드가 할당한 바이트}
+	private static long[] flood(RateLimitInterceptor interceptor, HandlerMethod handler, long durationNanos)
+		throws Exception {
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/v1/users/login");
+		request.addHeader("X-Forwarded-For", ATTACKER_IP + ", 10.0.0.1");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		long allocatedBefore = threadBean.getCurrentThreadAllocatedBytes();
+		long deadline = System.nanoTime() + durationNanos;
+		long rejections = 0;
+		while (System.nanoTime() < deadline) {
+			for (int i = 0; i < 1_000; i++) {
+				request.clearAttributes(); // 요청마다 클라이언트 IP를 새로 계산
+				response.reset();
+				if (!interceptor.preHandle(request, response, handler)) {
+					rejections++;
+				}
+			}
+		}
+		return new long[] {rejections, threadBean.getCurrentThreadAllocatedBytes() - allocatedBefore};
+	}
+
+	static class LoginController {
+		@RateLimited(RateLimitPolicy.LOGIN)
+		void login() {
+		}
+	}
+}
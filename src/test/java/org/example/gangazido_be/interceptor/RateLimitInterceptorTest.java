@@ -0,0 +1,152 @@
+package org.example.gangazido_be.interceptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.example.gangazido_be.config.RateLimitConfig;
+import org.example.gangazido_be.config.RateLimitPolicy;
+import org.example.gangazido_be.user.session.SessionUser;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.method.HandlerMethod;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.bucket4j.ConsumptionProbe;
+
+class RateLimitInterceptorTest {
+	private final RateLimitConfig rateLimitConfig = mock(RateLimitConfig.class);
+	private final RateLimitInterceptor interceptor = new RateLimitInterceptor(rateLimitConfig, new ObjectMapper(),
+		new ClientIpResolver(List.of("10.0.0.0/8", "127.0.0.0/8")));
+	private final SampleController controller = new SampleController();
+
+	@Test
+	void skipsHandlersWithoutPolicy() throws Exception {
+		boolean allowed = interceptor.preHandle(request(), new MockHttpServletResponse(), handler("open"));
+
+		assertThat(allowed).isTrue();
+		verifyNoInteractions(rateLimitConfig);
+	}
+
+	@Test
+	void limitsWithDeclaredPolicy() throws Exception {
+		when(rateLimitConfig.tryConsumeAndReturnRemaining(any(), any(), anyString())).thenReturn(
+			ConsumptionProbe.consumed(3, 0),
+			ConsumptionProbe.rejected(0, Duration.ofMillis(12_300).toNanos(), Duration.ofMinutes(1).toNanos()));
+
+		MockHttpServletResponse allowed = new MockHttpServletResponse();
+		assertThat(interceptor.preHandle(request(), allowed, handler("chat"))).isTrue();
+		assertThat(allowed.getHeader("X-RateLimit-Remaining")).isEqualTo("3");
+		assertThat(allowed.getHeader("Retry-After")).isNull();
+
+		MockHttpServletResponse rejected = new MockHttpServletResponse();
+		assertThat(interceptor.preHandle(request(), rejected, handler("chat"))).isFalse();
+		assertThat(rejected.getStatus()).isEqualTo(429);
+		assertThat(rejected.getHeader("X-RateLimit-Remaining")).isEqualTo("0");
+		assertThat(rejected.getHeader("Retry-After")).isEqualTo("13");
+		assertThat(rejected.getContentAsString()).contains("\"message\":\"too_many_requests\"");
+		verify(rateLimitConfig, times(2))
+			.tryConsumeAndReturnRemaining(eq(RateLimitPolicy.CHAT), isNull(), eq("10.0.0.1"));
+	}
+
+	@Test
+	void passesSessionUserId() throws Exception {
+		when(rateLimitConfig.tryConsumeAndReturnRemaining(any(), any(), anyString()))
+			.thenReturn(ConsumptionProbe.consumed(4, 0));
+		MockHttpServletRequest request = request();
+		request.getSession().setAttribute(SessionUser.ATTRIBUTE,
+			new SessionUser(SessionUser.CURRENT_VERSION, 42, "user", null));
+
+		interceptor.preHandle(request, new MockHttpServletResponse(), handler("chat"));
+
+		verify(rateLimitConfig).tryConsumeAndReturnRemaining(RateLimitPolicy.CHAT, 42, "10.0.0.1");
+	}
+
+	@Test
+	void consumesOneTokenPerAsyncRequest() throws Exception {
+		when(rateLimitConfig.tryConsumeAndReturnRemaining(any(), any(), anyString()))
+			.thenReturn(ConsumptionProbe.consumed(4, 0));
+		MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new AsyncController()).addInterceptors(interceptor).build();
+
+		MvcResult started = mockMvc.perform(post("/async-chat").with(request -> {
+			request.setRemoteAddr("10.0.0.1");
+			return request;
+		})).andExpect(MockMvcResultMatchers.request().asyncStarted()).andReturn();
+		mockMvc.perform(asyncDispatch(started))
+			.andExpect(content().string("done"))
+			.andExpect(header().string("X-RateLimit-Remaining", "4"));
+
+		verify(rateLimitConfig, times(1)).tryConsumeAndReturnRemaining(RateLimitPolicy.CHAT, null, "10.0.0.1");
+	}
+
+	@Test
+	void resolvesPolicyOncePerMethod() throws Exception {
+		RateLimitInterceptor.Rule first = interceptor.resolve(handler("login"));
+		RateLimitInterceptor.Rule second = interceptor.resolve(handler("login"));
+
+		assertThat(first.policy()).isEqualTo(RateLimitPolicy.LOGIN);
+		assertThat(new String(first.rejectionBody(), StandardCharsets.UTF_8)).contains(RateLimited.DEFAULT_MESSAGE);
+		assertThat(second).isSameAs(first);
+		assertThat(interceptor.resolve(handler("open"))).isNull();
+	}
+
+	private HandlerMethod handler(String name) throws NoSuchMethodException {
+		Method method = SampleController.class.getDeclaredMethod(name);
+		return new HandlerMethod(controller, method); // 요청마다 새 HandlerMethod가 만들어지는 상황과 같게
+	}
+
+	private static MockHttpServletRequest request() {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/sample");
+		request.setRemoteAddr("10.0.0.1");
+		return request;
+	}
+
+	@RestController
+	static class AsyncController {
+		@PostMapping("/async-chat")
+		@RateLimited(RateLimitPolicy.CHAT)
+		DeferredResult<String> chat() {
+			DeferredResult<String> result = new DeferredResult<>();
+			result.setResult("done");
+			return result;
+		}
+	}
+
+	static class SampleController {
+		void open() {
+		}
+
+		@RateLimited(RateLimitPolicy.LOGIN)
+		void login() {
+		}
+
+		@RateLimited(value = RateLimitPolicy.CHAT, message = "too_many_requests")
+		void chat() {
+		}
+	}
+}
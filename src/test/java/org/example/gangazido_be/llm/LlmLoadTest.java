@@ -0,0 +1,300 @@
+package org.example.gangazido_be.llm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.example.gangazido_be.gpt.config.UpstreamClientConfig;
+import org.example.gangazido_be.gpt.service.GptAdmissionController;
+import org.example.gangazido_be.gpt.service.GptService;
+import org.example.gangazido_be.gpt.service.OpenAiConfig;
+import org.example.gangazido_be.gpt.service.WeatherDemandTracker;
+import org.example.gangazido_be.gpt.service.WeatherService;
+import org.example.gangazido_be.llm.config.LlmConfig;
+import org.example.gangazido_be.llm.controller.LlmController;
+import org.example.gangazido_be.llm.model.LlmRequest;
+import org.example.gangazido_be.llm.model.LlmResponse;
+import org.example.gangazido_be.llm.prompt.PromptTemplateRegistry;
+import org.example.gangazido_be.llm.service.ConversationMemory;
+import org.example.gangazido_be.llm.service.LlmMetrics;
+import org.example.gangazido_be.llm.service.LlmResponseCache;
+import org.example.gangazido_be.llm.service.LlmService;
+import org.example.gangazido_be.llm.service.WalkSuitabilityEngine;
+import org.example.gangazido_be.pet.entity.Pet;
+import org.example.gangazido_be.pet.repository.PetRepository;
+import org.example.gangazido_be.support.UpstreamStubServer;
+import org.example.gangazido_be.support.UpstreamStubServer.Behavior;
+import org.example.gangazido_be.support.UpstreamStubServer.Latency;
+import org.example.gangazido_be.user.session.SessionUser;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * /v1/llm 부하 테스트: 스텁 OpenAI/OpenWeather 서버를 띄우고 LlmController를 목표 RPS로 호출 (open-loop)
+ * - 실행: ./gradlew loadTest -Dload.rps=20 -Dload.durationSeconds=30 -Dload.poolSize=16
+ * - OpenAI 한도 대기열 확인: -Dload.admissionRpm=300 (기본값은 사실상 무제한)
+ * - 다른 API 격리 확인: ./gradlew loadTest --tests '*LlmLoadTest.otherEndpointsStayResponsiveWhileLlmExecutorIsSaturated'
+ * - DB/Redis 없이 실행하기 위해 반려견 조회는 mock, 응답 캐시와 대화 기록은 끔 (요청 제한은 인터셉터 단계라 거치지 않음)
+ */
+@Tag("load")
+class LlmLoadTest {
+	private final int rps = Integer.getInteger("load.rps", 10);
+	private final int durationSeconds = Integer.getInteger("load.durationSeconds", 15);
+	private final int poolSize = Integer.getInteger("load.poolSize", 16);
+	private final int queueCapacity = Integer.getInteger("load.queueCapacity", 50);
+	private final long admissionRpm = Long.getLong("load.admissionRpm", 100_000);
+	private final long admissionTpm = Long.getLong("load.admissionTpm", 100_000_000);
+
+	@Test
+	void generateChatAtTargetRps() throws Exception {
+		try (UpstreamStubServer stub = new UpstreamStubServer(0,
+			new Behavior(Latency.logNormal(800, 3000), 0.02, 500),
+			new Behavior(Latency.logNormal(80, 400), 0.01, 500))) {
+			ThreadPoolTaskExecutor llmExecutor = createExecutor();
+			LlmController controller = createController(stub, llmExecutor);
+			run(controller, llmExecutor, stub);
+			llmExecutor.shutdown();
+		}
+	}
+
+	/**
+	 * ✅ 격리 확인: llmExecutor(16 스레드 / 대기열 50)가 가득 찬 동안 같은 요청 스레드 풀의 다른 API가 바로 응답하는지
+	 * - Tomcat 요청 스레드 대신 크기가 고정된 httpWorkers 풀에서 MockMvc로 호출
+	 * - OpenAI 스텁은 3초씩 걸려 LLM 요청이 llmExecutor를 계속 점유하고, 넘치는 요청은 503 llm_server_busy
+	 */
+	@Test
+	void otherEndpointsStayResponsiveWhileLlmExecutorIsSaturated() throws Exception {
+		int httpThreads = 20;
+		int llmRequests = poolSize + queueCapacity + 30;
+		try (UpstreamStubServer stub = new UpstreamStubServer(0, new Behavior(Latency.fixed(3_000), 0, 500),
+			new Behavior(Latency.fixed(10), 0, 500))) {
+			ThreadPoolTaskExecutor llmExecutor = createExecutor();
+			MockMvc mockMvc = MockMvcBuilders.standaloneSetup(createController(stub, llmExecutor), new PingController())
+				.build();
+			ExecutorService httpWorkers = Executors.newFixedThreadPool(httpThreads);
+			MockHttpSession session = new MockHttpSession();
+			session.setAttribute(SessionUser.ATTRIBUTE, new SessionUser(SessionUser.CURRENT_VERSION, 1, "load", null));
+
+			List<Future<Boolean>> chats = new ArrayList<>();
+			for (int i = 0; i < llmRequests; i++) {
+				chats.add(httpWorkers.submit(() -> isRejected(mockMvc.perform(post("/v1/llm").session(session)
+					.contentType(MediaType.APPLICATION_JSON)
+					.content("{\"latitude\": 37.5665, \"longitude\": 126.978, \"message\": \"산책해도 될까?\"}"))
+					.andReturn())));
+			}
+			long rejected = 0;
+			for (Future<Boolean> chat : chats) {
+				rejected += chat.get(10, TimeUnit.SECONDS) ? 1 : 0;
+			}
+			assertThat(llmExecutor.getActiveCount()).isEqualTo(poolSize);
+			assertThat(llmExecutor.getThreadPoolExecutor().getQueue().size()).isEqualTo(queueCapacity);
+
+			List<Long> pingLatenciesMs = new ArrayList<>();
+			for (int i = 0; i < 50; i++) {
+				long startedAt = System.nanoTime();
+				String body = httpWorkers.submit(() -> mockMvc.perform(get("/ping")).andReturn()
+					.getResponse().getContentAsString()).get(5, TimeUnit.SECONDS);
+				assertThat(body).isEqualTo("pong");
+				pingLatenciesMs.add((System.nanoTime() - startedAt) / 1_000_000);
+			}
+			long maxPingMs = pingLatenciesMs.stream().mapToLong(Long::longValue).max().orElse(0);
+			boolean stillSaturated = llmExecutor.getActiveCount() == poolSize;
+
+			System.out.printf("%n=== isolation: %d /v1/llm requests on %d request threads, llmExecutor %d / queue %d ===%n",
+				llmRequests, httpThreads, poolSize, queueCapacity);
+			System.out.printf("llm: %d queued or running, %d rejected with 503 llm_server_busy%n",
+				llmRequests - rejected, rejected);
+			System.out.printf("/ping while llmExecutor is full: max %d ms over %d calls%n", maxPingMs,
+				pingLatenciesMs.size());
+
+			assertThat(stillSaturated).as("ping 동안 llmExecutor가 계속 가득 차 있어야 함").isTrue();
+			assertThat(rejected).isEqualTo(llmRequests - poolSize - queueCapacity);
+			assertThat(maxPingMs).as("LLM 부하와 상관없이 다른 API는 바로 응답").isLessThan(500);
+
+			httpWorkers.shutdownNow();
+			llmExecutor.shutdown();
+		}
+	}
+
+	// 대기열이 가득 차 바로 503으로 끝난 요청인지 (대기열에 들어간 요청은 결과 없이 요청 스레드를 반환)
+	private static boolean isRejected(MvcResult result) {
+		try {
+			return ((ResponseEntity<?>)result.getAsyncResult(0)).getStatusCode().value() == 503;
+		} catch (IllegalStateException e) {
+			return false; // 아직 처리 중
+		}
+	}
+
+	// LLM과 무관한 가벼운 API (마커/사용자 API 대신)
+	@RestController
+	static class PingController {
+		@GetMapping("/ping")
+		String ping() {
+			return "pong";
+		}
+	}
+
+	private void run(LlmController controller, ThreadPoolTaskExecutor llmExecutor, UpstreamStubServer stub)
+		throws InterruptedException {
+		int total = rps * durationSeconds;
+		CountDownLatch done = new CountDownLatch(total);
+		ConcurrentLinkedQueue<Long> latenciesMs = new ConcurrentLinkedQueue<>();
+		Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+		LongAdder requestThreadNanos = new LongAdder();
+		AtomicInteger peakActive = new AtomicInteger();
+		AtomicInteger peakQueue = new AtomicInteger();
+		AtomicInteger peakThreads = new AtomicInteger();
+
+		MockHttpSession session = new MockHttpSession();
+		session.setAttribute(SessionUser.ATTRIBUTE, new SessionUser(SessionUser.CURRENT_VERSION, 1, "load", null));
+
+		ScheduledExecutorService driver = Executors.newScheduledThreadPool(4);
+		AtomicInteger sent = new AtomicInteger();
+		long startedAt = System.nanoTime();
+		driver.scheduleAtFixedRate(() -> {
+			if (sent.getAndIncrement() >= total) {
+				return;
+			}
+			// 서울 근처 여러 셀로 분산 (날씨 캐시가 모두 적중하지 않도록)
+			LlmRequest request = new LlmRequest(37.45 + ThreadLocalRandom.current().nextInt(20) * 0.01,
+				126.90 + ThreadLocalRandom.current().nextInt(20) * 0.01, "오늘 산책해도 될까?");
+
+			long requestStartedAt = System.nanoTime();
+			DeferredResult<ResponseEntity<LlmResponse>> result = controller.generateChat(request, session);
+			requestThreadNanos.add(System.nanoTime() - requestStartedAt);
+			result.setResultHandler(value -> {
+				latenciesMs.add((System.nanoTime() - requestStartedAt) / 1_000_000);
+				@SuppressWarnings("unchecked")
+				int status = ((ResponseEntity<LlmResponse>)value).getStatusCode().value();
+				statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+				done.countDown();
+			});
+		}, 0, 1_000_000_000L / rps, TimeUnit.NANOSECONDS);
+		driver.scheduleAtFixedRate(() -> {
+			peakActive.accumulateAndGet(llmExecutor.getActiveCount(), Math::max);
+			peakQueue.accumulateAndGet(llmExecutor.getThreadPoolExecutor().getQueue().size(), Math::max);
+			peakThreads.accumulateAndGet(Thread.activeCount(), Math::max);
+		}, 0, 100, TimeUnit.MILLISECONDS);
+
+		boolean finished = done.await(durationSeconds + 120L, TimeUnit.SECONDS);
+		double elapsedSeconds = (System.nanoTime() - startedAt) / 1e9;
+		driver.shutdownNow();
+
+		long[] sorted = latenciesMs.stream().mapToLong(Long::longValue).sorted().toArray();
+		long successes = statuses.getOrDefault(200, new LongAdder()).sum();
+		Map<Integer, Long> statusCounts = new TreeMap<>();
+		statuses.forEach((status, count) -> statusCounts.put(status, count.sum()));
+
+		System.out.printf("%n=== /v1/llm load test: %d rps x %ds, llmExecutor %d threads / queue %d ===%n",
+			rps, durationSeconds, poolSize, queueCapacity);
+		System.out.printf("requests: %d sent, %d completed, status %s%n", total, sorted.length, statusCounts);
+		System.out.printf("throughput: %.1f req/s completed, %.1f req/s successful%n",
+			sorted.length / elapsedSeconds, successes / elapsedSeconds);
+		System.out.printf("latency ms: p50 %d, p95 %d, p99 %d, max %d%n", percentile(sorted, 50),
+			percentile(sorted, 95), percentile(sorted, 99), sorted.length == 0 ? 0 : sorted[sorted.length - 1]);
+		System.out.printf("request thread time: %.2f ms avg (time before the servlet thread is released)%n",
+			requestThreadNanos.sum() / 1e6 / Math.max(1, total));
+		System.out.printf("threads: llmExecutor peak active %d, peak queue %d, JVM peak %d%n",
+			peakActive.get(), peakQueue.get(), peakThreads.get());
+		System.out.printf("upstream: peak in-flight %d, chat %d, weather %d, air_pollution %d, injected errors %d%n",
+			stub.peakInFlight(), stub.requestCount("chat"), stub.requestCount("weather"),
+			stub.requestCount("air_pollution"), stub.errorCount());
+
+		assertThat(finished).as("모든 요청이 응답을 받아야 함").isTrue();
+	}
+
+	private static long percentile(long[] sorted, int percentile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		return sorted[Math.min(sorted.length - 1, (int)Math.ceil(percentile / 100.0 * sorted.length) - 1)];
+	}
+
+	// LlmAsyncConfig와 같은 설정의 실행기
+	private ThreadPoolTaskExecutor createExecutor() {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(poolSize);
+		executor.setMaxPoolSize(poolSize);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("llm-");
+		executor.initialize();
+		return executor;
+	}
+
+	private LlmController createController(UpstreamStubServer stub, ThreadPoolTaskExecutor llmExecutor) {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		ObjectMapper objectMapper = new ObjectMapper();
+		UpstreamClientConfig upstreamConfig = new UpstreamClientConfig();
+		CircuitBreakerRegistry breakers = upstreamConfig.circuitBreakerRegistry(meterRegistry);
+
+		PetRepository petRepository = mock(PetRepository.class);
+		when(petRepository.findByUserId(any())).thenReturn(Optional.of(Pet.builder()
+			.name("콩이").breed("poodle").age(3).weight(4.2).build()));
+
+		OpenAiConfig openAiConfig = new OpenAiConfig();
+		ReflectionTestUtils.setField(openAiConfig, "apiKey", "stub-key");
+		ReflectionTestUtils.setField(openAiConfig, "apiUrl", stub.openAiUrl());
+		RestTemplate openAiRestTemplate = new RestTemplateBuilder()
+			.setConnectTimeout(Duration.ofSeconds(3)).setReadTimeout(Duration.ofSeconds(30)).build();
+		GptService gptService = new GptService(petRepository, openAiConfig, openAiRestTemplate,
+			upstreamConfig.openAiCircuitBreaker(breakers), objectMapper,
+			new GptAdmissionController(true, admissionRpm, admissionTpm, 100, 5_000, meterRegistry), meterRegistry);
+
+		RestTemplate weatherRestTemplate = new RestTemplateBuilder()
+			.setConnectTimeout(Duration.ofSeconds(2)).setReadTimeout(Duration.ofSeconds(5)).build();
+		WeatherService weatherService = new WeatherService(weatherRestTemplate,
+			upstreamConfig.weatherCircuitBreaker(breakers), meterRegistry,
+			new WeatherDemandTracker(300, 900_000, meterRegistry), objectMapper);
+		ReflectionTestUtils.setField(weatherService, "apiKey", "stub-key");
+		ReflectionTestUtils.setField(weatherService, "baseUrl", stub.weatherBaseUrl());
+
+		LlmConfig llmConfig = new LlmConfig();
+		llmConfig.setCacheEnabled(false);
+		llmConfig.setMemoryEnabled(false);
+
+		LlmService llmService = new LlmService(gptService, weatherService, petRepository, llmConfig,
+			new LlmResponseCache(null, llmConfig, meterRegistry), new WalkSuitabilityEngine(),
+			new LlmMetrics(meterRegistry), new PromptTemplateRegistry(llmConfig), new ConversationMemory(null, llmConfig));
+
+		return new LlmController(llmService, llmExecutor, 60_000L);
+	}
+}
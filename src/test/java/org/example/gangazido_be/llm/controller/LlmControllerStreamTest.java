@@ -0,0 +1,226 @@
+package org.example.gangazido_be.llm.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+
+import org.example.gangazido_be.gpt.config.UpstreamClientConfig;
+import org.example.gangazido_be.gpt.service.GptAdmissionController;
+import org.example.gangazido_be.gpt.service.GptService;
+import org.example.gangazido_be.gpt.service.OpenAiConfig;
+import org.example.gangazido_be.gpt.service.WeatherDemandTracker;
+import org.example.gangazido_be.gpt.service.WeatherService;
+import org.example.gangazido_be.llm.config.LlmConfig;
+import org.example.gangazido_be.llm.prompt.PromptTemplateRegistry;
+import org.example.gangazido_be.llm.service.ConversationMemory;
+import org.example.gangazido_be.llm.service.LlmMetrics;
+import org.example.gangazido_be.llm.service.LlmResponseCache;
+import org.example.gangazido_be.llm.service.LlmService;
+import org.example.gangazido_be.llm.service.WalkSuitabilityEngine;
+import org.example.gangazido_be.pet.entity.Pet;
+import org.example.gangazido_be.pet.repository.PetRepository;
+import org.example.gangazido_be.support.UpstreamStubServer;
+import org.example.gangazido_be.support.UpstreamStubServer.Behavior;
+import org.example.gangazido_be.support.UpstreamStubServer.Latency;
+import org.example.gangazido_be.user.session.SessionUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// /v1/llm/stream SSE 이벤트 확인 (OpenAI/OpenWeather는 UpstreamStubServer로 대체)
+class LlmControllerStreamTest {
+	private static final Behavior HEALTHY = new Behavior(Latency.fixed(0), 0, 500);
+
+	private final ThreadPoolTaskExecutor llmExecutor = new ThreadPoolTaskExecutor();
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private UpstreamStubServer stub;
+	private CircuitBreaker openAiCircuitBreaker;
+	private MockMvc mockMvc;
+
+	@AfterEach
+	void tearDown() {
+		llmExecutor.shutdown();
+		stub.close();
+	}
+
+	@Test
+	void streamsTokensThenDoneEvent() throws Exception {
+		start(HEALTHY);
+
+		String events = stream("오늘 산책해도 될까?");
+
+		// 토큰 조각이 먼저 전달되고, 마지막에 전체 응답이 done 이벤트로 전달됨
+		assertThat(events).startsWith("event:token\ndata:{\"recommendation");
+		assertThat(events.split("event:token", -1)).hasSizeGreaterThan(2);
+		assertThat(events.indexOf("event:done")).isGreaterThan(events.lastIndexOf("event:token"));
+		assertThat(events).contains("event:done\ndata:{\"message\":\"llm_success\"," +
+			"\"data\":{\"response\":\"{\\\"recommendation\\\": \\\"산책 추천\\\"");
+		assertThat(events).doesNotContain("event:error");
+	}
+
+	@Test
+	void sendsErrorEventWhenUpstreamFails() throws Exception {
+		start(new Behavior(Latency.fixed(0), 1.0, 500));
+
+		String events = stream("오늘 산책해도 될까?");
+
+		assertThat(events).contains("event:error\ndata:{\"message\":\"failed_to_get_gpt_response\"");
+		assertThat(events).doesNotContain("event:token", "event:done");
+	}
+
+	@Test
+	void openBreakerStreamsRuleBasedAnswer() throws Exception {
+		start(HEALTHY);
+		openAiCircuitBreaker.transitionToOpenState();
+
+		String events = stream("오늘 산책해도 될까?");
+
+		// OpenAI를 호출하지 않고 규칙 기반 판단 결과를 토큰 하나와 done 이벤트로 전달
+		assertThat(events.split("event:token", -1)).hasSize(2);
+		String answer = eventData(events, "done").path("data").path("response").asText();
+		assertThat(eventData(events, "token").toString()).isEqualTo(objectMapper.readTree(answer).toString());
+		assertThat(objectMapper.readTree(answer).path("recommendation").asText()).isNotEmpty();
+		assertThat(stub.requestCount("chat")).isZero();
+	}
+
+	@Test
+	void openBreakerAnswersWithRuleBasedResponse() throws Exception {
+		start(HEALTHY);
+		openAiCircuitBreaker.transitionToOpenState();
+
+		MvcResult result = mockMvc.perform(post("/v1/llm")
+				.session(session())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(requestBody("오늘 산책해도 될까?")))
+			.andReturn();
+		String body = mockMvc.perform(asyncDispatch(result))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+		JsonNode response = objectMapper.readTree(body);
+		assertThat(response.path("message").asText()).isEqualTo("llm_success");
+		assertThat(objectMapper.readTree(response.path("data").path("response").asText())
+			.path("recommendation").asText()).isNotEmpty();
+		assertThat(stub.requestCount("chat")).isZero();
+	}
+
+	@Test
+	void invalidLocationIsRejectedBeforeWeatherLookup() throws Exception {
+		start(HEALTHY);
+		String body = "{\"latitude\": 137.5665, \"longitude\": 126.978, \"message\": \"오늘 산책해도 될까?\"}";
+
+		MvcResult result = mockMvc.perform(post("/v1/llm")
+				.session(session())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(body))
+			.andReturn();
+		mockMvc.perform(asyncDispatch(result))
+			.andExpect(status().isBadRequest())
+			.andExpect(jsonPath("$.message").value("invalid_location"));
+		mockMvc.perform(post("/v1/llm/stream")
+				.session(session())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(body))
+			.andExpect(status().isBadRequest());
+
+		assertThat(stub.requestCount("weather")).isZero();
+		assertThat(stub.requestCount("chat")).isZero();
+	}
+
+	private void start(Behavior openAi) throws IOException {
+		stub = new UpstreamStubServer(0, openAi, HEALTHY);
+		llmExecutor.setCorePoolSize(1);
+		llmExecutor.initialize();
+		// Spring Boot처럼 token 이벤트(String)를 UTF-8로 전송
+		mockMvc = MockMvcBuilders.standaloneSetup(new LlmController(createLlmService(), llmExecutor, 10_000L))
+			.setMessageConverters(new StringHttpMessageConverter(StandardCharsets.UTF_8),
+				new MappingJackson2HttpMessageConverter())
+			.build();
+	}
+
+	private String stream(String message) throws Exception {
+		MvcResult result = mockMvc.perform(post("/v1/llm/stream")
+				.session(session())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(requestBody(message)))
+			.andReturn();
+		result.getAsyncResult(10_000); // emitter.complete()까지 대기
+		return result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+	}
+
+	private static MockHttpSession session() {
+		MockHttpSession session = new MockHttpSession();
+		session.setAttribute(SessionUser.ATTRIBUTE, new SessionUser(SessionUser.CURRENT_VERSION, 1, "강아지", null));
+		return session;
+	}
+
+	private static String requestBody(String message) {
+		return "{\"latitude\": 37.5665, \"longitude\": 126.978, \"message\": \"" + message + "\"}";
+	}
+
+	// 이름이 name인 첫 번째 이벤트의 data (JSON)
+	private JsonNode eventData(String events, String name) throws IOException {
+		String prefix = "event:" + name + "\ndata:";
+		int start = events.indexOf(prefix) + prefix.length();
+		return objectMapper.readTree(events.substring(start, events.indexOf("\n", start)));
+	}
+
+	private LlmService createLlmService() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		UpstreamClientConfig upstreamConfig = new UpstreamClientConfig();
+		CircuitBreakerRegistry breakers = upstreamConfig.circuitBreakerRegistry(meterRegistry);
+		openAiCircuitBreaker = upstreamConfig.openAiCircuitBreaker(breakers);
+
+		PetRepository petRepository = mock(PetRepository.class);
+		when(petRepository.findByUserId(any())).thenReturn(Optional.of(Pet.builder()
+			.name("콩이").breed("poodle").age(3).weight(4.2).build()));
+
+		OpenAiConfig openAiConfig = new OpenAiConfig();
+		ReflectionTestUtils.setField(openAiConfig, "apiKey", "stub-key");
+		ReflectionTestUtils.setField(openAiConfig, "apiUrl", stub.openAiUrl());
+		RestTemplate restTemplate = new RestTemplateBuilder()
+			.setConnectTimeout(Duration.ofSeconds(3)).setReadTimeout(Duration.ofSeconds(10)).build();
+		GptService gptService = new GptService(petRepository, openAiConfig, restTemplate,
+			openAiCircuitBreaker, objectMapper,
+			new GptAdmissionController(true, 100_000, 100_000_000, 100, 5_000, meterRegistry), meterRegistry);
+
+		WeatherService weatherService = new WeatherService(restTemplate, upstreamConfig.weatherCircuitBreaker(breakers),
+			meterRegistry, new WeatherDemandTracker(300, 900_000, meterRegistry), objectMapper);
+		ReflectionTestUtils.setField(weatherService, "apiKey", "stub-key");
+		ReflectionTestUtils.setField(weatherService, "baseUrl", stub.weatherBaseUrl());
+
+		LlmConfig llmConfig = new LlmConfig();
+		llmConfig.setCacheEnabled(false);
+		llmConfig.setMemoryEnabled(false);
+		return new LlmService(gptService, weatherService, petRepository, llmConfig,
+			new LlmResponseCache(null, llmConfig, meterRegistry), new WalkSuitabilityEngine(),
+			new LlmMetrics(meterRegistry), new PromptTemplateRegistry(llmConfig), new ConversationMemory(null, llmConfig));
+	}
+}
@@ -0,0 +1,281 @@
+package org.example.gangazido_be.llm.prompt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Random;
+
+import org.example.gangazido_be.llm.config.LlmConfig;
+import org.example.gangazido_be.llm.model.ChatContext;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PromptTemplateTest {
+	private static final String MESSAGE = "오늘 산책해도 될까?";
+
+	// 위도는 이진 값과 10진수 HALF_UP 반올림 결과가 다른 값 (String.format %.6f → 33.491339)
+	private final ChatContext context = new ChatContext(null, "콩이", "푸들", 3, 4.25, "맑음", -0.04, 35.55, 12.349,
+		33.4913385, 126.9780449);
+
+	@ParameterizedTest(name = "{0} (%.{1}f)")
+	@CsvSource({
+		"0.0, 1", "-0.04, 1", "0.05, 1", "0.15, 1", "-12.35, 1", "27.449, 1", "999.95, 1",
+		"37.5665125, 6", "-126.9780449, 6", "0.0000005, 6", "33.4913385, 6", "-33.4913385, 6"
+	})
+	void appendFixedMatchesStringFormat(double value, int digits) {
+		StringBuilder sb = new StringBuilder();
+		PromptVariable.appendFixed(sb, value, digits);
+
+		assertThat(sb.toString()).isEqualTo(String.format("%." + digits + "f", value));
+	}
+
+	// 7번째 소수 자리가 5인 좌표 (이진 값으로는 경계 아래/위로 갈라지는 값들)
+	@Test
+	void appendFixedMatchesStringFormatForHalfwayCoordinates() {
+		Random random = new Random(42);
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 100_000; i++) {
+			double value = (random.nextInt(3_600_000) * 10 + 5) / 1e7 * (random.nextBoolean() ? 1 : -1);
+			sb.setLength(0);
+			PromptVariable.appendFixed(sb, value, 6);
+
+			assertThat(sb.toString()).as("%s", value).isEqualTo(String.format("%.6f", value));
+		}
+	}
+
+	// 템플릿으로 만든 프롬프트가 기존 String.format 프롬프트와 같은지 (intent별)
+	@ParameterizedTest
+	@ValueSource(strings = {"intent", "weather_info", "walk_check", "recommend_route", "greeting", "cloth_recommend",
+		"single_call"})
+	void renderMatchesLegacyPrompt(String name) {
+		PromptTemplate template = new PromptTemplateRegistry(new LlmConfig()).select(name, 1);
+
+		assertThat(template.getName()).isEqualTo(name);
+		assertThat(template.render(context, MESSAGE)).isEqualTo(legacyPrompt(name));
+	}
+
+	@Test
+	void render() {
+		PromptTemplate template = PromptTemplate.compile("test", "v1",
+			"{{pet_name}}({{pet_breed}}, {{pet_age}}살, {{pet_weight}}kg) {{temperature}}°C {\"q\": \"{{message}}\"}");
+
+		assertThat(template.render(context, "산책 가도 돼?"))
+			.isEqualTo("콩이(푸들, 3살, 4.3kg) -0.0°C {\"q\": \"산책 가도 돼?\"}");
+	}
+
+	@Test
+	void compileRejectsUnknownVariable() {
+		assertThatThrownBy(() -> PromptTemplate.compile("test", "v1", "{{pet_nmae}}"))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void selectSplitsVersionsByUser() {
+		LlmConfig config = new LlmConfig();
+		config.setPromptVersions(Map.of("greeting", "v1,v1"));
+		PromptTemplateRegistry registry = new PromptTemplateRegistry(config);
+
+		assertThat(registry.select("greeting", 7).getName()).isEqualTo("greeting");
+		assertThat(registry.select("thanks", 7).getName()).isEqualTo(PromptTemplateRegistry.UNKNOWN);
+
+		config.setPromptVersions(Map.of("walk_check", "v9"));
+		assertThatThrownBy(() -> new PromptTemplateRegistry(config)).isInstanceOf(IllegalStateException.class);
+	}
+
+	// JMH 대신 스레드별 할당량으로 기존 String.format 방식과 비교
+	@Tag("load")
+	@Test
+	void renderAllocatesLessThanStringFormat() {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+		PromptTemplate template = new PromptTemplateRegistry(new LlmConfig()).select("walk_check", 1);
+		int iterations = 20_000;
+		long checksum = 0;
+
+		for (int i = 0; i < iterations; i++) { // 워밍업
+			checksum += template.render(context, MESSAGE).length() + legacyPrompt("walk_check").length();
+		}
+
+		long before = threads.getCurrentThreadAllocatedBytes();
+		for (int i = 0; i < iterations; i++) {
+			checksum += legacyPrompt("walk_check").length();
+		}
+		long formatBytes = (threads.getCurrentThreadAllocatedBytes() - before) / iterations;
+
+		before = threads.getCurrentThreadAllocatedBytes();
+		for (int i = 0; i < iterations; i++) {
+			checksum += template.render(context, MESSAGE).length();
+		}
+		long renderBytes = (threads.getCurrentThreadAllocatedBytes() - before) / iterations;
+
+		System.out.printf("walk_check prompt: String.format %d B/op, PromptTemplate %d B/op (checksum %d)%n",
+			formatBytes, renderBytes, checksum);
+		assertThat(renderBytes).isLessThan(formatBytes);
+	}
+
+	// 기존 LlmService의 프롬프트 (String.format 방식)
+	private String legacyPrompt(String name) {
+		ChatContext c = context;
+		return switch (name) {
+			case "intent" -> String.format(INTENT_FORMAT, MESSAGE);
+			case "weather_info" -> String.format(WEATHER_INFO_FORMAT, c.getPetName(), c.getPetBreed(), c.getPetAge(),
+				c.getPetWeight(), c.getWeatherCondition(), c.getTemperature(), c.getPm10(), c.getPm25());
+			case "walk_check" -> String.format(WALK_CHECK_FORMAT, c.getPetName(), c.getTemperature(), c.getPm10(),
+				c.getPm25(), c.getWeatherCondition(), c.getTemperature(), c.getPm10(), c.getPm25(), c.getPetName(),
+				c.getPetBreed(), c.getPetAge(), c.getPetWeight());
+			case "recommend_route" -> String.format(RECOMMEND_ROUTE_FORMAT, c.getLatitude(), c.getLongitude());
+			case "greeting" -> String.format(GREETING_FORMAT, c.getPetName(), c.getPetBreed(), MESSAGE, MESSAGE);
+			case "cloth_recommend" -> String.format(CLOTH_RECOMMEND_FORMAT, c.getPetName(), c.getTemperature(),
+				c.getPm10(), c.getPm25(), c.getWeatherCondition(), c.getTemperature(), c.getPetBreed(),
+				c.getPetWeight());
+			case "single_call" -> String.format(SINGLE_CALL_FORMAT, c.getWeatherCondition(), c.getTemperature(),
+				c.getPm10(), c.getPm25(), c.getLatitude(), c.getLongitude(), c.getPetName(), c.getPetBreed(),
+				c.getPetAge(), c.getPetWeight(), MESSAGE);
+			default -> throw new IllegalArgumentException(name);
+		};
+	}
+
+	private static final String INTENT_FORMAT = "다음 사용자 문장이 어떤 의도를 가지는지 판단해줘.\n" +
+		"선택지는 다음과 같아:\n" +
+		"- walk_check: 산책 여부 질문\n" +
+		"- recommend_route: 산책로 추천\n" +
+		"- weather_info: 날씨/공기질 질문\n" +
+		"- greeting: 인사, 친근한 말투\n" +
+		"- thanks: 감사 표현\n" +
+		"- cloth_recommend: 옷 추천 관련 질문\n" +
+		"- unknown: 알 수 없음\n\n" +
+		"아래 예시처럼 판단해줘:\n" +
+		"Q: '오늘 어디 갈까?' → recommend_route\n" +
+		"Q: '산책해도 될까?','오늘 나갈까?' → walk_check\n" +
+		"Q: '미세먼지 어때?','오늘 공기 어때?' → weather_info\n" +
+		"Q: '옷 입혀야 해?' → cloth_recommend\n" +
+		"Q: '안녕!' → greeting\n" +
+		"반드시 JSON 형식으로 응답해. 예시: { \"intent\": \"walk_check\" }\n" +
+		"문장: \"%s\"\n";
+
+	private static final String WEATHER_INFO_FORMAT = """
+		당신은 반려견 산책 추천 AI입니다. 아래의 조건에 따라 반려견의 산책 가능 여부를 판단해 주세요.
+
+		📌 반려견 이름은 %s이고, 견종은 %s, 나이는 %d살, 몸무게는 %.1fkg입니다.
+		📌 현재 날씨는 %s이고, 기온은 %.1f°C입니다.
+		📌 미세먼지 상태:
+		- PM10: %.1f µg/m³
+		- PM2.5: %.1f µg/m³
+
+		미세먼지 상태에 따라 '좋음', '보통', '나쁨' 수준으로 분류하고, 반려견의 건강에 미치는 영향과 함께 산책을 추천할지 여부를 판단해주세요.
+
+		⚠️ 만약 미세먼지 수치가 '나쁨' 수준이면 외출을 자제하라고 안내하고, 실내 활동을 추천해 주세요.
+		✅ 응답은 반드시 아래 JSON 형식으로만 제공해주세요:
+
+		{
+		"recommendation": "미세먼지 상태(좋음/보통/나쁨)",
+		"reason": "정확한 미세먼지 수치 기반의 판단 및 설명",
+		"safety_tips": ["산책 시 유의 사항 또는 실내 활동 팁"]
+		}""";
+
+	private static final String WALK_CHECK_FORMAT = """
+		당신은 반려견 산책 추천 AI입니다. **반드시 JSON 형식으로만 답변하세요.** HTML이나 마크다운, 자연어 문장만 있는 응답은 허용되지 않습니다.\\n 날씨와 대기질, 반려견 정보를 바탕으로 **%s**의 산책 가능 여부를 판단하고, JSON 형식으로 추천 결과를 제공해주세요.
+
+		응답에 반드시 반려견 이름을 포함해주세요.\
+		산책 추천 또는 비추천 사유 (기온 %.1f°C, 미세먼지 PM10 %.1fµg/m³, PM2.5 %.1fµg/m³ 수치를 반드시 모두 포함하여 설명)\
+		📌 **현재 환경 데이터:**
+		- 날씨 상태: %s
+		- 기온: %.1f°C
+		- 미세먼지(PM10): %.1f µg/m³
+		- 초미세먼지(PM2.5): %.1f µg/m³
+		- 반려견 정보:
+		- 이름: %s
+		- 견종: %s
+		- 나이: %d살
+		- 무게: %.1fkg
+
+		📌 **응답은 JSON 형식으로 다음과 같이 제공해주세요:**
+		json
+		{
+		recommendation": "산책 추천 또는 비추천",
+		"reason": "산책 추천 또는 비추천 사유",
+		"safety_tips": ["산책 시 유의 사항"]
+		}
+
+		""";
+
+	private static final String RECOMMEND_ROUTE_FORMAT = """
+		당신은 위치 기반 산책로 추천 AI입니다.
+		현재 위치는 위도 %.6f, 경도 %.6f 입니다.
+		이 근처 반경 2~3km 이내의 산책 가능한 장소 3곳을 추천해주세요.
+		**아래 JSON 형식으로만 응답하세요.**
+
+		{
+		"routes": [
+		{ "name": "산책로 이름", "description": "특징 및 반려견과의 산책 추천 이유", "distance_km": 거리 }
+		]
+		}""";
+
+	private static final String GREETING_FORMAT = """
+		너는 귀여운 반려견 산책 도우미 AI야. 사용자와 친근한 말투로 짧게 대답해줘.
+		반려견 이름은 %s이고, 견종은 %s야. 사용자가 '%s'라고 말했어. 너무 딱딱하지 않게, 공감하며 답장해줘. 문장은 한두 문장으로 간단히 해줘.
+
+		예시)
+		Q: 안녕
+		A: 안녕하세요! 🐶 반가워요!
+
+		Q: 고마워
+		A: 도움이 됐다니 저도 기뻐요!
+
+		Q: 산책 어디로 갈까?
+		A: 날씨 좋을 땐 가까운 공원도 좋겠네요!
+
+		Q: %s
+		A:""";
+
+	private static final String CLOTH_RECOMMEND_FORMAT = """
+		당신은 반려견 산책 추천 AI입니다. **반드시 JSON 형식으로만 답변하세요.** HTML이나 마크다운, 자연어 문장만 있는 응답은 허용되지 않습니다.\\n반려견이 외출 시 옷을 입어야 할까요? 현재 날씨를 분석하고, 반려견의 특징을 고려하여 적절한 답변을 제공해주세요.
+
+		응답에 반드시 반려견 이름 %s을 포함해주세요.\
+		옷입히기 추천 또는 비추천 사유 (기온 %.1f°C, 미세먼지 PM10 %.1fµg/m³, PM2.5 %.1fµg/m³ 수치를 반드시 모두 포함하여 설명)\
+		📌 **현재 환경 데이터:**
+		- 날씨 상태: %s
+		- 기온: %.1f°C
+		- 반려견 견종: %s
+		- 반려견 체중: %.1fkg
+
+		📌 **옷을 입어야 하는지 여부와 이유를 한글로 설명해주세요.**\
+		📌 **응답은 JSON 형식으로 다음과 같이 제공해주세요:**
+		json
+		{
+		"recommendation": "옷 입히기 추천 또는 비추천",
+		"reason": "옷 입히기 추천 또는 비추천 사유",
+		"safety_tips": ["산책 시 유의 사항"]
+		}
+
+		""";
+
+	private static final String SINGLE_CALL_FORMAT = """
+		당신은 반려견 산책 추천 AI입니다. 사용자 문장의 의도를 판단하고, 그 의도에 맞는 답변을 한 번에 작성하세요.
+		**반드시 아래 JSON 형식 하나로만 응답하세요.** 마크다운이나 설명 문장은 허용되지 않습니다.
+
+		{ "intent": "의도", "answer": 답변 }
+
+		📌 intent 선택지와 answer 형식:
+		- walk_check (산책 여부 질문), weather_info (날씨/공기질 질문), cloth_recommend (옷 추천 질문)
+		→ answer: { "recommendation": "추천 결과", "reason": "기온, PM10, PM2.5 수치를 모두 포함한 사유", "safety_tips": ["유의 사항"] }
+		- recommend_route (산책로 추천) → answer: { "routes": [ { "name": "산책로 이름", "description": "추천 이유", "distance_km": 거리 } ] }
+		(현재 위치 반경 2~3km 이내 3곳)
+		- greeting (인사), thanks (감사 표현) → answer: 반려견 이름을 넣은 친근한 한두 문장
+		- unknown (알 수 없음) → answer: 대답할 수 없는 질문이라는 한 문장
+
+		📌 **현재 환경 데이터:**
+		- 날씨 상태: %s
+		- 기온: %.1f°C
+		- 미세먼지(PM10): %.1f µg/m³ / 초미세먼지(PM2.5): %.1f µg/m³
+		- 현재 위치: 위도 %.6f, 경도 %.6f
+		📌 **반려견 정보:** 이름 %s, 견종 %s, 나이 %d살, 무게 %.1fkg
+
+		응답에는 반드시 반려견 이름을 포함하고, 미세먼지 '나쁨' 수준이면 외출 자제와 실내 활동을 안내하세요.
+		문장: "%s"
+		""";
+}
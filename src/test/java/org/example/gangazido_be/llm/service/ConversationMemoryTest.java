@@ -0,0 +1,99 @@
+package org.example.gangazido_be.llm.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.example.gangazido_be.llm.config.LlmConfig;
+import org.example.gangazido_be.llm.model.ChatContext;
+import org.example.gangazido_be.llm.prompt.PromptTemplateRegistry;
+import org.junit.jupiter.api.Test;
+
+class ConversationMemoryTest {
+	private final ChatContext context = new ChatContext(null, "콩이", "푸들", 3, 4.2, "맑음", 21.5, 35.0, 12.0,
+		37.5665, 126.978);
+
+	@Test
+	void summarizeAnswer() {
+		assertThat(ConversationMemory.summarizeAnswer(
+			"```json\n{\"recommendation\": \"산책 추천\", \"reason\": \"기온 21.5°C로 선선해요.\", \"safety_tips\": []}\n```"))
+			.isEqualTo("산책 추천");
+		assertThat(ConversationMemory.summarizeAnswer("{\"routes\": [{\"name\": \"한강공원\"}, {\"name\": \"서울숲\"}]}"))
+			.isEqualTo("산책로 추천: 한강공원 서울숲");
+		assertThat(ConversationMemory.summarizeAnswer("안녕하세요! 🐶")).isEqualTo("안녕하세요! 🐶");
+	}
+
+	@Test
+	void formatHistoryKeepsNewestTurnsWithinBudget() {
+		List<String> entries = List.of(ConversationMemory.userEntry("첫 번째 질문"), ConversationMemory.assistantEntry("첫 번째 답변"),
+			ConversationMemory.userEntry("두 번째 질문"), ConversationMemory.assistantEntry("두 번째 답변"));
+
+		assertThat(ConversationMemory.formatHistory(entries, 1000))
+			.isEqualTo("사용자: 첫 번째 질문\nAI: 첫 번째 답변\n사용자: 두 번째 질문\nAI: 두 번째 답변");
+		assertThat(ConversationMemory.formatHistory(entries, 25)).isEqualTo("사용자: 두 번째 질문\nAI: 두 번째 답변");
+		assertThat(ConversationMemory.formatHistory(List.of(), 1000)).isNull();
+	}
+
+	// 5턴 대화에서 답변 프롬프트 비교 (이전 대화 없음: 매번 전체 컨텍스트 / 있음: 2턴부터 intent별 followup 프롬프트)
+	@Test
+	void followupPromptsShrinkFiveTurnConversation() {
+		PromptTemplateRegistry registry = new PromptTemplateRegistry(new LlmConfig());
+		int maxTokens = new LlmConfig().getMemoryMaxTokens();
+		String[][] turns = {
+			{"walk_check", "오늘 산책해도 될까?"},
+			{"weather_info", "미세먼지는 어때?"},
+			{"cloth_recommend", "그럼 옷은 입혀야 해?"},
+			{"walk_check", "저녁에 나가도 괜찮을까?"},
+			{"weather_info", "내일 아침 공기는 더 좋을까?"}
+		};
+		// intent별 응답 형식 (followup 프롬프트에서도 유지되어야 함)
+		Map<String, String> schemas = Map.of(
+			"walk_check", "\"recommendation\": \"산책 추천 또는 비추천\"",
+			"weather_info", "\"recommendation\": \"미세먼지 상태(좋음/보통/나쁨)\"",
+			"cloth_recommend", "\"recommendation\": \"옷 입히기 추천 또는 비추천\"");
+		String answer = "{\"recommendation\": \"산책 추천\", \"reason\": \"기온 21.5°C, 미세먼지 PM10 35.0µg/m³, " +
+			"PM2.5 12.0µg/m³로 콩이가 산책하기 좋은 날씨예요.\", \"safety_tips\": [\"물을 챙겨주세요.\"]}";
+
+		int statelessChars = 0;
+		int memoryChars = 0;
+		List<String> entries = new ArrayList<>();
+		for (String[] turn : turns) {
+			String intent = turn[0];
+			statelessChars += registry.select(intent, 1).render(context, turn[1]).length();
+
+			String history = ConversationMemory.formatHistory(entries, maxTokens);
+			String template = history != null ? PromptTemplateRegistry.followup(intent) : intent;
+			String prompt = registry.select(template, 1).render(context, turn[1], history);
+			memoryChars += prompt.length();
+
+			if (history != null) {
+				assertThat(prompt).contains(schemas.get(intent), "이전 대화:\n" + history, "문장: \"" + turn[1] + "\"",
+					"기온 21.5°C, PM10 35.0µg/m³, PM2.5 12.0µg/m³");
+				schemas.forEach((other, schema) -> {
+					if (!other.equals(intent)) {
+						assertThat(prompt).doesNotContain(schema);
+					}
+				});
+			}
+			entries.add(ConversationMemory.userEntry(turn[1]));
+			entries.add(ConversationMemory.assistantEntry(answer));
+		}
+
+		assertThat(memoryChars).isLessThan(statelessChars);
+	}
+
+	@Test
+	void followupPromptsKeepIntentInstructions() {
+		PromptTemplateRegistry registry = new PromptTemplateRegistry(new LlmConfig());
+		String history = "사용자: 오늘 산책해도 될까?\nAI: 산책 추천";
+
+		assertThat(registry.select(PromptTemplateRegistry.followup("weather_info"), 1).render(context, "공기 어때?", history))
+			.contains("'좋음', '보통', '나쁨'", "외출을 자제", "실내 활동");
+		assertThat(registry.select(PromptTemplateRegistry.followup("cloth_recommend"), 1).render(context, "옷 입혀?", history))
+			.contains("옷을 입어야 하는지", "견종, 체중", "반려견 이름 콩이");
+		assertThat(registry.select(PromptTemplateRegistry.followup("walk_check"), 1).render(context, "저녁엔?", history))
+			.contains("**콩이**의 산책 가능 여부");
+	}
+}
@@ -0,0 +1,105 @@
+package org.example.gangazido_be.llm.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.example.gangazido_be.gpt.dto.GptCompletion;
+import org.example.gangazido_be.llm.config.LlmConfig;
+import org.example.gangazido_be.llm.model.AirQualityGrade;
+import org.example.gangazido_be.llm.model.ChatContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LlmResponseCacheTest {
+	private final Map<String, String> redis = new HashMap<>();
+	private final RedisTemplate<String, String> redisTemplate = mock();
+	private final ValueOperations<String, String> valueOperations = mock();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private LlmResponseCache cache;
+
+	@BeforeEach
+	void setUp() {
+		when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+		when(valueOperations.get(anyString())).thenAnswer(invocation -> redis.get(invocation.<String>getArgument(0)));
+		doAnswer(invocation -> redis.put(invocation.getArgument(0), invocation.getArgument(1)))
+			.when(valueOperations).set(anyString(), anyString(), anyLong(), eq(TimeUnit.SECONDS));
+		cache = new LlmResponseCache(redisTemplate, new LlmConfig(), meterRegistry);
+	}
+
+	@Test
+	void buildsKeyFromIntentAndContextBands() {
+		String key = cache.buildKey("walk_check", "v1", "오늘 산책 가도 돼?", context("콩", 21.5, 35.0, 12.0));
+
+		assertThat(key).isEqualTo("llm:response:walk_check:v1:walk_check:푸들:small:맑음:7:" +
+			AirQualityGrade.ofPm10(35.0).name() + ":" + AirQualityGrade.ofPm25(12.0).name());
+		// 문장이 달라도 같은 조건이면 같은 키, 기온 구간이 바뀌면 다른 키
+		assertThat(cache.buildKey("walk_check", "v1", "산책 괜찮을까", context("보리", 22.9, 36.0, 13.0))).isEqualTo(key);
+		assertThat(cache.buildKey("walk_check", "v1", "산책 괜찮을까", context("보리", 24.1, 35.0, 12.0))).isNotEqualTo(key);
+		// A/B 프롬프트 버전별로 따로 저장
+		assertThat(cache.buildKey("walk_check", "v2", "산책 괜찮을까", context("콩", 21.5, 35.0, 12.0)))
+			.isNotEqualTo(key);
+		// 인사는 정규화한 문장별, 위치별 결과는 캐시하지 않음
+		assertThat(cache.buildKey("greeting", "v1", "안녕!!", context("콩", 21.5, 35.0, 12.0)))
+			.isEqualTo(cache.buildKey("greeting", "v1", "안녕", context("콩", 21.5, 35.0, 12.0)));
+		assertThat(cache.buildKey("recommend_route", "v1", "산책로 추천", context("콩", 21.5, 35.0, 12.0))).isNull();
+	}
+
+	@Test
+	void rebuildsAnswerForAnotherPetAndValues() {
+		ChatContext stored = context("콩", 21.5, 35.0, 12.0);
+		String key = cache.buildKey("walk_check", "v1", "산책", stored);
+		cache.put(key, new GptCompletion("콩이가 산책하기 좋아요.\n기온 21.5°C, PM10 35.0, PM2.5 12.0이에요. 콩은 물을 챙겨주세요.",
+			850, 120), stored);
+
+		String answer = cache.get(key, context("보리", 22.0, 36.0, 13.0));
+
+		assertThat(answer).isEqualTo("보리이가 산책하기 좋아요.\n기온 22.0°C, PM10 36.0, PM2.5 13.0이에요. 보리은 물을 챙겨주세요.");
+		assertThat(meterRegistry.get("llm.response.cache.requests").tag("result", "hit").counter().count())
+			.isEqualTo(1);
+		// 아낀 비용은 llm.gpt.tokens와 같은 토큰 단위 (저장 당시 OpenAI usage)
+		assertThat(meterRegistry.get("llm.response.cache.saved.tokens").tag("type", "prompt").counter().count())
+			.isEqualTo(850);
+		assertThat(meterRegistry.get("llm.response.cache.saved.tokens").tag("type", "completion").counter().count())
+			.isEqualTo(120);
+	}
+
+	@Test
+	void replacesOnlyWholeNamesAndNumbers() {
+		String template = cache.toTemplate(
+			"콩나물국은 안 돼요. 강낭콩도 조심하세요. 콩아, 산책 가자! 어제는 21.0°C, 오늘은 1.0°C, 11.05 mm 비가 와요.",
+			context("콩", 1.0, 40.0, 15.0));
+
+		assertThat(template).isEqualTo("콩나물국은 안 돼요. 강낭콩도 조심하세요. {{pet_name}}아, 산책 가자! " +
+			"어제는 21.0°C, 오늘은 {{temperature}}°C, 11.05 mm 비가 와요.");
+	}
+
+	@Test
+	void skipsCachingWhenValuesCollide() {
+		ChatContext context = context("콩", 21.5, 12.0, 12.0); // PM10과 PM2.5가 같아 어느 값인지 알 수 없음
+		String key = cache.buildKey("weather_info", "v1", "미세먼지 어때", context);
+
+		cache.put(key, new GptCompletion("PM10 12.0, PM2.5 12.0으로 좋아요.", 850, 20), context);
+
+		verify(valueOperations, never()).set(anyString(), anyString(), anyLong(), eq(TimeUnit.SECONDS));
+		assertThat(cache.get(key, context)).isNull();
+	}
+
+	private static ChatContext context(String petName, double temperature, double pm10, double pm25) {
+		return new ChatContext(null, petName, "푸들", 3, 4.2, "맑음", temperature, pm10, pm25, 37.5665, 126.978);
+	}
+}
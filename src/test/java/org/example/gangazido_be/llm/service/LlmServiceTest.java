@@ -0,0 +1,94 @@
+package org.example.gangazido_be.llm.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.example.gangazido_be.gpt.dto.GptCompletion;
+import org.example.gangazido_be.gpt.dto.WeatherSnapshot;
+import org.example.gangazido_be.gpt.service.GptService;
+import org.example.gangazido_be.gpt.service.WeatherService;
+import org.example.gangazido_be.llm.config.LlmConfig;
+import org.example.gangazido_be.llm.model.LlmResponse;
+import org.example.gangazido_be.llm.prompt.PromptTemplateRegistry;
+import org.example.gangazido_be.pet.entity.Pet;
+import org.example.gangazido_be.pet.repository.PetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.http.ResponseEntity;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LlmServiceTest {
+	private static final String ANSWER = "{\"recommendation\": \"산책 추천\", \"reason\": \"선선해요.\", \"safety_tips\": []}";
+
+	private final GptService gptService = mock(GptService.class);
+	private final WeatherService weatherService = mock(WeatherService.class);
+	private final PetRepository petRepository = mock(PetRepository.class);
+	private final ConversationMemory conversationMemory = mock(ConversationMemory.class);
+	private final RedisTemplate<String, String> cacheRedisTemplate = mock();
+	private final ValueOperations<String, String> cacheOperations = mock();
+	private LlmService llmService;
+
+	@BeforeEach
+	void setUp() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		LlmConfig llmConfig = new LlmConfig();
+		when(cacheRedisTemplate.opsForValue()).thenReturn(cacheOperations);
+		when(petRepository.findByUserId(any())).thenReturn(Optional.of(Pet.builder()
+			.name("콩이").breed("poodle").age(3).weight(4.2).build()));
+		when(weatherService.getWeather(anyDouble(), anyDouble()))
+			.thenReturn(new WeatherSnapshot("Clear", 21.5, 35.0, 12.0));
+		when(gptService.isAvailable()).thenReturn(true);
+		when(gptService.generateCompletion(anyString(), any(), any())).thenAnswer(invocation -> {
+			String prompt = invocation.getArgument(0);
+			return prompt.contains("예시: { \"intent\"") ?
+				new GptCompletion("{\"intent\": \"walk_check\"}", 10, 5) : new GptCompletion(ANSWER, 100, 20);
+		});
+		when(gptService.streamText(anyString(), any(), any(), any())).thenAnswer(invocation -> {
+			invocation.<Consumer<String>>getArgument(3).accept(ANSWER);
+			return new GptCompletion(ANSWER, 100, 20);
+		});
+
+		llmService = new LlmService(gptService, weatherService, petRepository, llmConfig,
+			new LlmResponseCache(cacheRedisTemplate, llmConfig, meterRegistry), new WalkSuitabilityEngine(),
+			new LlmMetrics(meterRegistry), new PromptTemplateRegistry(llmConfig), conversationMemory);
+	}
+
+	@Test
+	void cachesColdStartAnswers() {
+		ResponseEntity<LlmResponse> response = llmService.generateChat(1, "session-1", 37.5665, 126.978,
+			"오늘 산책해도 될까?", false);
+
+		assertThat(response.getStatusCode().value()).isEqualTo(200);
+		verify(cacheOperations).get(startsWith("llm:response:walk_check:"));
+		verify(cacheOperations).set(startsWith("llm:response:walk_check:"), anyString(),
+			any(Long.class), any());
+	}
+
+	@Test
+	void bypassesCacheForFollowupQuestions() {
+		when(conversationMemory.loadHistory("session-1")).thenReturn("사용자: 오늘 산책해도 될까?\nAI: 산책 추천");
+
+		ResponseEntity<LlmResponse> response = llmService.generateChat(1, "session-1", 37.5665, 126.978,
+			"저녁에도 괜찮아?", false);
+		String streamed = llmService.streamChat(1, "session-1", 37.5665, 126.978, "저녁에도 괜찮아?", token -> {
+		});
+
+		// 다른 세션의 대화로 만든 답변을 읽거나, 이 세션의 답변을 다른 사용자에게 저장하지 않음
+		assertThat(response.getStatusCode().value()).isEqualTo(200);
+		assertThat(streamed).isEqualTo(ANSWER);
+		verifyNoInteractions(cacheOperations);
+	}
+}
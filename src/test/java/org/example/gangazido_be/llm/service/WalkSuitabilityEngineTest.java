@@ -0,0 +1,84 @@
+package org.example.gangazido_be.llm.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.example.gangazido_be.llm.model.AirQualityGrade;
+import org.example.gangazido_be.llm.model.WalkAssessment;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class WalkSuitabilityEngineTest {
+	private final WalkSuitabilityEngine engine = new WalkSuitabilityEngine();
+
+	@ParameterizedTest(name = "{0}: {2}kg {1}, {3}, {4}°C, PM10 {5}, PM2.5 {6} → {7}")
+	@CsvSource({
+		// 설명, 견종, 체중, 날씨, 기온, PM10, PM2.5, 기대 추천, 기대 대기질, 옷 추천
+		"맑고 선선한 날, 푸들, 5.0, 맑음, 18.0, 20.0, 10.0, 산책 추천, GOOD, false",
+		"미세먼지 보통, 말티즈, 3.0, 맑음, 18.0, 50.0, 20.0, 산책 추천, MODERATE, false",
+		"미세먼지 나쁨, 진돗개, 20.0, 맑음, 18.0, 120.0, 20.0, 짧은 산책 추천, BAD, false",
+		"초미세먼지 매우나쁨, 진돗개, 20.0, 맑음, 18.0, 40.0, 90.0, 산책 비추천, VERY_BAD, false",
+		"폭염, 골든 리트리버, 30.0, 맑음, 32.0, 20.0, 10.0, 산책 비추천, GOOD, false",
+		"더운 날 대형견, 골든 리트리버, 30.0, 맑음, 28.0, 20.0, 10.0, 짧은 산책 추천, GOOD, false",
+		"더운 날 소형견, 푸들, 5.0, 맑음, 28.0, 20.0, 10.0, 산책 추천, GOOD, false",
+		"영하 소형견, 포메라니안, 3.0, 맑음, -3.0, 20.0, 10.0, 짧은 산책 추천, GOOD, true",
+		"영하 허스키, 시베리안 허스키, 25.0, 맑음, -3.0, 20.0, 10.0, 산책 추천, GOOD, false",
+		"한파, 비숑 프리제, 6.0, 맑음, -12.0, 20.0, 10.0, 산책 비추천, GOOD, true",
+		"비 오는 날, 웰시코기, 12.0, 비, 15.0, 20.0, 10.0, 짧은 산책 추천, GOOD, true",
+		"폭풍, 웰시코기, 12.0, 폭풍, 15.0, 20.0, 10.0, 산책 비추천, GOOD, false",
+		"쌀쌀한 날 소형견, 말티즈, 3.0, 흐림, 8.0, 20.0, 10.0, 산책 추천, GOOD, true",
+		"대기질 측정값 없음, 믹스견, 12.0, 맑음, 18.0, -1.0, -1.0, 산책 추천, UNKNOWN, false"
+	})
+	void evaluate(String description, String breed, double weight, String weatherCondition, double temperature,
+		double pm10, double pm25, String expectedRecommendation, AirQualityGrade expectedGrade,
+		boolean expectedClothing) {
+		WalkAssessment assessment = engine.evaluate("콩이", breed, 3, weight, weatherCondition, temperature, pm10,
+			pm25);
+
+		assertThat(assessment.getRecommendation()).as(description).isEqualTo(expectedRecommendation);
+		assertThat(assessment.getAirQualityGrade()).as(description).isEqualTo(expectedGrade);
+		assertThat(assessment.isClothingRecommended()).as(description).isEqualTo(expectedClothing);
+		assertThat(assessment.getScore()).isBetween(0, 100);
+		assertThat(assessment.getReason()).contains("콩이");
+		assertThat(assessment.getSafetyTips()).isNotEmpty();
+	}
+
+	@ParameterizedTest(name = "{0} → recommendation {1}")
+	@CsvSource({
+		"walk_check, 짧은 산책 추천",
+		"weather_info, 나쁨",
+		"cloth_recommend, 옷 입히기 비추천"
+	})
+	void toAnswerJson(String intent, String expectedRecommendation) {
+		WalkAssessment assessment = engine.evaluate("콩이", "진돗개", 3, 20.0, "맑음", 18.0, 120.0, 20.0);
+
+		JSONObject answer = new JSONObject(engine.toAnswerJson(intent, assessment));
+
+		assertThat(answer.getString("recommendation")).isEqualTo(expectedRecommendation);
+		assertThat(answer.getString("reason")).isNotBlank();
+		assertThat(answer.getJSONArray("safety_tips").length()).isPositive();
+	}
+
+	// 처리량 측정용 (GPT 호출 없이 요청당 판단 비용이 마이크로초 단위임을 확인)
+	@Tag("load")
+	@Test
+	void throughput() {
+		String[] conditions = {"맑음", "흐림", "비", "눈", "안개"};
+		int iterations = 200_000;
+		long checksum = 0;
+
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			WalkAssessment assessment = engine.evaluate("콩이", "푸들", i % 15, 2.0 + i % 40,
+				conditions[i % conditions.length], -15 + i % 50, i % 200, i % 100);
+			checksum += assessment.getScore();
+		}
+		long elapsedNanos = System.nanoTime() - start;
+
+		System.out.printf("WalkSuitabilityEngine: %d evaluations in %d ms (%.0f ops/s, checksum %d)%n",
+			iterations, elapsedNanos / 1_000_000, iterations / (elapsedNanos / 1e9), checksum);
+		assertThat(checksum).isPositive();
+	}
+}
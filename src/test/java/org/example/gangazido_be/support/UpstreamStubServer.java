@@ -0,0 +1,193 @@
+package org.example.gangazido_be.support;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * OpenAI chat completions / OpenWeather(weather, air_pollution) 응답을 흉내 내는 테스트용 스텁 서버
+ * - 엔드포인트별 지연 시간 분포와 오류 비율 설정 가능
+ * - 단독 실행: main() 실행 후 GPT_API_URL, WEATHER_API_BASE_URL 환경 변수를 출력된 주소로 설정
+ */
+public class UpstreamStubServer implements AutoCloseable {
+	public static final String CHAT_PATH = "/v1/chat/completions";
+	public static final String WEATHER_PATH = "/data/2.5";
+
+	private static final String INTENT_PROMPT_MARKER = "의도를 가지는지";
+	private static final String ANSWER = "{\"recommendation\": \"산책 추천\", \"reason\": \"기온 21.5°C, " +
+		"미세먼지 PM10 35.0µg/m³, PM2.5 12.0µg/m³로 산책하기 좋은 날씨예요.\", \"safety_tips\": [\"물을 챙겨주세요.\"]}";
+
+	private final HttpServer server;
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+
+	private final Map<String, LongAdder> requests = new ConcurrentHashMap<>();
+	private final LongAdder errors = new LongAdder();
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final AtomicInteger peakInFlight = new AtomicInteger();
+
+	public UpstreamStubServer(int port, Behavior openAi, Behavior weather) throws IOException {
+		this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+		server.createContext(CHAT_PATH, exchange -> handle(exchange, "chat", openAi, this::chatCompletion));
+		server.createContext(WEATHER_PATH + "/weather", exchange -> handle(exchange, "weather", weather,
+			body -> "{\"weather\": [{\"main\": \"Clear\"}], \"main\": {\"temp\": 21.5}}"));
+		server.createContext(WEATHER_PATH + "/air_pollution", exchange -> handle(exchange, "air_pollution", weather,
+			body -> "{\"list\": [{\"components\": {\"pm10\": 35.0, \"pm2_5\": 12.0}}]}"));
+		server.setExecutor(executor);
+		server.start();
+	}
+
+	public String openAiUrl() {
+		return baseUrl() + CHAT_PATH;
+	}
+
+	public String weatherBaseUrl() {
+		return baseUrl() + WEATHER_PATH;
+	}
+
+	private String baseUrl() {
+		return "http://127.0.0.1:" + server.getAddress().getPort();
+	}
+
+	public long requestCount(String endpoint) {
+		LongAdder count = requests.get(endpoint);
+		return count == null ? 0 : count.sum();
+	}
+
+	public long errorCount() {
+		return errors.sum();
+	}
+
+	public int peakInFlight() {
+		return peakInFlight.get();
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	private void handle(HttpExchange exchange, String endpoint, Behavior behavior, ResponseBody responseBody)
+		throws IOException {
+		requests.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+		peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+		try {
+			String body;
+			try (InputStream in = exchange.getRequestBody()) {
+				body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+			}
+			TimeUnit.MILLISECONDS.sleep(behavior.latency().sampleMs());
+
+			if (ThreadLocalRandom.current().nextDouble() < behavior.errorRate()) {
+				errors.increment();
+				send(exchange, behavior.errorStatus(), "application/json", "{\"error\": {\"message\": \"stub error\"}}");
+				return;
+			}
+			if (body.contains("\"stream\":true")) {
+				send(exchange, 200, "text/event-stream", streamCompletion(body));
+			} else {
+				send(exchange, 200, "application/json", responseBody.create(body));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			inFlight.decrementAndGet();
+			exchange.close();
+		}
+	}
+
+	private void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+	// 의도 판단 프롬프트면 intent JSON, 그 외에는 산책 추천 JSON (usage는 글자 수로 추정)
+	private String chatCompletion(String requestBody) {
+		String content = requestBody.contains(INTENT_PROMPT_MARKER) ? "{\"intent\": \"walk_check\"}" : ANSWER;
+		return "{\"choices\": [{\"message\": {\"role\": \"assistant\", \"content\": " + quote(content) + "}}], " +
+			"\"usage\": {\"prompt_tokens\": " + requestBody.length() / 2 + ", \"completion_tokens\": " +
+			content.length() / 2 + "}}";
+	}
+
+	private String streamCompletion(String requestBody) {
+		StringBuilder sse = new StringBuilder();
+		for (int i = 0; i < ANSWER.length(); i += 16) {
+			String token = ANSWER.substring(i, Math.min(ANSWER.length(), i + 16));
+			sse.append("data: {\"choices\": [{\"delta\": {\"content\": ").append(quote(token)).append("}}]}\n\n");
+		}
+		sse.append("data: {\"choices\": [], \"usage\": {\"prompt_tokens\": ").append(requestBody.length() / 2)
+			.append(", \"completion_tokens\": ").append(ANSWER.length() / 2).append("}}\n\n");
+		sse.append("data: [DONE]\n\n");
+		return sse.toString();
+	}
+
+	private static String quote(String text) {
+		return "\"" + text.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+	}
+
+	@FunctionalInterface
+	private interface ResponseBody {
+		String create(String requestBody);
+	}
+
+	/**
+	 * 엔드포인트 동작 설정
+	 * @param errorRate 0~1 사이 오류 응답 비율
+	 * @param errorStatus 오류 응답 HTTP 상태 (예: 429, 500)
+	 */
+	public record Behavior(Latency latency, double errorRate, int errorStatus) {
+	}
+
+	/**
+	 * 지연 시간 분포
+	 * - fixed: 항상 같은 값, uniform: min~max 균등 분포, logNormal: 중앙값과 p99로 정한 로그 정규 분포 (실제 API와 비슷한 긴 꼬리)
+	 */
+	public record Latency(double medianMs, double sigma, long minMs, long maxMs) {
+		public static Latency fixed(long ms) {
+			return new Latency(ms, 0, ms, ms);
+		}
+
+		public static Latency uniform(long minMs, long maxMs) {
+			return new Latency(-1, 0, minMs, maxMs);
+		}
+
+		public static Latency logNormal(long medianMs, long p99Ms) {
+			return new Latency(medianMs, Math.log((double)p99Ms / medianMs) / 2.326, 0, Long.MAX_VALUE);
+		}
+
+		long sampleMs() {
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			if (medianMs < 0) {
+				return random.nextLong(minMs, maxMs + 1);
+			}
+			return Math.max(minMs, Math.min(maxMs, Math.round(medianMs * Math.exp(sigma * random.nextGaussian()))));
+		}
+	}
+
+	// 단독 실행: 기본 포트 18080 (args[0]으로 변경), OpenAI 중앙값 800ms/p99 3s, OpenWeather 중앙값 80ms/p99 400ms
+	public static void main(String[] args) throws IOException {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : 18080;
+		UpstreamStubServer stub = new UpstreamStubServer(port,
+			new Behavior(Latency.logNormal(800, 3000), 0.01, 500),
+			new Behavior(Latency.logNormal(80, 400), 0.01, 500));
+		System.out.println("GPT_API_URL=" + stub.openAiUrl());
+		System.out.println("WEATHER_API_BASE_URL=" + stub.weatherBaseUrl());
+	}
+}
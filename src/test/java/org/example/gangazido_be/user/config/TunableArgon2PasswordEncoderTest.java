@@ -0,0 +1,28 @@
+package org.example.gangazido_be.user.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class TunableArgon2PasswordEncoderTest {
+	private final TunableArgon2PasswordEncoder current = new TunableArgon2PasswordEncoder(16, 32, 1, 8192, 2);
+
+	@Test
+	void verifiesHashesCreatedWithOtherParameters() {
+		String oldHash = new TunableArgon2PasswordEncoder(16, 32, 1, 4096, 1).encode("password1!");
+
+		assertThat(oldHash).contains("$m=4096,t=1,p=1$");
+		assertThat(current.matches("password1!", oldHash)).isTrue();
+		assertThat(current.matches("password2!", oldHash)).isFalse();
+	}
+
+	@Test
+	void upgradesWhenParametersDifferInEitherDirection() {
+		assertThat(current.upgradeEncoding(current.encode("password1!"))).isFalse();
+		assertThat(current.upgradeEncoding(new TunableArgon2PasswordEncoder(16, 32, 1, 4096, 1).encode("a"))).isTrue();
+		assertThat(current.upgradeEncoding(new TunableArgon2PasswordEncoder(16, 32, 1, 16384, 3).encode("a"))).isTrue();
+		assertThat(current.upgradeEncoding(new TunableArgon2PasswordEncoder(16, 32, 2, 8192, 2).encode("a"))).isTrue();
+		assertThat(current.upgradeEncoding("not-an-argon2-hash")).isFalse();
+		assertThat(current.upgradeEncoding(null)).isFalse();
+	}
+}
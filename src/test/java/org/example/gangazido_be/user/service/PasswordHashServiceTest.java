@@ -0,0 +1,122 @@
+package org.example.gangazido_be.user.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.example.gangazido_be.user.config.TunableArgon2PasswordEncoder;
+import org.example.gangazido_be.user.exception.UserServerBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PasswordHashServiceTest {
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final ThreadPoolTaskExecutor executor = executor(1, 1);
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		executor.shutdown();
+	}
+
+	@Test
+	void hashesOnDedicatedExecutor() {
+		PasswordHashService service = new PasswordHashService(new Argon2PasswordEncoder(16, 32, 1, 4096, 1), executor,
+			2_000, meterRegistry);
+
+		String hash = service.encode("password1!");
+
+		assertThat(service.matches("password1!", hash)).isTrue();
+		assertThat(service.matches("password2!", hash)).isFalse();
+		assertThat(meterRegistry.get("password.hash").tag("operation", "matches").timer().count()).isEqualTo(2);
+		assertThat(meterRegistry.get("password.hash.queue.depth").gauge().value()).isZero();
+	}
+
+	@Test
+	void shedsImmediatelyWhenQueueIsFull() {
+		PasswordHashService service = new PasswordHashService(blockingEncoder(), executor, 2_000, meterRegistry);
+		CompletableFuture<String> running = service.encodeAsync("a"); // 스레드 1개 사용 중
+		CompletableFuture<String> queued = service.encodeAsync("b"); // 대기열 1칸 사용
+
+		long startedAt = System.nanoTime();
+		assertThatThrownBy(() -> service.matches("c", "hash"))
+			.isInstanceOf(UserServerBusyException.class)
+			.hasMessage("password_hash_queue_full");
+		assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)).isLessThan(100);
+		assertThat(service.encodeAsync("d")).isCompletedExceptionally();
+
+		release.countDown();
+		assertThat(running.join()).isEqualTo("hashed");
+		assertThat(queued.join()).isEqualTo("hashed");
+		assertThat(meterRegistry.get("password.hash.rejected").counter().count()).isEqualTo(2);
+	}
+
+	@Test
+	void givesUpAfterMaxWait() {
+		PasswordHashService service = new PasswordHashService(blockingEncoder(), executor, 50, meterRegistry);
+		service.encodeAsync("a");
+
+		assertThatThrownBy(() -> service.encode("b"))
+			.isInstanceOf(UserServerBusyException.class)
+			.hasMessage("password_hash_timeout");
+	}
+
+	@Test
+	void rehashesOutdatedHashInBackground() throws Exception {
+		String oldHash = new TunableArgon2PasswordEncoder(16, 32, 1, 4096, 1).encode("password1!");
+		TunableArgon2PasswordEncoder current = new TunableArgon2PasswordEncoder(16, 32, 1, 8192, 2);
+		PasswordHashService service = new PasswordHashService(current, executor, 2_000, meterRegistry);
+		CompletableFuture<String> rehashed = new CompletableFuture<>();
+
+		assertThat(service.rehashIfOutdated("password1!", oldHash, rehashed::complete)).isTrue();
+
+		String newHash = rehashed.get(5, TimeUnit.SECONDS);
+		assertThat(newHash).contains("$m=8192,t=2,p=1$");
+		assertThat(current.matches("password1!", newHash)).isTrue();
+		assertThat(service.rehashIfOutdated("password1!", newHash, hash -> {
+			throw new AssertionError("already up to date");
+		})).isFalse();
+	}
+
+	@Test
+	void skipsRehashWhileLoginsAreQueued() {
+		Argon2PasswordEncoder encoder = blockingEncoder();
+		when(encoder.upgradeEncoding(anyString())).thenReturn(true);
+		PasswordHashService service = new PasswordHashService(encoder, executor, 2_000, meterRegistry);
+		service.encodeAsync("a"); // 스레드 사용 중
+		service.encodeAsync("b"); // 대기 중
+
+		assertThat(service.rehashIfOutdated("c", "old", hash -> {
+		})).isFalse();
+		assertThat(meterRegistry.get("password.hash.rehash").tag("result", "skipped").counter().count()).isEqualTo(1);
+	}
+
+	private Argon2PasswordEncoder blockingEncoder() {
+		Argon2PasswordEncoder encoder = mock(Argon2PasswordEncoder.class);
+		when(encoder.encode(anyString())).thenAnswer(invocation -> {
+			release.await(5, TimeUnit.SECONDS);
+			return "hashed";
+		});
+		return encoder;
+	}
+
+	private static ThreadPoolTaskExecutor executor(int threads, int queueCapacity) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(threads);
+		executor.setMaxPoolSize(threads);
+		executor.setQueueCapacity(queueCapacity);
+		executor.initialize();
+		return executor;
+	}
+}
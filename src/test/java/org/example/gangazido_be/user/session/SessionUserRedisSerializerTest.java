@@ -0,0 +1,136 @@
+package org.example.gangazido_be.user.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import org.example.gangazido_be.user.entity.User;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.mock.web.MockHttpSession;
+
+class SessionUserRedisSerializerTest {
+	private final SessionUserRedisSerializer serializer = new SessionUserRedisSerializer(getClass().getClassLoader());
+	private final JdkSerializationRedisSerializer jdkSerializer = new JdkSerializationRedisSerializer();
+
+	@Test
+	void roundTripsSessionValues() {
+		SessionUser user = new SessionUser(SessionUser.CURRENT_VERSION, 42, "강아지", "profile/abc.png");
+		SessionUser withoutImage = new SessionUser(SessionUser.CURRENT_VERSION, 7, "멍멍", null);
+
+		assertThat(serializer.deserialize(serializer.serialize(user))).isEqualTo(user);
+		assertThat(serializer.deserialize(serializer.serialize(withoutImage))).isEqualTo(withoutImage);
+		assertThat(serializer.deserialize(serializer.serialize(1_700_000_000_000L))).isEqualTo(1_700_000_000_000L);
+		assertThat(serializer.deserialize(serializer.serialize(3600))).isEqualTo(3600);
+		assertThat(serializer.deserialize(serializer.serialize("other"))).isEqualTo("other");
+		assertThat(serializer.deserialize(null)).isNull();
+	}
+
+	@Test
+	void readsValuesWrittenByJavaSerialization() {
+		User user = user();
+
+		// 이전 배포의 세션: User 엔티티가 Java 직렬화로 저장되어 있음
+		Object legacy = serializer.deserialize(jdkSerializer.serialize(user));
+		MockHttpSession session = new MockHttpSession();
+		session.setAttribute(SessionUser.ATTRIBUTE, legacy);
+
+		SessionUser sessionUser = SessionUser.current(session);
+		assertThat(sessionUser).isEqualTo(SessionUser.of(user));
+		assertThat(session.getAttribute(SessionUser.ATTRIBUTE)).isSameAs(sessionUser);
+		assertThat(serializer.deserialize(jdkSerializer.serialize(3600L))).isEqualTo(3600L);
+	}
+
+	@Test
+	void treatsUnknownVersionAsLoggedOut() {
+		byte[] bytes = serializer.serialize(new SessionUser(SessionUser.CURRENT_VERSION, 42, "강아지", null));
+		assertThatThrownBy(() -> serializer.deserialize(Arrays.copyOf(bytes, 5)))
+			.isInstanceOf(SerializationException.class);
+
+		bytes[2] = (byte)(SessionUser.CURRENT_VERSION + 1);
+		assertThat(serializer.deserialize(bytes)).isNull();
+	}
+
+	// 세션 하나가 Redis 해시에 저장하는 값(생성/마지막 접근 시간, 만료 시간, 로그인 사용자) 크기 비교
+	@Test
+	void compactSessionIsMuchSmaller() {
+		long legacyBytes = sessionBytes(jdkSerializer, legacySession());
+		long compactBytes = sessionBytes(serializer, compactSession());
+
+		assertThat(compactBytes).isLessThan(legacyBytes / 5);
+	}
+
+	// 요청마다 세션 값을 읽는 시간 비교: ./gradlew loadTest --tests '*SessionUserRedisSerializerTest'
+	@Tag("load")
+	@Test
+	void sessionDeserializationTime() {
+		double legacyNanos = nanosPerRequest(jdkSerializer, legacySession());
+		double compactNanos = nanosPerRequest(serializer, compactSession());
+
+		System.out.printf("session values: User+Java serialization %d bytes, %.0f ns/request -> " +
+			"SessionUser+binary %d bytes, %.0f ns/request%n", sessionBytes(jdkSerializer, legacySession()),
+			legacyNanos, sessionBytes(serializer, compactSession()), compactNanos);
+		assertThat(compactNanos).isLessThan(legacyNanos);
+	}
+
+	private static List<Object> legacySession() {
+		return List.of(1_700_000_000_000L, 1_700_000_360_000L, 3600, user());
+	}
+
+	private static List<Object> compactSession() {
+		return List.of(1_700_000_000_000L, 1_700_000_360_000L, 3600, SessionUser.of(user()));
+	}
+
+	private static long sessionBytes(RedisSerializer<Object> serializer, List<Object> values) {
+		long bytes = 0;
+		for (Object value : values) {
+			bytes += serializer.serialize(value).length;
+		}
+		return bytes;
+	}
+
+	private static double nanosPerRequest(RedisSerializer<Object> serializer, List<Object> values) {
+		byte[][] stored = values.stream().map(serializer::serialize).toArray(byte[][]::new);
+		int iterations = 20_000;
+		long sink = 0;
+		for (int i = 0; i < iterations; i++) { // 워밍업 (JIT 컴파일)
+			sink += deserializeAll(serializer, stored);
+		}
+		long startedAt = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			sink += deserializeAll(serializer, stored);
+		}
+		double nanos = (double)(System.nanoTime() - startedAt) / iterations;
+		assertThat(sink).isPositive();
+		return nanos;
+	}
+
+	private static int deserializeAll(RedisSerializer<Object> serializer, byte[][] stored) {
+		int count = 0;
+		for (byte[] bytes : stored) {
+			if (serializer.deserialize(bytes) != null) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static User user() {
+		User user = User.builder()
+			.email("puppy.lover@example.com")
+			.password("$argon2id$v=19$m=4096,t=1,p=1$c29tZXNhbHRzb21lc2FsdA$aGFzaGhhc2hoYXNoaGFzaGhhc2hoYXNoaGFzaGhhc2g")
+			.nickname("강아지")
+			.profileImage("profile/2f1c6a0e-8d8b-4c55-9d4b-1b1f0f3a2c77.png")
+			.build();
+		user.setId(42);
+		user.setCreatedAt(LocalDateTime.of(2025, 3, 1, 12, 0));
+		user.setUpdatedAt(LocalDateTime.of(2025, 3, 2, 12, 0));
+		return user;
+	}
+}